@@ -0,0 +1,39 @@
+package com.example.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuração do controle de admissão das rotas de produtos.
+ * Registrado antes dos demais filtros, para que a recusa custe o mínimo possível.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "produtos.admissao.habilitada", havingValue = "true", matchIfMissing = true)
+public class AdmissaoConfig {
+
+    @Bean
+    public AdmissaoFilter admissaoFilter(@Value("${produtos.admissao.leitura.limite-inicial:50}") int leituraInicial,
+                                         @Value("${produtos.admissao.escrita.limite-inicial:20}") int escritaInicial,
+                                         @Value("${produtos.admissao.limite-minimo:4}") int minimo,
+                                         @Value("${produtos.admissao.limite-maximo:400}") int maximo,
+                                         @Value("${produtos.admissao.retry-after-segundos:1}") int retryAfter) {
+        return new AdmissaoFilter(
+                new LimiteAdaptativo("leitura", leituraInicial, minimo, maximo),
+                new LimiteAdaptativo("escrita", escritaInicial, minimo, maximo),
+                retryAfter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissaoFilter> registroAdmissao(AdmissaoFilter filtro) {
+        FilterRegistrationBean<AdmissaoFilter> registro = new FilterRegistrationBean<>(filtro);
+        registro.addUrlPatterns("/produtos/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+}
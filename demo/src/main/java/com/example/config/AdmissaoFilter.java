@@ -0,0 +1,111 @@
+package com.example.config;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Controle de admissão das rotas de produtos.
+ * Leituras (listar, editar, linha) e escritas (salvar, excluir) têm limites de concorrência
+ * independentes e adaptativos; acima do limite a requisição é recusada na hora com 503 e
+ * Retry-After, em vez de entrar na fila e degradar a latência das que já foram admitidas.
+ */
+public class AdmissaoFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissaoFilter.class);
+
+    private final LimiteAdaptativo leituras;
+    private final LimiteAdaptativo escritas;
+    private final int retryAfterSegundos;
+    private final LongAdder recusadas = new LongAdder();
+
+    public AdmissaoFilter(LimiteAdaptativo leituras, LimiteAdaptativo escritas, int retryAfterSegundos) {
+        this.leituras = leituras;
+        this.escritas = escritas;
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        LimiteAdaptativo limite = escrita(request) ? escritas : leituras;
+        if (!limite.tentarAdmitir()) {
+            recusadas.increment();
+            log.debug("Requisição {} {} recusada: limite de {} em {}", request.getMethod(),
+                    request.getRequestURI(), limite.getNome(), limite.getLimite());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSegundos));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Servidor sobrecarregado. Tente novamente em instantes.");
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        boolean concluida = false;
+        try {
+            chain.doFilter(request, response);
+            concluida = true;
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Handler entregue a um bulkhead: a vaga só é devolvida quando a resposta termina
+                request.getAsyncContext().addListener(new LiberacaoAssincrona(limite, inicio));
+            } else {
+                limite.liberar(concluida ? System.nanoTime() - inicio : -1);
+            }
+        }
+    }
+
+    private record LiberacaoAssincrona(LimiteAdaptativo limite, long inicio) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limite.liberar(System.nanoTime() - inicio);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // onComplete é chamado em seguida
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // onComplete é chamado em seguida
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    /**
+     * excluir é um GET nesta aplicação, por isso a classificação é pela rota e não pelo método
+     */
+    static boolean escrita(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return "POST".equals(request.getMethod()) || caminho.startsWith("/produtos/excluir/");
+    }
+
+    public LimiteAdaptativo getLeituras() {
+        return leituras;
+    }
+
+    public LimiteAdaptativo getEscritas() {
+        return escritas;
+    }
+
+    public long getRecusadas() {
+        return recusadas.sum();
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.config;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+/**
+ * Appender do Logback que tira a E/S de log da thread da requisição.
+ * Os eventos vão para um buffer circular limitado (ArrayBlockingQueue) e uma única thread
+ * os repassa, em lotes, aos appenders anexados. Com o buffer cheio a política decide:
+ * "descartar" (padrão) nunca bloqueia e conta o evento perdido; "bloquear" espera por espaço.
+ * A mensagem só é formatada na thread de escrita: os argumentos devem ser imutáveis.
+ */
+public class AppenderAssincrono extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final int LOTE = 256;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder descartados = new LongAdder();
+    private final LongAdder bloqueios = new LongAdder();
+
+    private int capacidade = 8192;
+    private boolean descartar = true;
+    private long esperaEncerramentoMs = 1000;
+
+    private BlockingQueue<ILoggingEvent> fila;
+    private Thread escritor;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (capacidade < 1) {
+            addError("Capacidade inválida para o appender " + getName() + ": " + capacidade);
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("Nenhum appender anexado a " + getName());
+            return;
+        }
+        fila = new ArrayBlockingQueue<>(capacidade);
+        escritor = new Thread(this::escrever, "log-" + getName());
+        escritor.setDaemon(true);
+        super.start();
+        escritor.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        escritor.interrupt();
+        try {
+            escritor.join(esperaEncerramentoMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!fila.isEmpty()) {
+            addWarn(fila.size() + " eventos não escritos ao encerrar " + getName());
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent evento) {
+        // Só o que depende da thread atual é capturado aqui; a formatação fica para o escritor
+        evento.getThreadName();
+        evento.getMDCPropertyMap();
+        if (descartar) {
+            if (!fila.offer(evento)) {
+                descartados.increment();
+            }
+            return;
+        }
+        if (!fila.offer(evento)) {
+            bloqueios.increment();
+            colocarSemInterrupcao(evento);
+        }
+    }
+
+    private void colocarSemInterrupcao(ILoggingEvent evento) {
+        boolean interrompida = false;
+        try {
+            while (true) {
+                try {
+                    fila.put(evento);
+                    return;
+                } catch (InterruptedException e) {
+                    interrompida = true;
+                }
+            }
+        } finally {
+            if (interrompida) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void escrever() {
+        List<ILoggingEvent> lote = new ArrayList<>(LOTE);
+        while (isStarted()) {
+            try {
+                lote.add(fila.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            fila.drainTo(lote, LOTE - 1);
+            repassar(lote);
+        }
+        // Encerramento: esvazia o que restou, sem esperar por novos eventos
+        while (fila.drainTo(lote, LOTE) > 0) {
+            repassar(lote);
+        }
+    }
+
+    private void repassar(List<ILoggingEvent> lote) {
+        for (ILoggingEvent evento : lote) {
+            appenders.appendLoopOnAppenders(evento);
+        }
+        lote.clear();
+    }
+
+    /**
+     * "descartar" ou "bloquear"
+     */
+    public void setPoliticaEstouro(String politica) {
+        switch (politica.trim().toLowerCase(Locale.ROOT)) {
+            case "descartar" -> descartar = true;
+            case "bloquear" -> descartar = false;
+            default -> addError("Política de estouro desconhecida: " + politica + " (use descartar ou bloquear)");
+        }
+    }
+
+    public String getPoliticaEstouro() {
+        return descartar ? "descartar" : "bloquear";
+    }
+
+    public void setCapacidade(int capacidade) {
+        this.capacidade = capacidade;
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    public void setEsperaEncerramentoMs(long esperaEncerramentoMs) {
+        this.esperaEncerramentoMs = esperaEncerramentoMs;
+    }
+
+    /**
+     * Eventos perdidos por buffer cheio (política descartar)
+     */
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    /**
+     * Vezes em que uma thread esperou por espaço no buffer (política bloquear)
+     */
+    public long getBloqueios() {
+        return bloqueios.sum();
+    }
+
+    public int getOcupacao() {
+        return fila != null ? fila.size() : 0;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String nome) {
+        return appenders.getAppender(nome);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String nome) {
+        return appenders.detachAppender(nome);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.config;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+/**
+ * Compartimento de execução isolado (bulkhead) para um grupo de operações.
+ * O handler é executado em um pool próprio e limitado, liberando a thread do Tomcat;
+ * com o pool e a fila cheios a tarefa é rejeitada, sem afetar os outros compartimentos.
+ */
+public class Bulkhead {
+
+    private final String nome;
+    private final AsyncTaskExecutor executor;
+    private final ThreadPoolTaskExecutor pool;
+    private final long timeoutMs;
+    private final LongAdder rejeitadas = new LongAdder();
+
+    public Bulkhead(String nome, int threads, int fila, long timeoutMs) {
+        this.nome = nome;
+        this.timeoutMs = timeoutMs;
+        this.pool = new ThreadPoolTaskExecutor();
+        pool.setThreadNamePrefix("bulkhead-" + nome + "-");
+        pool.setCorePoolSize(threads);
+        pool.setMaxPoolSize(threads);
+        pool.setQueueCapacity(fila);
+        pool.setRejectedExecutionHandler((tarefa, executorRejeitado) -> {
+            rejeitadas.increment();
+            throw new RejectedExecutionException("Bulkhead " + nome + " sem capacidade");
+        });
+        pool.initialize();
+        this.executor = pool;
+    }
+
+    private Bulkhead(String nome) {
+        this.nome = nome;
+        this.timeoutMs = 0;
+        this.pool = null;
+        this.executor = new TaskExecutorAdapter(new SyncTaskExecutor());
+    }
+
+    /**
+     * Compartimento que executa na própria thread chamadora (sem isolamento)
+     */
+    public static Bulkhead direto(String nome) {
+        return new Bulkhead(nome);
+    }
+
+    /**
+     * Envolve o handler para execução assíncrona neste compartimento
+     */
+    public <T> WebAsyncTask<T> executar(Callable<T> handler) {
+        return new WebAsyncTask<>(timeoutMs > 0 ? Long.valueOf(timeoutMs) : null, executor, handler);
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getProfundidadeFila() {
+        return pool != null ? pool.getQueueSize() : 0;
+    }
+
+    public int getAtivas() {
+        return pool != null ? pool.getActiveCount() : 0;
+    }
+
+    public long getRejeitadas() {
+        return rejeitadas.sum();
+    }
+
+    public void encerrar() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Compartimentos de execução do ProdutoController.
+ * Leituras e escritas usam pools separados, para que uma rajada de escritas lentas
+ * não ocupe as threads que atendem a listagem.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BulkheadConfig {
+
+    @Bean(destroyMethod = "encerrar")
+    public Bulkhead bulkheadLeitura(@Value("${produtos.bulkhead.leitura.threads:16}") int threads,
+                                    @Value("${produtos.bulkhead.leitura.fila:100}") int fila,
+                                    @Value("${produtos.bulkhead.timeout-ms:10000}") long timeoutMs) {
+        return new Bulkhead("leitura", threads, fila, timeoutMs);
+    }
+
+    @Bean(destroyMethod = "encerrar")
+    public Bulkhead bulkheadEscrita(@Value("${produtos.bulkhead.escrita.threads:8}") int threads,
+                                    @Value("${produtos.bulkhead.escrita.fila:50}") int fila,
+                                    @Value("${produtos.bulkhead.timeout-ms:10000}") long timeoutMs) {
+        return new Bulkhead("escrita", threads, fila, timeoutMs);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.service.ProdutoService;
+
+/**
+ * Configuração da coalescência de leituras idênticas.
+ * Cobre a listagem e o fragmento de linha; o formulário de edição fica de fora porque
+ * cada renderização carrega uma chave de idempotência própria.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "produtos.coalescencia.habilitada", havingValue = "true", matchIfMissing = true)
+public class CoalescenciaConfig {
+
+    @Bean
+    public CoalescenciaFilter coalescenciaFilter(ProdutoService produtoService,
+                                                 @Value("${produtos.coalescencia.espera-maxima-ms:250}") long esperaMaximaMs,
+                                                 @Value("${produtos.coalescencia.maximo-seguidores:16}") int maximoSeguidores,
+                                                 @Value("${produtos.coalescencia.tamanho-maximo-bytes:8388608}") int tamanhoMaximo) {
+        return new CoalescenciaFilter(produtoService::versaoCatalogo, esperaMaximaMs, maximoSeguidores, tamanhoMaximo);
+    }
+
+    @Bean
+    public FilterRegistrationBean<CoalescenciaFilter> registroCoalescencia(CoalescenciaFilter filtro) {
+        FilterRegistrationBean<CoalescenciaFilter> registro = new FilterRegistrationBean<>(filtro);
+        registro.addUrlPatterns("/produtos/listar", "/produtos/linha/*");
+        return registro;
+    }
+}
@@ -0,0 +1,345 @@
+package com.example.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Coalescência (singleflight) de leituras idênticas e simultâneas.
+ * A primeira requisição de uma chave (líder) executa e renderiza normalmente, em fluxo
+ * para o seu cliente, enquanto guarda uma cópia do corpo; as requisições idênticas que
+ * chegam durante esse intervalo aguardam e recebem a mesma resposta, sem nova consulta
+ * nem nova renderização. Nada é guardado depois que o líder termina: não é um cache.
+ * A chave inclui a versão do catálogo, então quem chega depois de uma escrita nunca recebe
+ * a resposta de um líder que começou antes dela. A espera de um seguidor ocupa a thread do
+ * Tomcat: é curta e limitada a poucos seguidores simultâneos; acima disso, executa sozinho.
+ */
+public class CoalescenciaFilter extends OncePerRequestFilter {
+
+    static final String CABECALHO_COALESCIDO = "X-Coalescido";
+
+    private static final String ATRIBUTO_VOO = CoalescenciaFilter.class.getName() + ".VOO";
+
+    private static final Logger log = LoggerFactory.getLogger(CoalescenciaFilter.class);
+
+    /**
+     * Resposta do líder pronta para ser repetida aos seguidores
+     */
+    record RespostaCompartilhada(String tipoConteudo, byte[] corpo) {
+    }
+
+    private final Map<String, CompletableFuture<RespostaCompartilhada>> emAndamento = new ConcurrentHashMap<>();
+    private final LongSupplier versaoCatalogo;
+    private final long esperaMaximaMs;
+    private final Semaphore seguidores;
+    private final int tamanhoMaximoCorpo;
+
+    private final LongAdder lideres = new LongAdder();
+    private final LongAdder compartilhadas = new LongAdder();
+    private final LongAdder naoCompartilhaveis = new LongAdder();
+
+    public CoalescenciaFilter(LongSupplier versaoCatalogo, long esperaMaximaMs, int maximoSeguidores,
+                              int tamanhoMaximoCorpo) {
+        this.versaoCatalogo = versaoCatalogo;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.seguidores = new Semaphore(maximoSeguidores);
+        this.tamanhoMaximoCorpo = tamanhoMaximoCorpo;
+    }
+
+    /**
+     * Apenas GETs sem mensagem flash: o cookie de flash torna a página específica do usuário
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+                || WebUtils.getCookie(request, CookieFlashMapManager.NOME_COOKIE) != null;
+    }
+
+    /**
+     * Com o handler em um bulkhead a renderização acontece no despacho assíncrono,
+     * e é ao fim dele que o corpo do líder fica completo
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            Voo voo = (Voo) request.getAttribute(ATRIBUTO_VOO);
+            executarLider(voo, request, response, chain);
+            return;
+        }
+
+        String chave = chave(request);
+        CompletableFuture<RespostaCompartilhada> futuro = new CompletableFuture<>();
+        CompletableFuture<RespostaCompartilhada> existente = emAndamento.putIfAbsent(chave, futuro);
+
+        if (existente != null) {
+            RespostaCompartilhada compartilhada = seguidores.tryAcquire() ? aguardar(existente) : null;
+            if (compartilhada != null) {
+                compartilhadas.increment();
+                response.setContentType(compartilhada.tipoConteudo());
+                response.setContentLength(compartilhada.corpo().length);
+                response.setHeader(CABECALHO_COALESCIDO, "true");
+                response.getOutputStream().write(compartilhada.corpo());
+                return;
+            }
+            // Líder falhou, demorou demais, há seguidores demais esperando ou a resposta não pode
+            // ser repetida: executa sozinha
+            naoCompartilhaveis.increment();
+            chain.doFilter(request, response);
+            return;
+        }
+
+        lideres.increment();
+        Voo voo = new Voo(chave, futuro, new RespostaDuplicada(response, tamanhoMaximoCorpo));
+        request.setAttribute(ATRIBUTO_VOO, voo);
+        executarLider(voo, request, voo.resposta(), chain);
+    }
+
+    /**
+     * Executa a cadeia para o líder e encerra o voo quando a resposta estiver completa
+     * (ao fim desta execução, ou do despacho assíncrono que a continua)
+     */
+    private void executarLider(Voo voo, HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean concluida = false;
+        try {
+            chain.doFilter(request, response);
+            concluida = true;
+        } finally {
+            if (voo != null) {
+                if (request.isAsyncStarted()) {
+                    // Garante que os seguidores sejam liberados mesmo se o despacho nunca ocorrer
+                    request.getAsyncContext().addListener(new EncerramentoVoo(voo));
+                } else {
+                    concluirVoo(voo, concluida);
+                }
+            }
+        }
+    }
+
+    private void concluirVoo(Voo voo, boolean concluida) throws IOException {
+        RespostaCompartilhada resultado = null;
+        try {
+            if (concluida) {
+                voo.resposta().flushBuffer();
+                resultado = voo.resposta().paraCompartilhar();
+            }
+        } finally {
+            emAndamento.remove(voo.chave(), voo.futuro());
+            voo.futuro().complete(resultado);
+        }
+    }
+
+    private record Voo(String chave, CompletableFuture<RespostaCompartilhada> futuro, RespostaDuplicada resposta) {
+    }
+
+    private final class EncerramentoVoo implements AsyncListener {
+
+        private final Voo voo;
+
+        EncerramentoVoo(Voo voo) {
+            this.voo = voo;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) throws IOException {
+            // Sem efeito se o despacho assíncrono já concluiu o voo
+            if (!voo.futuro().isDone()) {
+                concluirVoo(voo, false);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // onComplete é chamado em seguida
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // onComplete é chamado em seguida
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    /**
+     * Aguarda o líder com uma vaga de seguidor já adquirida, e a devolve ao fim
+     */
+    private RespostaCompartilhada aguardar(CompletableFuture<RespostaCompartilhada> voo) {
+        try {
+            return voo.get(esperaMaximaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.debug("Líder da coalescência excedeu {} ms; seguidor executa sozinho", esperaMaximaMs);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        } finally {
+            seguidores.release();
+        }
+    }
+
+    /**
+     * Requisições idênticas: mesma versão do catálogo, mesmo caminho, mesma query e mesmo tipo
+     * de resposta (página ou fragmento)
+     */
+    private String chave(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String parcial = request.getHeader("X-Requested-With");
+        return versaoCatalogo.getAsLong() + "@" + request.getRequestURI()
+                + (query != null ? "?" + query : "")
+                + (parcial != null ? "#" + parcial : "");
+    }
+
+    public long getLideres() {
+        return lideres.sum();
+    }
+
+    public long getCompartilhadas() {
+        return compartilhadas.sum();
+    }
+
+    public long getNaoCompartilhaveis() {
+        return naoCompartilhaveis.sum();
+    }
+
+    /**
+     * Fração das requisições coalescíveis que foram atendidas com a resposta de outra
+     */
+    public double getTaxaCoalescencia() {
+        long total = getLideres() + getCompartilhadas() + getNaoCompartilhaveis();
+        return total == 0 ? 0.0 : (double) getCompartilhadas() / total;
+    }
+
+    /**
+     * Resposta que escreve para o cliente e, ao mesmo tempo, guarda uma cópia do corpo.
+     * Os descarregamentos continuam chegando ao cliente, preservando a renderização em lotes.
+     */
+    static class RespostaDuplicada extends HttpServletResponseWrapper {
+
+        private final ByteArrayOutputStream copia = new ByteArrayOutputStream();
+        private final int tamanhoMaximo;
+        private boolean compartilhavel = true;
+        private ServletOutputStream saida;
+        private PrintWriter escritor;
+
+        RespostaDuplicada(HttpServletResponse response, int tamanhoMaximo) {
+            super(response);
+            this.tamanhoMaximo = tamanhoMaximo;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (saida == null) {
+                ServletOutputStream original = super.getOutputStream();
+                saida = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        original.write(b);
+                        copiar(new byte[] { (byte) b }, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        original.write(b, off, len);
+                        copiar(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        original.flush();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return original.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        original.setWriteListener(listener);
+                    }
+                };
+            }
+            return saida;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (escritor == null) {
+                String codificacao = getCharacterEncoding();
+                Charset charset = codificacao != null ? Charset.forName(codificacao) : StandardCharsets.ISO_8859_1;
+                escritor = new PrintWriter(new OutputStreamWriter(getOutputStream(), charset));
+            }
+            return escritor;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (escritor != null) {
+                escritor.flush();
+            }
+            super.flushBuffer();
+        }
+
+        private void copiar(byte[] b, int off, int len) {
+            if (!compartilhavel) {
+                return;
+            }
+            if (copia.size() + len > tamanhoMaximo) {
+                compartilhavel = false;
+                copia.reset();
+                return;
+            }
+            copia.write(b, off, len);
+        }
+
+        /**
+         * Só respostas 200 sem cookies são repetidas; qualquer outra é específica desta requisição
+         */
+        RespostaCompartilhada paraCompartilhar() {
+            if (!compartilhavel || getStatus() != HttpServletResponse.SC_OK
+                    || getHeader(HttpHeaders.SET_COOKIE) != null) {
+                return null;
+            }
+            return new RespostaCompartilhada(getContentType(), copia.toByteArray());
+        }
+    }
+}
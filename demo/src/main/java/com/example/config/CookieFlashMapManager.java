@@ -0,0 +1,198 @@
+package com.example.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.servlet.FlashMap;
+import org.springframework.web.servlet.support.AbstractFlashMapManager;
+import org.springframework.web.util.WebUtils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import com.example.model.Produto;
+
+/**
+ * FlashMapManager que guarda as mensagens flash em um cookie assinado (HMAC-SHA256)
+ * de vida curta, em vez da HttpSession.
+ * Permite usar RedirectAttributes.addFlashAttribute sem criar sessão, de modo que
+ * qualquer instância que compartilhe a chave consegue ler a mensagem após o redirect.
+ */
+public class CookieFlashMapManager extends AbstractFlashMapManager {
+
+    static final String NOME_COOKIE = "LOJINHA_FLASH";
+
+    // Navegadores descartam cookies acima de ~4 KB (nome + valor + atributos)
+    private static final int TAMANHO_MAXIMO_VALOR = 3800;
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final String ATRIBUTO_FLASH_MAPS = CookieFlashMapManager.class.getName() + ".FLASH_MAPS";
+
+    private static final Logger log = LoggerFactory.getLogger(CookieFlashMapManager.class);
+
+    private final SecretKeySpec chave;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public CookieFlashMapManager(byte[] chave) {
+        if (chave == null || chave.length < 16) {
+            throw new IllegalArgumentException("Chave de assinatura do flash deve ter ao menos 16 bytes");
+        }
+        this.chave = new SecretKeySpec(chave, ALGORITMO);
+    }
+
+    /**
+     * Mensagens flash registradas para um redirect (forma serializada no cookie).
+     * Apenas textos e produtos são suportados, que é o que o ProdutoController usa.
+     */
+    record RegistroFlash(String caminho, Map<String, List<String>> parametros, long expira,
+                         Map<String, String> textos, Map<String, ProdutoFlash> produtos) {
+    }
+
+    record ProdutoFlash(Long id, String nome, Double preco) {
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<FlashMap> retrieveFlashMaps(HttpServletRequest request) {
+        // Após uma atualização na mesma requisição, o cookie recebido já está desatualizado
+        Object atualizados = request.getAttribute(ATRIBUTO_FLASH_MAPS);
+        if (atualizados != null) {
+            return (List<FlashMap>) atualizados;
+        }
+        Cookie cookie = WebUtils.getCookie(request, NOME_COOKIE);
+        if (cookie == null || cookie.getValue().isEmpty()) {
+            return null;
+        }
+        return decodificar(cookie.getValue());
+    }
+
+    @Override
+    protected void updateFlashMaps(List<FlashMap> flashMaps, HttpServletRequest request, HttpServletResponse response) {
+        request.setAttribute(ATRIBUTO_FLASH_MAPS, flashMaps);
+
+        String valor = flashMaps.isEmpty() ? "" : codificar(flashMaps, true);
+        if (valor.length() > TAMANHO_MAXIMO_VALOR) {
+            // Reapresentar o produto no formulário é opcional; a mensagem não é
+            valor = codificar(flashMaps, false);
+        }
+        if (valor.length() > TAMANHO_MAXIMO_VALOR) {
+            log.warn("Mensagens flash excedem o tamanho máximo do cookie e foram descartadas");
+            valor = "";
+        }
+
+        ResponseCookie cookie = ResponseCookie.from(NOME_COOKIE, valor)
+                .path("/")
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .maxAge(valor.isEmpty() ? 0 : getFlashMapTimeout())
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    /**
+     * Sem sessão não há estado compartilhado entre requisições a proteger
+     */
+    @Override
+    protected Object getFlashMapsMutex(HttpServletRequest request) {
+        return null;
+    }
+
+    String codificar(List<FlashMap> flashMaps, boolean incluirProdutos) {
+        List<RegistroFlash> registros = new ArrayList<>(flashMaps.size());
+        for (FlashMap flashMap : flashMaps) {
+            Map<String, String> textos = new LinkedHashMap<>();
+            Map<String, ProdutoFlash> produtos = new LinkedHashMap<>();
+            flashMap.forEach((nome, valor) -> {
+                if (valor instanceof String texto) {
+                    textos.put(nome, texto);
+                } else if (valor instanceof Produto produto) {
+                    if (incluirProdutos) {
+                        produtos.put(nome, new ProdutoFlash(produto.getId(), produto.getNome(), produto.getPreco()));
+                    }
+                } else if (valor != null) {
+                    log.debug("Atributo flash '{}' do tipo {} não é suportado no cookie e foi ignorado",
+                            nome, valor.getClass().getName());
+                }
+            });
+            registros.add(new RegistroFlash(flashMap.getTargetRequestPath(), flashMap.getTargetRequestParams(),
+                    flashMap.getExpirationTime(), textos, produtos));
+        }
+        try {
+            byte[] conteudo = objectMapper.writeValueAsBytes(registros);
+            Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
+            return base64.encodeToString(conteudo) + "." + base64.encodeToString(assinar(conteudo));
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao serializar mensagens flash", e);
+        }
+    }
+
+    List<FlashMap> decodificar(String valor) {
+        int separador = valor.indexOf('.');
+        if (separador <= 0) {
+            return null;
+        }
+        try {
+            Base64.Decoder base64 = Base64.getUrlDecoder();
+            byte[] conteudo = base64.decode(valor.substring(0, separador));
+            byte[] assinatura = base64.decode(valor.substring(separador + 1));
+            if (!MessageDigest.isEqual(assinar(conteudo), assinatura)) {
+                log.debug("Cookie de flash com assinatura inválida foi ignorado");
+                return null;
+            }
+
+            List<RegistroFlash> registros = objectMapper.readValue(conteudo, new TypeReference<List<RegistroFlash>>() { });
+            List<FlashMap> flashMaps = new ArrayList<>(registros.size());
+            for (RegistroFlash registro : registros) {
+                FlashMap flashMap = new FlashMap();
+                flashMap.setTargetRequestPath(registro.caminho());
+                if (registro.parametros() != null) {
+                    flashMap.addTargetRequestParams(new LinkedMultiValueMap<>(registro.parametros()));
+                }
+                flashMap.setExpirationTime(registro.expira());
+                if (flashMap.isExpired()) {
+                    // O AbstractFlashMapManager não descarta mensagens expiradas ao casar o caminho
+                    continue;
+                }
+                if (registro.textos() != null) {
+                    flashMap.putAll(registro.textos());
+                }
+                if (registro.produtos() != null) {
+                    registro.produtos().forEach((nome, p) -> flashMap.put(nome, new Produto(p.id(), p.nome(), p.preco())));
+                }
+                flashMaps.add(flashMap);
+            }
+            return flashMaps;
+        } catch (Exception e) {
+            log.debug("Cookie de flash malformado foi ignorado: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] assinar(byte[] conteudo) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(ALGORITMO);
+        mac.init(chave);
+        return mac.doFinal(conteudo);
+    }
+
+    static byte[] chaveDeTexto(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.config;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.event.KeyValuePair;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+/**
+ * Codifica cada evento de log como uma linha JSON: instante, nível, logger, thread,
+ * mensagem, MDC, pares chave-valor do SLF4J (api fluente) e exceção.
+ * O StringBuilder é reaproveitado entre eventos; o OutputStreamAppender já serializa
+ * as chamadas ao encoder.
+ */
+public class EncoderJson extends EncoderBase<ILoggingEvent> {
+
+    private static final byte[] VAZIO = new byte[0];
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final StringBuilder json = new StringBuilder(512);
+
+    @Override
+    public byte[] headerBytes() {
+        return VAZIO;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return VAZIO;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent evento) {
+        json.setLength(0);
+        json.append('{');
+        campo("instante", DateTimeFormatter.ISO_INSTANT.format(evento.getInstant()), false);
+        campo("nivel", evento.getLevel().toString(), true);
+        campo("logger", evento.getLoggerName(), true);
+        campo("thread", evento.getThreadName(), true);
+        campo("mensagem", evento.getFormattedMessage(), true);
+
+        Map<String, String> mdc = evento.getMDCPropertyMap();
+        if (mdc != null) {
+            for (Map.Entry<String, String> entrada : mdc.entrySet()) {
+                campo(entrada.getKey(), entrada.getValue(), true);
+            }
+        }
+        List<KeyValuePair> pares = evento.getKeyValuePairs();
+        if (pares != null) {
+            for (KeyValuePair par : pares) {
+                json.append(',');
+                texto(par.key);
+                json.append(':');
+                valor(par.value);
+            }
+        }
+        IThrowableProxy excecao = evento.getThrowableProxy();
+        if (excecao != null) {
+            campo("excecao", ThrowableProxyUtil.asString(excecao), true);
+        }
+        json.append("}\n");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void campo(String nome, String valor, boolean separador) {
+        if (separador) {
+            json.append(',');
+        }
+        texto(nome);
+        json.append(':');
+        if (valor == null) {
+            json.append("null");
+        } else {
+            texto(valor);
+        }
+    }
+
+    /**
+     * Números e booleanos saem sem aspas; o resto como texto
+     */
+    private void valor(Object valor) {
+        if (valor == null) {
+            json.append("null");
+        } else if (valor instanceof Boolean || valor instanceof Integer || valor instanceof Long
+                || valor instanceof Short || valor instanceof Byte) {
+            json.append(valor);
+        } else if (valor instanceof Number numero && Double.isFinite(numero.doubleValue())) {
+            json.append(numero);
+        } else {
+            texto(String.valueOf(valor));
+        }
+    }
+
+    private void texto(String valor) {
+        json.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xf]);
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.config;
+
+import com.example.service.TempoServico;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de uma requisição atendida pelo ProdutoController.
+ * Separa o tempo do handler (fila do bulkhead + serviço) do tempo de renderização da view;
+ * o tempo de serviço é a parte do handler gasta no ProdutoService (TempoServico).
+ */
+@Name("com.example.RequisicaoProduto")
+@Label("Requisição de Produtos")
+@Category({ "Lojinha", "Web" })
+@Description("Endpoint do ProdutoController com tempo de handler e de renderização")
+@StackTrace(false)
+class EventoRequisicao extends Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Método HTTP")
+    String metodo;
+
+    @Label("Status HTTP")
+    int status;
+
+    @Label("Tempo do Handler")
+    @Timespan(Timespan.NANOSECONDS)
+    long tempoHandler;
+
+    @Label("Tempo de Serviço")
+    @Timespan(Timespan.NANOSECONDS)
+    long tempoServico;
+
+    @Label("Tempo de Renderização")
+    @Timespan(Timespan.NANOSECONDS)
+    long tempoRenderizacao;
+
+    // Campos transient não são gravados
+    transient long inicio;
+    transient long inicioRenderizacao;
+    transient TempoServico servico;
+}
@@ -0,0 +1,98 @@
+package com.example.config;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import com.example.service.TempoServico;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Emite um EventoRequisicao por requisição de produtos.
+ * Com o handler em um bulkhead, a requisição passa duas vezes por aqui (despacho inicial e
+ * assíncrono); o evento criado no primeiro é concluído ao fim do segundo, após a renderização.
+ * O tempo de serviço vem do acumulador das fases da requisição (TemposFasesFilter); sem ele, o
+ * evento usa um acumulador próprio, vinculado à thread do bulkhead enquanto o handler executa.
+ */
+class EventosJfrInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+
+    private static final String ATRIBUTO_EVENTO = EventosJfrInterceptor.class.getName() + ".EVENTO";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(ATRIBUTO_EVENTO) == null && handler instanceof HandlerMethod metodo) {
+            EventoRequisicao evento = new EventoRequisicao();
+            if (evento.isEnabled()) {
+                evento.endpoint = metodo.getMethod().getName();
+                evento.metodo = request.getMethod();
+                evento.inicio = System.nanoTime();
+                evento.servico = request.getAttribute(FasesRequisicao.ATRIBUTO) instanceof FasesRequisicao fases
+                        ? fases.servico : new TempoServico();
+                evento.begin();
+                request.setAttribute(ATRIBUTO_EVENTO, evento);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (request.getAttribute(ATRIBUTO_EVENTO) instanceof EventoRequisicao evento) {
+            evento.inicioRenderizacao = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        EventoRequisicao evento = (EventoRequisicao) request.getAttribute(ATRIBUTO_EVENTO);
+        if (evento == null) {
+            return;
+        }
+        request.removeAttribute(ATRIBUTO_EVENTO);
+        evento.end();
+        if (evento.shouldCommit()) {
+            long agora = System.nanoTime();
+            long fimHandler = evento.inicioRenderizacao > 0 ? evento.inicioRenderizacao : agora;
+            evento.tempoHandler = fimHandler - evento.inicio;
+            evento.tempoRenderizacao = agora - fimHandler;
+            evento.tempoServico = evento.servico.getNanos();
+            evento.status = response.getStatus();
+            evento.commit();
+        }
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        EventoRequisicao evento = eventoSemFases(request);
+        if (evento != null) {
+            TempoServico.vincular(evento.servico);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object resultado) {
+        if (eventoSemFases(request) != null) {
+            TempoServico.restaurar(null);
+        }
+    }
+
+    /**
+     * Evento da requisição quando o acumulador é o próprio; com as fases medidas, quem vincula é o TemposFasesInterceptor
+     */
+    private static EventoRequisicao eventoSemFases(NativeWebRequest request) {
+        if (request.getAttribute(FasesRequisicao.ATRIBUTO, RequestAttributes.SCOPE_REQUEST) != null) {
+            return null;
+        }
+        return request.getAttribute(ATRIBUTO_EVENTO, RequestAttributes.SCOPE_REQUEST) instanceof EventoRequisicao evento
+                ? evento : null;
+    }
+}
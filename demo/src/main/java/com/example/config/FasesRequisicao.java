@@ -0,0 +1,104 @@
+package com.example.config;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.service.RegistroLentidao;
+import com.example.service.TempoServico;
+
+/**
+ * Marcos de tempo de uma requisição, do início do filtro ao último byte escrito.
+ * Fases: servico (ProdutoService), controlador (handler e espera no bulkhead, sem o serviço),
+ * renderizacao (view Thymeleaf, sem a escrita) e escrita (bloqueio em escritas e descargas da resposta).
+ * O serviço também pode ser chamado durante a renderização (listagem em fluxo): esse tempo entra
+ * em servico e sai de renderizacao, para que as fases não se sobreponham.
+ */
+final class FasesRequisicao {
+
+    static final String ATRIBUTO = FasesRequisicao.class.getName();
+
+    final TempoServico servico = new TempoServico();
+    final LongAdder escrita = new LongAdder();
+    // Medição de lentidão da requisição, quando monitorada
+    RegistroLentidao.Medicao lentidao = RegistroLentidao.Medicao.NENHUMA;
+
+    private final long inicio = System.nanoTime();
+    // Marcos gravados em threads diferentes (handler no bulkhead, renderização no Tomcat)
+    private volatile long fimHandler;
+    private volatile long escritaAntesRenderizacao;
+    private volatile long servicoAntesRenderizacao;
+    private volatile long fimRenderizacao;
+    private volatile long escritaAteRenderizacao;
+    private volatile long servicoAteRenderizacao;
+    private volatile long fim;
+    private volatile String view = "nenhuma";
+
+    void concluirHandler(String view) {
+        this.view = view;
+        this.escritaAntesRenderizacao = escrita.sum();
+        this.servicoAntesRenderizacao = servico.getNanos();
+        this.fimHandler = System.nanoTime();
+    }
+
+    void concluirRenderizacao() {
+        this.escritaAteRenderizacao = escrita.sum();
+        this.servicoAteRenderizacao = servico.getNanos();
+        this.fimRenderizacao = System.nanoTime();
+    }
+
+    void concluir() {
+        this.fim = System.nanoTime();
+    }
+
+    boolean handlerExecutado() {
+        return fimHandler > 0;
+    }
+
+    long servicoNanos() {
+        return servico.getNanos();
+    }
+
+    long controladorNanos() {
+        return handlerExecutado() ? Math.max(0, fimHandler - inicio - servicoAntesRenderizacao) : 0;
+    }
+
+    long renderizacaoNanos() {
+        if (!handlerExecutado() || fimRenderizacao == 0) {
+            return 0;
+        }
+        long escritaNaRenderizacao = escritaAteRenderizacao - escritaAntesRenderizacao;
+        long servicoNaRenderizacao = servicoAteRenderizacao - servicoAntesRenderizacao;
+        return Math.max(0, fimRenderizacao - fimHandler - escritaNaRenderizacao - servicoNaRenderizacao);
+    }
+
+    long escritaNanos() {
+        return escrita.sum();
+    }
+
+    long totalNanos() {
+        return (fim > 0 ? fim : System.nanoTime()) - inicio;
+    }
+
+    String getView() {
+        return view;
+    }
+
+    /**
+     * Server-Timing conhecido ao fim do handler, antes de qualquer byte do corpo
+     */
+    String serverTimingHandler() {
+        return metrica("servico", servicoNanos()) + ", " + metrica("controlador", controladorNanos());
+    }
+
+    /**
+     * Server-Timing conhecido só ao fim da resposta, enviado como trailer
+     */
+    String serverTimingResposta() {
+        return metrica("renderizacao", renderizacaoNanos()) + ", " + metrica("escrita", escritaNanos())
+                + ", " + metrica("total", totalNanos());
+    }
+
+    private static String metrica(String nome, long nanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.2f", nome, nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.config;
+
+import java.security.SecureRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.FlashMapManager;
+
+/**
+ * Configuração das mensagens flash sem sessão.
+ * Substitui o SessionFlashMapManager padrão pelo CookieFlashMapManager.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class FlashConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(FlashConfig.class);
+
+    /**
+     * O nome do bean é o que o DispatcherServlet procura; o Spring Boot só registra
+     * o gerenciador baseado em sessão quando não existe um bean com esse nome.
+     */
+    @Bean(name = DispatcherServlet.FLASH_MAP_MANAGER_BEAN_NAME)
+    public FlashMapManager flashMapManager(@Value("${produtos.flash.chave:}") String chave,
+                                           @Value("${produtos.flash.validade-segundos:60}") int validadeSegundos) {
+        byte[] bytesChave;
+        if (chave.isBlank()) {
+            // Sem chave configurada, cookies emitidos por uma instância não valem nas outras
+            log.warn("produtos.flash.chave não configurada; usando chave aleatória válida apenas nesta instância");
+            bytesChave = new byte[32];
+            new SecureRandom().nextBytes(bytesChave);
+        } else {
+            bytesChave = CookieFlashMapManager.chaveDeTexto(chave);
+        }
+
+        CookieFlashMapManager manager = new CookieFlashMapManager(bytesChave);
+        manager.setFlashMapTimeout(validadeSegundos);
+        return manager;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Endpoint do Actuator para gravações do Java Flight Recorder.
+ * POST /actuator/jfr inicia, DELETE /actuator/jfr para e GET /actuator/jfr baixa o .jfr
+ * (da gravação parada ou, se ainda ativa, um instantâneo até o momento).
+ * Há no máximo uma gravação por vez; os eventos da Lojinha ficam sempre habilitados nela, e os
+ * de ambiente e propriedades de sistema, desabilitados. Exposto só na porta de gerenciamento.
+ */
+@Endpoint(id = "jfr")
+public class GravacaoJfrEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(GravacaoJfrEndpoint.class);
+
+    private Recording gravacao;
+    private Path arquivo;
+
+    /**
+     * @param configuracao configuração do JDK ("default" ou "profile"); padrão "profile"
+     * @param duracaoSegundos para sozinha após esse tempo; sem valor, até o DELETE
+     */
+    @WriteOperation
+    public synchronized Map<String, Object> iniciar(@Nullable String configuracao, @Nullable Integer duracaoSegundos)
+            throws IOException, ParseException {
+        if (gravacao != null && gravacao.getState() == RecordingState.RUNNING) {
+            return estado();
+        }
+        descartar();
+
+        Recording nova = new Recording(Configuration.getConfiguration(configuracao != null ? configuracao : "profile"));
+        nova.setName("lojinha");
+        nova.enable("com.example.RequisicaoProduto");
+        nova.enable("com.example.OperacaoCatalogo");
+        // Variáveis de ambiente e propriedades de sistema levam segredos (como LOJINHA_FLASH_CHAVE)
+        nova.disable("jdk.InitialEnvironmentVariable");
+        nova.disable("jdk.InitialSystemProperty");
+        if (duracaoSegundos != null && duracaoSegundos > 0) {
+            nova.setDuration(Duration.ofSeconds(duracaoSegundos));
+        }
+        arquivo = Files.createTempFile("lojinha-", ".jfr");
+        nova.setDestination(arquivo);
+        nova.start();
+        gravacao = nova;
+        log.info("Gravação JFR iniciada em {}", arquivo);
+        return estado();
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> parar() {
+        if (gravacao != null && gravacao.getState() == RecordingState.RUNNING) {
+            gravacao.stop();
+            log.info("Gravação JFR parada; arquivo em {}", arquivo);
+        }
+        return estado();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized Resource baixar() throws IOException {
+        if (gravacao == null) {
+            return null;
+        }
+        if (gravacao.getState() == RecordingState.RUNNING) {
+            // O instantâneo é apagado assim que a resposta termina de ser enviada (ou falha)
+            Path instantaneo = Files.createTempFile("lojinha-instantaneo-", ".jfr");
+            try {
+                gravacao.dump(instantaneo);
+                return new InputStreamResource(Files.newInputStream(instantaneo, StandardOpenOption.DELETE_ON_CLOSE));
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(instantaneo);
+                throw e;
+            }
+        }
+        return Files.exists(arquivo) ? new FileSystemResource(arquivo) : null;
+    }
+
+    private Map<String, Object> estado() {
+        Map<String, Object> estado = new LinkedHashMap<>();
+        estado.put("estado", gravacao != null ? gravacao.getState().name() : "NENHUMA");
+        if (arquivo != null) {
+            estado.put("arquivo", arquivo.toString());
+        }
+        return estado;
+    }
+
+    private void descartar() throws IOException {
+        if (gravacao != null) {
+            gravacao.close();
+            gravacao = null;
+        }
+        if (arquivo != null) {
+            Files.deleteIfExists(arquivo);
+            arquivo = null;
+        }
+    }
+}
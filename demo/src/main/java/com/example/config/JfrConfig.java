@@ -0,0 +1,34 @@
+package com.example.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Eventos JFR das requisições de produtos e endpoint de gravação (/actuator/jfr).
+ * O endpoint fica exposto só na porta de gerenciamento (management.server.port, no loopback).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class JfrConfig implements WebMvcConfigurer {
+
+    private final EventosJfrInterceptor interceptor = new EventosJfrInterceptor();
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/produtos/**");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(interceptor);
+    }
+
+    @Bean
+    public GravacaoJfrEndpoint gravacaoJfrEndpoint() {
+        return new GravacaoJfrEndpoint();
+    }
+}
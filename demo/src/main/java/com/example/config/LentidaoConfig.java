@@ -0,0 +1,29 @@
+package com.example.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.service.RegistroLentidao;
+
+/**
+ * Registro de requisições e operações lentas, consultado em /actuator/lentidao.
+ * Os orçamentos ficam com quem mede: produtos.lentidao.orcamento-servico-ms no ProdutoService
+ * e produtos.lentidao.orcamento-requisicao-ms no TemposFasesFilter.
+ */
+@Configuration
+@ConditionalOnProperty(name = "produtos.lentidao.habilitada", havingValue = "true", matchIfMissing = true)
+public class LentidaoConfig {
+
+    @Bean(destroyMethod = "encerrar")
+    public RegistroLentidao registroLentidao(@Value("${produtos.lentidao.capacidade:200}") int capacidade,
+                                             @Value("${produtos.lentidao.intervalo-amostragem-ms:10}") long intervaloMs) {
+        return new RegistroLentidao(capacidade, intervaloMs);
+    }
+
+    @Bean
+    public LentidaoEndpoint lentidaoEndpoint(RegistroLentidao registro) {
+        return new LentidaoEndpoint(registro);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import com.example.service.RegistroLentidao;
+
+/**
+ * Endpoint do Actuator com as últimas amostras de lentidão.
+ * GET /actuator/lentidao lista (mais recentes primeiro); DELETE /actuator/lentidao esvazia o anel.
+ */
+@Endpoint(id = "lentidao")
+public class LentidaoEndpoint {
+
+    private final RegistroLentidao registro;
+
+    public LentidaoEndpoint(RegistroLentidao registro) {
+        this.registro = registro;
+    }
+
+    @ReadOperation
+    public Map<String, Object> amostras() {
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("registradas", registro.getRegistradas());
+        resposta.put("amostras", registro.amostras());
+        return resposta;
+    }
+
+    @DeleteOperation
+    public void limpar() {
+        registro.limpar();
+    }
+}
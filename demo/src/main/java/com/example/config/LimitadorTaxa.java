@@ -0,0 +1,172 @@
+package com.example.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket por cliente, sem locks.
+ * Cada balde é um único AtomicLong com o instante teórico em que ele estará cheio de novo
+ * (algoritmo GCRA, equivalente a um token bucket); consumir um token é um CAS.
+ * Os baldes ficam num ConcurrentHashMap e são descartados por uma varredura amortizada, feita
+ * pela própria requisição que a dispara: periodicamente (a cada tempo de recarga completa) saem
+ * os baldes cheios, que equivalem a baldes novos; acima da capacidade saem também os de uso mais
+ * antigo, até sobrar uma folga de um quarto, para que a próxima varredura demore a ser necessária.
+ * Um balde é descartado trocando o instante por um marcador via CAS: quem ainda o tinha em mãos
+ * vê o marcador e passa a usar o balde novo, sem consumir de um balde fora do mapa.
+ */
+public class LimitadorTaxa {
+
+    // Instante de um balde descartado; nenhum instante real chega a ele
+    private static final long DESCARTADO = Long.MAX_VALUE;
+
+    private static final class Balde {
+        // Instante (nanos) em que o balde volta a estar cheio; no passado = cheio
+        final AtomicLong cheioEm;
+        // Último acesso, para escolher quem sai quando a capacidade estoura
+        volatile long ultimoUso;
+
+        Balde(long agora) {
+            this.cheioEm = new AtomicLong(agora);
+            this.ultimoUso = agora;
+        }
+
+        /**
+         * Marca o balde como descartado, a menos que outro consumo o altere antes
+         */
+        boolean descartar(long esperado) {
+            return esperado != DESCARTADO && cheioEm.compareAndSet(esperado, DESCARTADO);
+        }
+    }
+
+    /**
+     * Estado de um balde no início da varredura; a ordenação não pode ver valores mudando
+     */
+    private record Candidato(String cliente, Balde balde, long ultimoUso, long cheioEm) {
+    }
+
+    private final Map<String, Balde> baldes = new ConcurrentHashMap<>();
+    private final int capacidade;
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final LongSupplier relogio;
+    private final AtomicLong proximaVarredura;
+    private final AtomicBoolean varrendo = new AtomicBoolean();
+
+    public LimitadorTaxa(double porSegundo, int rajada, int capacidade) {
+        this(porSegundo, rajada, capacidade, System::nanoTime);
+    }
+
+    public LimitadorTaxa(double porSegundo, int rajada, int capacidade, LongSupplier relogio) {
+        if (porSegundo <= 0 || rajada < 1 || capacidade < 1) {
+            throw new IllegalArgumentException("Taxa, rajada e capacidade do limitador devem ser positivas");
+        }
+        this.capacidade = capacidade;
+        this.intervaloNanos = (long) (TimeUnit.SECONDS.toNanos(1) / porSegundo);
+        this.toleranciaNanos = intervaloNanos * (rajada - 1);
+        this.relogio = relogio;
+        this.proximaVarredura = new AtomicLong(relogio.getAsLong() + intervaloNanos + toleranciaNanos);
+    }
+
+    /**
+     * Consome um token do cliente.
+     * Retorna 0 se a requisição foi permitida, ou quantos nanossegundos faltam para o próximo token.
+     */
+    public long consumir(String cliente) {
+        long agora = relogio.getAsLong();
+        Balde balde = baldes.get(cliente);
+        boolean novo = balde == null;
+        long espera;
+        while (true) {
+            if (balde == null) {
+                balde = baldes.computeIfAbsent(cliente, c -> new Balde(agora));
+            }
+            espera = consumir(balde, agora);
+            if (espera >= 0) {
+                break;
+            }
+            // Descartado pela varredura depois de obtido: segue com o balde que o substitui
+            baldes.remove(cliente, balde);
+            balde = null;
+            novo = true;
+        }
+        balde.ultimoUso = agora;
+
+        // Varredura depois do consumo, para que o balde recém-criado já não conte como cheio
+        if (novo && baldes.size() > capacidade || agora - proximaVarredura.get() >= 0) {
+            varrer(agora);
+        }
+        return espera;
+    }
+
+    /**
+     * Quantidade de clientes acompanhados no momento
+     */
+    public int tamanho() {
+        return baldes.size();
+    }
+
+    /**
+     * Espera até o próximo token (0 se consumiu), ou -1 se o balde foi descartado
+     */
+    private long consumir(Balde balde, long agora) {
+        while (true) {
+            long cheioEm = balde.cheioEm.get();
+            if (cheioEm == DESCARTADO) {
+                return -1;
+            }
+            long novo = Math.max(cheioEm, agora) + intervaloNanos;
+            long espera = novo - agora - intervaloNanos - toleranciaNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (balde.cheioEm.compareAndSet(cheioEm, novo)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Descarta os baldes cheios e, acima da capacidade, os de uso mais antigo.
+     * Uma varredura por vez; quem chega durante uma segue sem esperar.
+     */
+    private void varrer(long agora) {
+        if (!varrendo.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            proximaVarredura.set(agora + intervaloNanos + toleranciaNanos);
+            List<Candidato> restantes = new ArrayList<>();
+            for (Map.Entry<String, Balde> entrada : baldes.entrySet()) {
+                Balde balde = entrada.getValue();
+                long cheioEm = balde.cheioEm.get();
+                if (cheioEm <= agora && balde.descartar(cheioEm)) {
+                    baldes.remove(entrada.getKey(), balde);
+                } else {
+                    restantes.add(new Candidato(entrada.getKey(), balde, balde.ultimoUso, cheioEm));
+                }
+            }
+            if (baldes.size() <= capacidade) {
+                return;
+            }
+            // Empate no último uso (mesmo instante): sai o mais próximo de cheio, o que menos perde
+            restantes.sort(Comparator.comparingLong(Candidato::ultimoUso).thenComparingLong(Candidato::cheioEm));
+            int excedente = baldes.size() - capacidade * 3 / 4;
+            for (int i = 0; i < restantes.size() && excedente > 0; i++) {
+                Candidato candidato = restantes.get(i);
+                if (candidato.balde().descartar(candidato.cheioEm())) {
+                    baldes.remove(candidato.cliente(), candidato.balde());
+                    excedente--;
+                }
+            }
+        } finally {
+            varrendo.set(false);
+        }
+    }
+}
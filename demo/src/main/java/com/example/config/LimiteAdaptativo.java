@@ -0,0 +1,93 @@
+package com.example.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de concorrência que se ajusta pela latência observada (estilo TCP Vegas).
+ * Compara a latência de cada requisição com a menor latência vista (sem fila):
+ * se a fila estimada é pequena o limite cresce, se é grande o limite diminui.
+ * A menor latência é reamostrada periodicamente para acompanhar mudanças de carga.
+ */
+public class LimiteAdaptativo {
+
+    private static final long REAMOSTRAGEM_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final String nome;
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final LongSupplier relogio;
+
+    private double limite;
+    private int emAndamento;
+    private long menorLatencia = Long.MAX_VALUE;
+    private long inicioJanela;
+
+    public LimiteAdaptativo(String nome, int limiteInicial, int limiteMinimo, int limiteMaximo) {
+        this(nome, limiteInicial, limiteMinimo, limiteMaximo, System::nanoTime);
+    }
+
+    public LimiteAdaptativo(String nome, int limiteInicial, int limiteMinimo, int limiteMaximo, LongSupplier relogio) {
+        if (limiteMinimo < 1 || limiteMinimo > limiteInicial || limiteInicial > limiteMaximo) {
+            throw new IllegalArgumentException("Limites de concorrência inconsistentes para " + nome);
+        }
+        this.nome = nome;
+        this.limite = limiteInicial;
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.relogio = relogio;
+        this.inicioJanela = relogio.getAsLong();
+    }
+
+    /**
+     * Admite a requisição se houver vaga; quem recebe true deve chamar liberar
+     */
+    public synchronized boolean tentarAdmitir() {
+        if (emAndamento >= (int) limite) {
+            return false;
+        }
+        emAndamento++;
+        return true;
+    }
+
+    /**
+     * Devolve a vaga e alimenta o ajuste do limite com a latência observada.
+     * Latências negativas (falha antes de medir) apenas liberam a vaga.
+     */
+    public synchronized void liberar(long latenciaNanos) {
+        int concorrencia = emAndamento;
+        emAndamento--;
+        if (latenciaNanos <= 0) {
+            return;
+        }
+
+        long agora = relogio.getAsLong();
+        if (agora - inicioJanela >= REAMOSTRAGEM_NANOS) {
+            menorLatencia = Long.MAX_VALUE;
+            inicioJanela = agora;
+        }
+        menorLatencia = Math.min(menorLatencia, latenciaNanos);
+
+        // Requisições enfileiradas estimadas: limite * (1 - sem fila / observada)
+        double fila = limite * (1.0 - (double) menorLatencia / latenciaNanos);
+        double escala = Math.max(1.0, Math.log10(limite));
+        if (fila > 6 * escala) {
+            limite = Math.max(limiteMinimo, limite - escala);
+        } else if (fila < 3 * escala && concorrencia * 2 >= limite) {
+            // Só cresce quando o limite atual está de fato sendo usado
+            limite = Math.min(limiteMaximo, limite + escala);
+        }
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public synchronized int getLimite() {
+        return (int) limite;
+    }
+
+    public synchronized int getEmAndamento() {
+        return emAndamento;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuração do limite de taxa por cliente em salvar e excluir.
+ * Vem antes do controle de admissão, para que um único cliente não ocupe as vagas dos demais.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "produtos.limite-taxa.habilitado", havingValue = "true", matchIfMissing = true)
+public class LimiteTaxaConfig {
+
+    @Bean
+    public LimiteTaxaFilter limiteTaxaFilter(@Value("${produtos.limite-taxa.salvar.por-segundo:5}") double salvarPorSegundo,
+                                             @Value("${produtos.limite-taxa.salvar.rajada:10}") int salvarRajada,
+                                             @Value("${produtos.limite-taxa.excluir.por-segundo:5}") double excluirPorSegundo,
+                                             @Value("${produtos.limite-taxa.excluir.rajada:10}") int excluirRajada,
+                                             @Value("${produtos.limite-taxa.clientes-maximo:10000}") int clientesMaximo) {
+        return new LimiteTaxaFilter(
+                new LimitadorTaxa(salvarPorSegundo, salvarRajada, clientesMaximo),
+                new LimitadorTaxa(excluirPorSegundo, excluirRajada, clientesMaximo));
+    }
+
+    @Bean
+    public FilterRegistrationBean<LimiteTaxaFilter> registroLimiteTaxa(LimiteTaxaFilter filtro) {
+        FilterRegistrationBean<LimiteTaxaFilter> registro = new FilterRegistrationBean<>(filtro);
+        registro.addUrlPatterns("/produtos/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registro;
+    }
+}
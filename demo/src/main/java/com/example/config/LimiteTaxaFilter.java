@@ -0,0 +1,76 @@
+package com.example.config;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Limite de taxa por cliente nas rotas que alteram o catálogo (salvar e excluir).
+ * O cliente é identificado pelo endereço remoto; atrás de proxy, habilite
+ * server.forward-headers-strategy para que ele reflita o cliente real.
+ * Acima da taxa a resposta é 429 com Retry-After.
+ */
+public class LimiteTaxaFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(LimiteTaxaFilter.class);
+
+    private final LimitadorTaxa salvar;
+    private final LimitadorTaxa excluir;
+    private final LongAdder limitadas = new LongAdder();
+
+    public LimiteTaxaFilter(LimitadorTaxa salvar, LimitadorTaxa excluir) {
+        this.salvar = salvar;
+        this.excluir = excluir;
+    }
+
+    /**
+     * Leituras não passam pelo limitador
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return limitador(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long espera = limitador(request).consumir(request.getRemoteAddr());
+        if (espera > 0) {
+            limitadas.increment();
+            log.debug("Cliente {} excedeu a taxa de {}", request.getRemoteAddr(), request.getRequestURI());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(espera + TimeUnit.SECONDS.toNanos(1) - 1))));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Muitas requisições. Aguarde alguns instantes e tente novamente.");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private LimitadorTaxa limitador(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        if ("POST".equals(request.getMethod()) && caminho.equals("/produtos/salvar")) {
+            return salvar;
+        }
+        if (caminho.startsWith("/produtos/excluir/")) {
+            return excluir;
+        }
+        return null;
+    }
+
+    public long getLimitadas() {
+        return limitadas.sum();
+    }
+}
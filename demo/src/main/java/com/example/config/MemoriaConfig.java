@@ -0,0 +1,30 @@
+package com.example.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.service.PegadaMemoria;
+import com.example.service.ProdutoService;
+
+/**
+ * Pegada de memória do catálogo, consultada em /actuator/memoria, para dimensionar o heap
+ * dos contêineres a partir do tamanho de catálogo esperado.
+ */
+@Configuration
+@ConditionalOnProperty(name = "produtos.memoria.habilitada", havingValue = "true", matchIfMissing = true)
+public class MemoriaConfig {
+
+    @Bean
+    public PegadaMemoria pegadaMemoria(ProdutoService produtoService,
+                                       @Value("${produtos.memoria.amostra:1000}") int amostra) {
+        return new PegadaMemoria(produtoService, amostra);
+    }
+
+    @Bean
+    public MemoriaEndpoint memoriaEndpoint(PegadaMemoria pegadaMemoria,
+                                           @Value("${produtos.memoria.projecoes:1000,100000,1000000,10000000}") long[] projecoes) {
+        return new MemoriaEndpoint(pegadaMemoria, projecoes);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import com.example.service.PegadaMemoria;
+
+/**
+ * Endpoint do Actuator com a pegada de memória do catálogo e projeções por quantidade de produtos.
+ * GET /actuator/memoria estima pela amostra, com custo independente do tamanho do catálogo.
+ * A medição exata, que aloca proporcionalmente ao catálogo, fica só no RelatorioMemoriaCatalogo.
+ */
+@Endpoint(id = "memoria")
+public class MemoriaEndpoint {
+
+    private final PegadaMemoria pegada;
+    private final long[] projecoes;
+
+    public MemoriaEndpoint(PegadaMemoria pegada, long[] projecoes) {
+        this.pegada = pegada;
+        this.projecoes = projecoes.clone();
+    }
+
+    @ReadOperation
+    public PegadaMemoria.Relatorio relatorio() {
+        return pegada.medir(false, projecoes);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.config;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.service.RegistroLentidao;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publica no Micrometer os contadores que os filtros, bulkheads e appenders de log já mantêm.
+ * Os filtros desabilitados por propriedade simplesmente não geram métricas.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class MetricasConfig {
+
+    @Bean
+    public MeterBinder metricasProtecao(ObjectProvider<CoalescenciaFilter> coalescencia,
+                                        ObjectProvider<AdmissaoFilter> admissao,
+                                        ObjectProvider<LimiteTaxaFilter> limiteTaxa,
+                                        ObjectProvider<RegistroLentidao> lentidao,
+                                        List<Bulkhead> bulkheads) {
+        return registro -> {
+            coalescencia.ifAvailable(filtro -> {
+                FunctionCounter.builder("produtos.coalescencia.requisicoes", filtro, CoalescenciaFilter::getLideres)
+                        .tag("papel", "lider").register(registro);
+                FunctionCounter.builder("produtos.coalescencia.requisicoes", filtro, CoalescenciaFilter::getCompartilhadas)
+                        .tag("papel", "compartilhada").register(registro);
+                FunctionCounter.builder("produtos.coalescencia.requisicoes", filtro, CoalescenciaFilter::getNaoCompartilhaveis)
+                        .tag("papel", "nao-compartilhavel").register(registro);
+                Gauge.builder("produtos.coalescencia.taxa", filtro, CoalescenciaFilter::getTaxaCoalescencia)
+                        .description("Fração das leituras atendidas com a resposta de outra requisição")
+                        .register(registro);
+            });
+            admissao.ifAvailable(filtro -> {
+                for (LimiteAdaptativo limite : List.of(filtro.getLeituras(), filtro.getEscritas())) {
+                    Gauge.builder("produtos.admissao.limite", limite, LimiteAdaptativo::getLimite)
+                            .tag("classe", limite.getNome()).register(registro);
+                    Gauge.builder("produtos.admissao.em-andamento", limite, LimiteAdaptativo::getEmAndamento)
+                            .tag("classe", limite.getNome()).register(registro);
+                }
+                FunctionCounter.builder("produtos.admissao.recusadas", filtro, AdmissaoFilter::getRecusadas)
+                        .register(registro);
+            });
+            limiteTaxa.ifAvailable(filtro ->
+                    FunctionCounter.builder("produtos.limite-taxa.limitadas", filtro, LimiteTaxaFilter::getLimitadas)
+                            .register(registro));
+            for (Bulkhead bulkhead : bulkheads) {
+                Gauge.builder("produtos.bulkhead.fila", bulkhead, Bulkhead::getProfundidadeFila)
+                        .tag("bulkhead", bulkhead.getNome()).register(registro);
+                Gauge.builder("produtos.bulkhead.ativas", bulkhead, Bulkhead::getAtivas)
+                        .tag("bulkhead", bulkhead.getNome()).register(registro);
+                FunctionCounter.builder("produtos.bulkhead.rejeitadas", bulkhead, Bulkhead::getRejeitadas)
+                        .tag("bulkhead", bulkhead.getNome()).register(registro);
+            }
+            lentidao.ifAvailable(registroLentidao ->
+                    FunctionCounter.builder("produtos.lentidao.registradas", registroLentidao,
+                                    RegistroLentidao::getRegistradas)
+                            .description("Requisições e operações acima do orçamento de latência")
+                            .register(registro));
+            for (AppenderAssincrono appender : appendersAssincronos()) {
+                FunctionCounter.builder("produtos.log.descartados", appender, AppenderAssincrono::getDescartados)
+                        .description("Eventos de log perdidos com o buffer cheio")
+                        .tag("appender", appender.getName()).register(registro);
+                FunctionCounter.builder("produtos.log.bloqueios", appender, AppenderAssincrono::getBloqueios)
+                        .description("Esperas por espaço no buffer de log (política bloquear)")
+                        .tag("appender", appender.getName()).register(registro);
+                Gauge.builder("produtos.log.ocupacao", appender, AppenderAssincrono::getOcupacao)
+                        .tag("appender", appender.getName()).register(registro);
+            }
+        };
+    }
+
+    /**
+     * Appenders assíncronos configurados no logback-spring.xml
+     */
+    private static Set<AppenderAssincrono> appendersAssincronos() {
+        Set<AppenderAssincrono> encontrados = new LinkedHashSet<>();
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext contexto) {
+            for (Logger logger : contexto.getLoggerList()) {
+                logger.iteratorForAppenders().forEachRemaining(appender -> {
+                    if (appender instanceof AppenderAssincrono assincrono) {
+                        encontrados.add(assincrono);
+                    }
+                });
+            }
+        }
+        return encontrados;
+    }
+}
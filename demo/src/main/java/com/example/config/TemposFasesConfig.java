@@ -0,0 +1,61 @@
+package com.example.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.service.RegistroLentidao;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Configuração da medição por fase das requisições de produtos (Server-Timing e "produtos.fases").
+ * O filtro fica por fora da coalescência, para que também as respostas compartilhadas
+ * tenham a escrita medida.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "produtos.tempos-fases.habilitada", havingValue = "true", matchIfMissing = true)
+public class TemposFasesConfig implements WebMvcConfigurer {
+
+    private final TemposFasesInterceptor interceptor;
+
+    public TemposFasesConfig(@Value("${produtos.tempos-fases.server-timing:false}") boolean serverTiming) {
+        this.interceptor = new TemposFasesInterceptor(serverTiming);
+    }
+
+    @Bean
+    public TemposFasesFilter temposFasesFilter(ObjectProvider<MeterRegistry> registro,
+                                               ObjectProvider<RegistroLentidao> lentidao,
+                                               @Value("${produtos.lentidao.orcamento-requisicao-ms:500}") long orcamentoMs) {
+        return new TemposFasesFilter(registro.getIfAvailable(() -> Metrics.globalRegistry),
+                lentidao.getIfAvailable(), orcamentoMs);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TemposFasesFilter> registroTemposFases(TemposFasesFilter filtro) {
+        FilterRegistrationBean<TemposFasesFilter> registro = new FilterRegistrationBean<>(filtro);
+        registro.addUrlPatterns("/produtos/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registro;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/produtos/**");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(interceptor);
+    }
+}
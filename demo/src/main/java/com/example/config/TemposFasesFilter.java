@@ -0,0 +1,260 @@
+package com.example.config;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.example.service.RegistroLentidao;
+import com.example.service.TempoServico;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Mede as fases de cada requisição (serviço, controlador, renderização e escrita) e
+ * as registra no timer "produtos.fases", com histograma, por fase e view.
+ * O fim do handler é marcado pelo TemposFasesInterceptor; a escrita é o tempo bloqueado
+ * nas escritas e descargas da resposta, incluindo a descarga final feita aqui.
+ * Os timers de cada view são registrados na primeira requisição que a renderiza; requisições
+ * que terminam em exceção também são medidas.
+ * Requisições acima do orçamento de latência vão para o RegistroLentidao, com as fases medidas.
+ */
+public class TemposFasesFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registro;
+    private final RegistroLentidao lentidao;
+    private final long orcamentoLentidaoMs;
+    private final Map<String, TimersFases> timers = new ConcurrentHashMap<>();
+
+    public TemposFasesFilter(MeterRegistry registro) {
+        this(registro, null, 0);
+    }
+
+    /**
+     * @param lentidao registro das requisições acima de orcamentoLentidaoMs (null para não registrar)
+     */
+    public TemposFasesFilter(MeterRegistry registro, RegistroLentidao lentidao, long orcamentoLentidaoMs) {
+        this.registro = registro;
+        this.lentidao = lentidao;
+        this.orcamentoLentidaoMs = orcamentoLentidaoMs;
+    }
+
+    /**
+     * Com o handler em um bulkhead a renderização acontece no despacho assíncrono
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        FasesRequisicao fases = (FasesRequisicao) request.getAttribute(FasesRequisicao.ATRIBUTO);
+        HttpServletResponse resposta = response;
+        if (fases == null) {
+            if (isAsyncDispatch(request)) {
+                chain.doFilter(request, response);
+                return;
+            }
+            fases = new FasesRequisicao();
+            if (lentidao != null) {
+                fases.lentidao = lentidao.iniciar("requisicao", request.getMethod() + " " + request.getRequestURI(),
+                        orcamentoLentidaoMs);
+            }
+            request.setAttribute(FasesRequisicao.ATRIBUTO, fases);
+            resposta = new RespostaCronometrada(response, fases.escrita);
+        } else {
+            // Despacho assíncrono: a renderização continua em outra thread do Tomcat
+            fases.lentidao.vincularThreadAtual();
+        }
+
+        TempoServico anterior = TempoServico.vincular(fases.servico);
+        Throwable erro = null;
+        try {
+            chain.doFilter(request, resposta);
+            if (!request.isAsyncStarted()) {
+                fases.concluirRenderizacao();
+                // Descarga final dentro da medição; no despacho assíncrono a resposta recebida já
+                // envolve a cronometrada (é a do início do processamento assíncrono)
+                resposta.flushBuffer();
+            }
+        } catch (IOException | ServletException | RuntimeException | Error e) {
+            erro = e;
+            throw e;
+        } finally {
+            TempoServico.restaurar(anterior);
+            // Com exceção a resposta de erro ainda não foi escrita: mede-se o que houve até aqui
+            if (erro != null || !request.isAsyncStarted()) {
+                fases.concluir();
+                registrar(fases);
+                concluirLentidao(fases, request, resposta, erro);
+            }
+        }
+    }
+
+    private static void concluirLentidao(FasesRequisicao fases, HttpServletRequest request,
+                                         HttpServletResponse response, Throwable erro) {
+        RegistroLentidao.Medicao medicao = fases.lentidao;
+        if (!medicao.estourou()) {
+            medicao.concluir();
+            return;
+        }
+        Object variaveis = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variaveis instanceof Map<?, ?> mapa && mapa.get("id") != null) {
+            medicao.parametro("id", mapa.get("id"));
+        }
+        if (request.getContentLengthLong() >= 0) {
+            medicao.parametro("tamanhoPayload", request.getContentLengthLong());
+        }
+        if (erro != null) {
+            medicao.parametro("erro", erro.getClass().getSimpleName());
+        }
+        medicao.parametro("status", response.getStatus())
+                .parametro("view", fases.getView())
+                .parametro("servicoMs", fases.servicoNanos() / 1_000_000.0)
+                .parametro("renderizacaoMs", fases.renderizacaoNanos() / 1_000_000.0)
+                .parametro("escritaMs", fases.escritaNanos() / 1_000_000.0);
+        medicao.concluir();
+    }
+
+    private void registrar(FasesRequisicao fases) {
+        boolean handler = fases.handlerExecutado();
+        TimersFases medidores = timers(fases.getView(), handler);
+        if (handler) {
+            medidores.servico.record(fases.servicoNanos(), TimeUnit.NANOSECONDS);
+            medidores.controlador.record(fases.controladorNanos(), TimeUnit.NANOSECONDS);
+            medidores.renderizacao.record(fases.renderizacaoNanos(), TimeUnit.NANOSECONDS);
+        }
+        medidores.escrita.record(fases.escritaNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Timers da view, registrados uma vez; sem handler (ex.: resposta compartilhada pela
+     * coalescência) só o de escrita, completado quando a view passar por um handler
+     */
+    private TimersFases timers(String view, boolean handler) {
+        TimersFases medidores = timers.get(view);
+        if (medidores == null || handler && medidores.servico == null) {
+            medidores = timers.compute(view, (nome, atual) ->
+                    atual != null && (atual.servico != null || !handler) ? atual : registrarTimers(nome, handler));
+        }
+        return medidores;
+    }
+
+    private TimersFases registrarTimers(String view, boolean handler) {
+        Timer escrita = timer("escrita", view);
+        if (!handler) {
+            return new TimersFases(null, null, null, escrita);
+        }
+        return new TimersFases(timer("servico", view), timer("controlador", view),
+                timer("renderizacao", view), escrita);
+    }
+
+    private Timer timer(String fase, String view) {
+        return Timer.builder("produtos.fases")
+                .description("Tempo de cada fase das requisições de produtos")
+                .tag("fase", fase)
+                .tag("view", view)
+                .publishPercentileHistogram()
+                .register(registro);
+    }
+
+    /**
+     * Timers das fases de uma view
+     */
+    private record TimersFases(Timer servico, Timer controlador, Timer renderizacao, Timer escrita) {
+    }
+
+    /**
+     * Resposta que soma o tempo gasto em escritas e descargas do corpo
+     */
+    static class RespostaCronometrada extends HttpServletResponseWrapper {
+
+        private final LongAdder escrita;
+        private ServletOutputStream saida;
+        private PrintWriter escritor;
+
+        RespostaCronometrada(HttpServletResponse response, LongAdder escrita) {
+            super(response);
+            this.escrita = escrita;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (saida == null) {
+                ServletOutputStream original = super.getOutputStream();
+                saida = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        long inicio = System.nanoTime();
+                        original.write(b);
+                        escrita.add(System.nanoTime() - inicio);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        long inicio = System.nanoTime();
+                        original.write(b, off, len);
+                        escrita.add(System.nanoTime() - inicio);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        long inicio = System.nanoTime();
+                        original.flush();
+                        escrita.add(System.nanoTime() - inicio);
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return original.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        original.setWriteListener(listener);
+                    }
+                };
+            }
+            return saida;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (escritor == null) {
+                String codificacao = getCharacterEncoding();
+                Charset charset = codificacao != null ? Charset.forName(codificacao) : StandardCharsets.ISO_8859_1;
+                escritor = new PrintWriter(new OutputStreamWriter(getOutputStream(), charset));
+            }
+            return escritor;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (escritor != null) {
+                escritor.flush();
+            }
+            long inicio = System.nanoTime();
+            super.flushBuffer();
+            escrita.add(System.nanoTime() - inicio);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.config;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import com.example.service.TempoServico;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Marca o fim do handler e publica as fases já conhecidas no cabeçalho Server-Timing.
+ * Também vincula o acumulador de tempo de serviço à thread do bulkhead enquanto o
+ * handler assíncrono executa. Renderização e escrita vão em um trailer Server-Timing,
+ * apenas para clientes que enviam "TE: trailers". Server-Timing expõe tempos internos e
+ * só é enviado quando habilitado (produtos.tempos-fases.server-timing).
+ */
+public class TemposFasesInterceptor implements HandlerInterceptor, CallableProcessingInterceptor {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final boolean serverTiming;
+
+    /**
+     * @param serverTiming envia as fases no cabeçalho e no trailer Server-Timing
+     */
+    public TemposFasesInterceptor(boolean serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        FasesRequisicao fases = (FasesRequisicao) request.getAttribute(FasesRequisicao.ATRIBUTO);
+        if (fases == null) {
+            return;
+        }
+        fases.concluirHandler(viewParaMetrica(modelAndView));
+        if (!serverTiming || response.isCommitted()) {
+            return;
+        }
+        response.addHeader(SERVER_TIMING, fases.serverTimingHandler());
+        if (aceitaTrailers(request)) {
+            try {
+                response.setTrailerFields(() -> Map.of(SERVER_TIMING, fases.serverTimingResposta()));
+                response.setHeader("Trailer", SERVER_TIMING);
+            } catch (IllegalStateException e) {
+                // HTTP/1.0 ou conector sem suporte a trailers: fica só o cabeçalho
+            }
+        }
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        FasesRequisicao fases = (FasesRequisicao) request.getAttribute(FasesRequisicao.ATRIBUTO,
+                RequestAttributes.SCOPE_REQUEST);
+        if (fases != null) {
+            TempoServico.vincular(fases.servico);
+            fases.lentidao.vincularThreadAtual();
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object resultado) {
+        // As threads do bulkhead não têm vínculo próprio a preservar
+        TempoServico.restaurar(null);
+    }
+
+    private static boolean aceitaTrailers(HttpServletRequest request) {
+        String te = request.getHeader("TE");
+        return te != null && te.toLowerCase().contains("trailers");
+    }
+
+    /**
+     * Nome da view para as métricas: redirecionamentos agrupados, fragmentos sem espaços
+     */
+    public static String viewParaMetrica(ModelAndView modelAndView) {
+        if (modelAndView == null || modelAndView.getViewName() == null) {
+            return "nenhuma";
+        }
+        String nome = modelAndView.getViewName();
+        return nome.startsWith("redirect:") ? "redirect" : nome.replace(" ", "");
+    }
+}
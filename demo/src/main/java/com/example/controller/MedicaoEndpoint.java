@@ -0,0 +1,98 @@
+package com.example.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Medição de uma chamada a um endpoint do ProdutoController.
+ * Registra o tempo no timer "produtos.requisicoes" com o endpoint e o resultado
+ * (sucesso, erro-validacao, nao-encontrado, erro), que o status HTTP sozinho não
+ * distingue quando a resposta é um redirecionamento. Os timers de cada endpoint são
+ * registrados uma vez (Medidores) e reaproveitados pelas medições.
+ * Cada chamada também gera um evento de auditoria estruturado no logger
+ * "com.example.auditoria" (JSON, assíncrono; ver logback-spring.xml).
+ */
+final class MedicaoEndpoint {
+
+    private static final Logger auditoria = LoggerFactory.getLogger("com.example.auditoria");
+
+    /**
+     * Timers de um endpoint, um por resultado
+     */
+    static final class Medidores {
+
+        private final String endpoint;
+        private final Timer sucesso;
+        private final Timer erroValidacao;
+        private final Timer naoEncontrado;
+        private final Timer erro;
+
+        Medidores(MeterRegistry registro, String endpoint) {
+            this.endpoint = endpoint;
+            this.sucesso = timer(registro, endpoint, "sucesso");
+            this.erroValidacao = timer(registro, endpoint, "erro-validacao");
+            this.naoEncontrado = timer(registro, endpoint, "nao-encontrado");
+            this.erro = timer(registro, endpoint, "erro");
+        }
+
+        private static Timer timer(MeterRegistry registro, String endpoint, String resultado) {
+            return Timer.builder("produtos.requisicoes")
+                    .description("Tempo de atendimento dos endpoints de produtos, por resultado")
+                    .tag("endpoint", endpoint)
+                    .tag("resultado", resultado)
+                    .publishPercentileHistogram()
+                    .register(registro);
+        }
+    }
+
+    private final Medidores medidores;
+    private final long inicio = System.nanoTime();
+    private Long produtoId;
+
+    MedicaoEndpoint(Medidores medidores) {
+        this.medidores = medidores;
+    }
+
+    /**
+     * Produto afetado, incluído no evento de auditoria
+     */
+    MedicaoEndpoint produto(Long id) {
+        this.produtoId = id;
+        return this;
+    }
+
+    String sucesso(String view) {
+        return concluir("sucesso", medidores.sucesso, view);
+    }
+
+    String erroValidacao(String view) {
+        return concluir("erro-validacao", medidores.erroValidacao, view);
+    }
+
+    String naoEncontrado(String view) {
+        return concluir("nao-encontrado", medidores.naoEncontrado, view);
+    }
+
+    String erro(String view) {
+        return concluir("erro", medidores.erro, view);
+    }
+
+    private String concluir(String resultado, Timer timer, String view) {
+        long duracao = System.nanoTime() - inicio;
+        timer.record(duracao, TimeUnit.NANOSECONDS);
+        auditoria.atInfo()
+                .setMessage("produtos.acao")
+                .addKeyValue("endpoint", medidores.endpoint)
+                .addKeyValue("resultado", resultado)
+                .addKeyValue("produtoId", produtoId)
+                .addKeyValue("view", view)
+                .addKeyValue("duracaoMs", TimeUnit.NANOSECONDS.toMillis(duracao))
+                .log();
+        return view;
+    }
+}
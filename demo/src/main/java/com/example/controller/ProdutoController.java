@@ -1,17 +1,43 @@
 package com.example.controller;
 
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import com.example.config.Bulkhead;
 import com.example.model.Produto;
 import com.example.service.ProdutoService;
+import com.example.service.ResultadoValidacao;
 
 /**
  * Controlador para gerenciar operações de produtos.
@@ -19,17 +45,77 @@ import com.example.service.ProdutoService;
  */
 @Controller
 @RequestMapping("/produtos")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ProdutoController {
 
+    /**
+     * Cabeçalho enviado pelo JavaScript das páginas para pedir respostas parciais (fragmentos)
+     */
+    static final String CABECALHO_PARCIAL = "X-Requested-With=fetch";
+
+    /**
+     * Cabeçalho de idempotência para clientes de API; o form.html envia o campo oculto equivalente
+     */
+    static final String CABECALHO_IDEMPOTENCIA = "Idempotency-Key";
+    static final String CAMPO_IDEMPOTENCIA = "chaveIdempotencia";
+
     @Autowired
     private ProdutoService produtoService;
 
+    @Value("${produtos.listagem.lote:50}")
+    private int tamanhoLote = 50;
+
+    // Leituras e escritas rodam em compartimentos separados (ver BulkheadConfig);
+    // sem o contexto Spring, executam na própria thread
+    @Autowired
+    @Qualifier("bulkheadLeitura")
+    private Bulkhead leituras = Bulkhead.direto("leitura");
+
+    @Autowired
+    @Qualifier("bulkheadEscrita")
+    private Bulkhead escritas = Bulkhead.direto("escrita");
+
+    @Autowired(required = false)
+    private MeterRegistry registro = Metrics.globalRegistry;
+
+    // Timers de cada endpoint, registrados no primeiro uso e reaproveitados a cada chamada
+    private final Map<String, MedicaoEndpoint.Medidores> medidores = new ConcurrentHashMap<>();
+
+    private MedicaoEndpoint medir(String endpoint) {
+        return new MedicaoEndpoint(medidores.computeIfAbsent(endpoint,
+                nome -> new MedicaoEndpoint.Medidores(registro, nome)));
+    }
+
     /**
-     * Exibe lista de todos os produtos
+     * Exibe lista de todos os produtos.
+     * O catálogo é percorrido sem cópia e a resposta é descarregada a cada lote de
+     * linhas, para que o tempo até o primeiro byte não cresça com o catálogo.
+     * Fica fora do bulkhead de leitura: o handler só monta o iterador, e o custo de percorrer
+     * o catálogo está na renderização, na thread da requisição; quem limita a concorrência
+     * da listagem é o controle de admissão (AdmissaoFilter).
+     * Pelo mesmo motivo a medição só é concluída ao fim da requisição, depois da renderização:
+     * sucesso se o template percorreu o catálogo inteiro, erro se a renderização foi interrompida.
      */
     @GetMapping("/listar")
-    public String listar(Model model) {
-        model.addAttribute("produtos", produtoService.listarTodos());
+    public String listar(Model model, HttpServletResponse response) {
+        MedicaoEndpoint medicao = medir("listar");
+        RenderizacaoEmLotes<Produto> produtos =
+                new RenderizacaoEmLotes<>(produtoService.iterarTodos(), tamanhoLote, response::flushBuffer);
+        model.addAttribute("produtos", produtos);
+        model.addAttribute("vazio", produtoService.contarTodos() == 0);
+        RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        if (requisicao == null) {
+            // Chamada direta, fora do DispatcherServlet: não há renderização a esperar
+            return medicao.sucesso("listar");
+        }
+        requisicao.registerDestructionCallback(MedicaoEndpoint.class.getName() + ".listar", () -> {
+            produtos.close();
+            if (produtos.isConcluida()) {
+                medicao.sucesso("listar");
+            } else {
+                medicao.erro("listar");
+            }
+        }, RequestAttributes.SCOPE_REQUEST);
         return "listar";
     }
 
@@ -39,127 +125,195 @@ public class ProdutoController {
     @GetMapping("/cadastrar")
     public String cadastrarForm(Model model) {
         model.addAttribute("produto", new Produto());
+        model.addAttribute(CAMPO_IDEMPOTENCIA, UUID.randomUUID().toString());
         return "form";
     }
 
     /**
      * Salva novo produto ou atualiza existente
      * Implementa tratamento seguro de erros sem exposição de informações internas
+     * Envios repetidos com a mesma chave de idempotência não duplicam o produto
      */
     @PostMapping("/salvar")
-    public String salvar(@ModelAttribute Produto produto, RedirectAttributes redirectAttributes) {
-        try {
-            // Validação básica antes de processar
-            if (produto == null) {
-                redirectAttributes.addFlashAttribute("erro", "Dados do produto inválidos. Por favor, preencha todos os campos.");
-                return "redirect:/produtos/cadastrar";
+    public WebAsyncTask<String> salvar(@ModelAttribute Produto produto,
+                                       @RequestHeader(name = CABECALHO_IDEMPOTENCIA, required = false) String cabecalho,
+                                       @RequestParam(name = CAMPO_IDEMPOTENCIA, required = false) String campo,
+                                       RedirectAttributes redirectAttributes) {
+        MedicaoEndpoint medicao = medir("salvar");
+        return escritas.executar(() -> {
+            try {
+                ResultadoValidacao resultado = produtoService.tentarSalvar(produto, chaveIdempotencia(cabecalho, campo));
+                if (resultado.isValido()) {
+                    redirectAttributes.addFlashAttribute("sucesso", "Produto salvo com sucesso!");
+                    return medicao.produto(produto.getId()).sucesso("redirect:/produtos/listar");
+                }
+
+                // Exibe mensagem de validação amigável ao usuário
+                redirectAttributes.addFlashAttribute("erro", resultado.getMensagem());
+                redirectAttributes.addFlashAttribute("produto", produto);
+                return medicao.erroValidacao("redirect:/produtos/cadastrar");
+
+            } catch (Exception e) {
+                // Erro inesperado - mensagem genérica para segurança
+                redirectAttributes.addFlashAttribute("erro", "Erro ao processar a solicitação. Por favor, tente novamente.");
+                redirectAttributes.addFlashAttribute("produto", produto);
+                return medicao.erro("redirect:/produtos/cadastrar");
             }
+        });
+    }
 
-            produtoService.salvar(produto);
-            redirectAttributes.addFlashAttribute("sucesso", "Produto salvo com sucesso!");
-            return "redirect:/produtos/listar";
-            
-        } catch (IllegalArgumentException e) {
-            // Exibe mensagem de validação amigável ao usuário
-            String mensagem = normalizarMensagemErro(e.getMessage());
-            redirectAttributes.addFlashAttribute("erro", mensagem);
-            redirectAttributes.addFlashAttribute("produto", produto);
-            return "redirect:/produtos/cadastrar";
-            
-        } catch (Exception e) {
-            // Erro inesperado - mensagem genérica para segurança
-            redirectAttributes.addFlashAttribute("erro", "Erro ao processar a solicitação. Por favor, tente novamente.");
-            redirectAttributes.addFlashAttribute("produto", produto);
-            return "redirect:/produtos/cadastrar";
-        }
+    /**
+     * Variante parcial de salvar, usada pelo form.html via fetch.
+     * Responde 204 com o ID salvo no cabeçalho X-Produto-Id, sem renderizar nada, ou com a área
+     * de alertas do formulário (422). Aberto a partir da listagem, o form.html volta a ela pelo
+     * histórico e a listagem busca só a linha salva em /produtos/linha/{id}.
+     */
+    @PostMapping(value = "/salvar", headers = CABECALHO_PARCIAL)
+    public WebAsyncTask<Object> salvarParcial(@ModelAttribute Produto produto,
+                                              @RequestHeader(name = CABECALHO_IDEMPOTENCIA, required = false) String cabecalho,
+                                              @RequestParam(name = CAMPO_IDEMPOTENCIA, required = false) String campo,
+                                              Model model, HttpServletResponse response) {
+        MedicaoEndpoint medicao = medir("salvar-parcial");
+        return escritas.executar(() -> {
+            try {
+                ResultadoValidacao resultado = produtoService.tentarSalvar(produto, chaveIdempotencia(cabecalho, campo));
+                if (resultado.isValido()) {
+                    medicao.produto(produto.getId()).sucesso(null);
+                    return ResponseEntity.noContent().header("X-Produto-Id", String.valueOf(produto.getId())).build();
+                }
+
+                model.addAttribute("erro", resultado.getMensagem());
+                response.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
+                return medicao.erroValidacao("form :: alertas");
+
+            } catch (Exception e) {
+                model.addAttribute("erro", "Erro ao processar a solicitação. Por favor, tente novamente.");
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                return medicao.erro("form :: alertas");
+            }
+        });
     }
 
     /**
      * Exibe formulário para editar produto existente
      */
     @GetMapping("/editar/{id}")
-    public String editarForm(@PathVariable Long id, Model model, RedirectAttributes redirectAttributes) {
-        try {
-            if (id == null || id <= 0) {
-                redirectAttributes.addFlashAttribute("erro", "ID do produto inválido.");
-                return "redirect:/produtos/listar";
-            }
+    public WebAsyncTask<String> editarForm(@PathVariable Long id, Model model, RedirectAttributes redirectAttributes) {
+        MedicaoEndpoint medicao = medir("editar").produto(id);
+        return leituras.executar(() -> {
+            try {
+                if (id == null || id <= 0) {
+                    redirectAttributes.addFlashAttribute("erro", "ID do produto inválido.");
+                    return medicao.erroValidacao("redirect:/produtos/listar");
+                }
 
-            var produto = produtoService.buscarPorId(id);
-            if (produto.isPresent()) {
-                model.addAttribute("produto", produto.get());
-                return "form";
+                var produto = produtoService.buscarPorId(id);
+                if (produto.isPresent()) {
+                    model.addAttribute("produto", produto.get());
+                    model.addAttribute(CAMPO_IDEMPOTENCIA, UUID.randomUUID().toString());
+                    return medicao.sucesso("form");
+                }
+                redirectAttributes.addFlashAttribute("erro", "Produto não encontrado. Ele pode ter sido removido.");
+                return medicao.naoEncontrado("redirect:/produtos/listar");
+
+            } catch (Exception e) {
+                redirectAttributes.addFlashAttribute("erro", "Erro ao carregar o produto. Tente novamente.");
+                return medicao.erro("redirect:/produtos/listar");
             }
-            redirectAttributes.addFlashAttribute("erro", "Produto não encontrado. Ele pode ter sido removido.");
-            return "redirect:/produtos/listar";
-            
-        } catch (Exception e) {
-            redirectAttributes.addFlashAttribute("erro", "Erro ao carregar o produto. Tente novamente.");
-            return "redirect:/produtos/listar";
-        }
+        });
     }
 
     /**
      * Deleta um produto por ID com validação segura
      */
     @GetMapping("/excluir/{id}")
-    public String excluir(@PathVariable Long id, RedirectAttributes redirectAttributes) {
-        try {
-            if (id == null || id <= 0) {
-                redirectAttributes.addFlashAttribute("erro", "ID do produto inválido.");
-                return "redirect:/produtos/listar";
-            }
+    public WebAsyncTask<String> excluir(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+        MedicaoEndpoint medicao = medir("excluir").produto(id);
+        return escritas.executar(() -> {
+            try {
+                if (id == null || id <= 0) {
+                    redirectAttributes.addFlashAttribute("erro", "ID do produto inválido.");
+                    return medicao.erroValidacao("redirect:/produtos/listar");
+                }
 
-            if (produtoService.excluir(id)) {
-                redirectAttributes.addFlashAttribute("sucesso", "Produto removido do estoque com sucesso!");
-            } else {
+                if (produtoService.excluir(id)) {
+                    redirectAttributes.addFlashAttribute("sucesso", "Produto removido do estoque com sucesso!");
+                    return medicao.sucesso("redirect:/produtos/listar");
+                }
                 redirectAttributes.addFlashAttribute("erro", "Produto não encontrado. Ele pode ter sido removido anteriormente.");
+                return medicao.naoEncontrado("redirect:/produtos/listar");
+
+            } catch (Exception e) {
+                redirectAttributes.addFlashAttribute("erro", "Erro ao remover o produto. Tente novamente.");
+                return medicao.erro("redirect:/produtos/listar");
             }
-            return "redirect:/produtos/listar";
-            
-        } catch (Exception e) {
-            redirectAttributes.addFlashAttribute("erro", "Erro ao remover o produto. Tente novamente.");
-            return "redirect:/produtos/listar";
-        }
+        });
     }
 
     /**
-     * Normaliza mensagem de erro para ser amigável ao usuário
-     * Remove detalhes técnicos e expõe apenas informações relevantes
+     * Variante parcial de excluir, usada pelo listar.html via fetch.
+     * Responde apenas com a área de alertas; o status indica se a linha deve sair da tabela.
      */
-    private String normalizarMensagemErro(String mensagemOriginal) {
-        if (mensagemOriginal == null || mensagemOriginal.trim().isEmpty()) {
-            return "Dados inválidos. Por favor, verifique e tente novamente.";
-        }
-
-        // Mapeamento de mensagens técnicas para mensagens amigáveis
-        String mensagem = mensagemOriginal.toLowerCase();
-
-        if (mensagem.contains("nome") && (mensagem.contains("vazio") || mensagem.contains("espaço"))) {
-            return "Nome do produto é obrigatório. Por favor, insira um nome válido.";
-        }
-
-        if (mensagem.contains("preço") && mensagem.contains("negativo")) {
-            return "Preço deve ser um valor positivo. Por favor, insira um preço maior que zero.";
-        }
-
-        if (mensagem.contains("preço") && mensagem.contains("zero")) {
-            return "Preço deve ser maior que zero.";
-        }
-
-        if (mensagem.contains("preço") && (mensagem.contains("null") || mensagem.contains("nulo"))) {
-            return "Preço é obrigatório. Por favor, insira um valor.";
-        }
+    @GetMapping(value = "/excluir/{id}", headers = CABECALHO_PARCIAL)
+    public WebAsyncTask<String> excluirParcial(@PathVariable Long id, Model model, HttpServletResponse response) {
+        MedicaoEndpoint medicao = medir("excluir-parcial").produto(id);
+        return escritas.executar(() -> {
+            try {
+                if (id == null || id <= 0) {
+                    model.addAttribute("erro", "ID do produto inválido.");
+                    response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                    return medicao.erroValidacao("listar :: alertas");
+                }
+                if (produtoService.excluir(id)) {
+                    model.addAttribute("sucesso", "Produto removido do estoque com sucesso!");
+                    return medicao.sucesso("listar :: alertas");
+                }
+                model.addAttribute("erro", "Produto não encontrado. Ele pode ter sido removido anteriormente.");
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return medicao.naoEncontrado("listar :: alertas");
+            } catch (Exception e) {
+                model.addAttribute("erro", "Erro ao remover o produto. Tente novamente.");
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                return medicao.erro("listar :: alertas");
+            }
+        });
+    }
 
-        if (mensagem.contains("nome") && (mensagem.contains("null") || mensagem.contains("nulo"))) {
-            return "Nome do produto é obrigatório.";
-        }
+    /**
+     * Fragmento de uma única linha da tabela de produtos; a listagem o usa para inserir ou
+     * substituir a linha do produto salvo pelo formulário
+     */
+    @GetMapping("/linha/{id}")
+    public WebAsyncTask<String> linha(@PathVariable Long id, Model model, HttpServletResponse response) {
+        MedicaoEndpoint medicao = medir("linha").produto(id);
+        return leituras.executar(() -> {
+            var produto = produtoService.buscarPorId(id);
+            if (produto.isPresent()) {
+                model.addAttribute("produtos", List.of(produto.get()));
+                return medicao.sucesso("listar :: linha");
+            }
+            model.addAttribute("erro", "Produto não encontrado. Ele pode ter sido removido.");
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return medicao.naoEncontrado("listar :: alertas");
+        });
+    }
 
-        if (mensagem.contains("tamanho") || mensagem.contains("exceder") || mensagem.contains("limite")) {
-            return "Nome do produto muito longo. Use no máximo 255 caracteres.";
-        }
+    /**
+     * O cabeçalho tem precedência sobre o campo do formulário
+     */
+    private static String chaveIdempotencia(String cabecalho, String campo) {
+        return cabecalho != null && !cabecalho.isBlank() ? cabecalho : campo;
+    }
 
-        // Fallback seguro para erros desconhecidos
-        return "Dados inválidos. Por favor, verifique e tente novamente.";
+    /**
+     * Compartimento cheio: recusa imediata, sem ocupar threads de outro compartimento
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    @ResponseBody
+    public String compartimentoCheio(HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType("text/plain;charset=UTF-8");
+        return "Servidor sobrecarregado. Tente novamente em instantes.";
     }
 }
@@ -0,0 +1,229 @@
+package com.example.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ServerWebExchange;
+import org.thymeleaf.spring6.context.webflux.ReactiveDataDriverContextVariable;
+
+import com.example.model.Produto;
+import com.example.service.ProdutoServiceReativo;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Controlador reativo (WebFlux) para operações de produtos.
+ * Ativo apenas quando a aplicação sobe com o perfil "reativo"; mantém as mesmas
+ * rotas e templates do ProdutoController, sem sessão e sem thread por requisição,
+ * inclusive as variantes parciais (X-Requested-With: fetch) usadas pelos scripts
+ * de listar.html e form.html.
+ */
+@Controller
+@RequestMapping("/produtos")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ProdutoControllerReativo {
+
+    @Autowired
+    private ProdutoServiceReativo produtoService;
+
+    @Value("${produtos.listagem.lote:50}")
+    private int tamanhoLote;
+
+    /**
+     * Exibe lista de todos os produtos, renderizada em lotes conforme o Flux emite
+     */
+    @GetMapping("/listar")
+    public Mono<String> listar(@RequestParam(name = "msg", required = false) String msg, Model model) {
+        adicionarMensagem(msg, model);
+        // Um único percurso do catálogo: o da renderização; o aviso de vazio vem do contador
+        return produtoService.contarTodos()
+                .map(quantidade -> {
+                    model.addAttribute("vazio", quantidade == 0);
+                    model.addAttribute("produtos",
+                            new ReactiveDataDriverContextVariable(produtoService.listarTodos(), tamanhoLote));
+                    return "listar";
+                });
+    }
+
+    /**
+     * Exibe formulário para criar novo produto
+     */
+    @GetMapping("/cadastrar")
+    public String cadastrarForm(Model model) {
+        model.addAttribute("produto", new Produto());
+        model.addAttribute(ProdutoController.CAMPO_IDEMPOTENCIA, UUID.randomUUID().toString());
+        return "form";
+    }
+
+    /**
+     * Salva novo produto ou atualiza existente.
+     * Erros de validação são exibidos no próprio formulário, sem redirecionamento.
+     */
+    @PostMapping("/salvar")
+    public Mono<String> salvar(@ModelAttribute Produto produto,
+                               @RequestHeader(name = ProdutoController.CABECALHO_IDEMPOTENCIA, required = false) String cabecalho,
+                               ServerWebExchange exchange, Model model) {
+        return chaveIdempotencia(cabecalho, exchange)
+                .flatMap(valor -> produtoService.salvar(produto, valor))
+                .map(resultado -> {
+                    if (resultado.isValido()) {
+                        return "redirect:/produtos/listar?msg=salvo";
+                    }
+                    model.addAttribute("erro", resultado.getMensagem());
+                    model.addAttribute("produto", produto);
+                    model.addAttribute(ProdutoController.CAMPO_IDEMPOTENCIA, UUID.randomUUID().toString());
+                    return "form";
+                })
+                .onErrorResume(e -> {
+                    model.addAttribute("erro", "Erro ao processar a solicitação. Por favor, tente novamente.");
+                    model.addAttribute("produto", produto);
+                    return Mono.just("form");
+                });
+    }
+
+    /**
+     * Variante parcial de salvar, usada pelo form.html via fetch.
+     * Com sucesso, o ID salvo vai no cabeçalho X-Produto-Id e o corpo é a área de alertas vazia;
+     * erros de validação respondem a área de alertas com 422.
+     */
+    @PostMapping(value = "/salvar", headers = ProdutoController.CABECALHO_PARCIAL)
+    public Mono<String> salvarParcial(@ModelAttribute Produto produto,
+                                      @RequestHeader(name = ProdutoController.CABECALHO_IDEMPOTENCIA, required = false) String cabecalho,
+                                      ServerWebExchange exchange, Model model) {
+        ServerHttpResponse response = exchange.getResponse();
+        return chaveIdempotencia(cabecalho, exchange)
+                .flatMap(valor -> produtoService.salvar(produto, valor))
+                .map(resultado -> {
+                    if (resultado.isValido()) {
+                        response.getHeaders().set("X-Produto-Id", String.valueOf(produto.getId()));
+                    } else {
+                        model.addAttribute("erro", resultado.getMensagem());
+                        response.setStatusCode(HttpStatus.UNPROCESSABLE_ENTITY);
+                    }
+                    return "form :: alertas";
+                })
+                .onErrorResume(e -> {
+                    model.addAttribute("erro", "Erro ao processar a solicitação. Por favor, tente novamente.");
+                    response.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
+                    return Mono.just("form :: alertas");
+                });
+    }
+
+    /**
+     * Exibe formulário para editar produto existente
+     */
+    @GetMapping("/editar/{id}")
+    public Mono<String> editarForm(@PathVariable Long id, Model model) {
+        if (id == null || id <= 0) {
+            return Mono.just("redirect:/produtos/listar?msg=id-invalido");
+        }
+        return produtoService.buscarPorId(id)
+                .map(produto -> {
+                    model.addAttribute("produto", produto);
+                    model.addAttribute(ProdutoController.CAMPO_IDEMPOTENCIA, UUID.randomUUID().toString());
+                    return "form";
+                })
+                .defaultIfEmpty("redirect:/produtos/listar?msg=nao-encontrado");
+    }
+
+    /**
+     * Deleta um produto por ID
+     */
+    @GetMapping("/excluir/{id}")
+    public Mono<String> excluir(@PathVariable Long id) {
+        if (id == null || id <= 0) {
+            return Mono.just("redirect:/produtos/listar?msg=id-invalido");
+        }
+        return produtoService.excluir(id)
+                .map(removido -> removido
+                        ? "redirect:/produtos/listar?msg=removido"
+                        : "redirect:/produtos/listar?msg=nao-encontrado")
+                .onErrorReturn("redirect:/produtos/listar?msg=erro-remocao");
+    }
+
+    /**
+     * Variante parcial de excluir, usada pelo listar.html via fetch.
+     * Responde apenas com a área de alertas; o status indica se a linha deve sair da tabela.
+     */
+    @GetMapping(value = "/excluir/{id}", headers = ProdutoController.CABECALHO_PARCIAL)
+    public Mono<String> excluirParcial(@PathVariable Long id, ServerWebExchange exchange, Model model) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (id == null || id <= 0) {
+            return Mono.just(alertas(model, response, "erro", "ID do produto inválido.", HttpStatus.BAD_REQUEST));
+        }
+        return produtoService.excluir(id)
+                .map(removido -> removido
+                        ? alertas(model, response, "sucesso", "Produto removido do estoque com sucesso!", HttpStatus.OK)
+                        : alertas(model, response, "erro",
+                                "Produto não encontrado. Ele pode ter sido removido anteriormente.", HttpStatus.NOT_FOUND))
+                .onErrorResume(e -> Mono.just(alertas(model, response, "erro",
+                        "Erro ao remover o produto. Tente novamente.", HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    /**
+     * Fragmento de uma única linha da tabela de produtos; a listagem o usa para inserir ou
+     * substituir a linha do produto salvo pelo formulário
+     */
+    @GetMapping("/linha/{id}")
+    public Mono<String> linha(@PathVariable Long id, ServerWebExchange exchange, Model model) {
+        return produtoService.buscarPorId(id)
+                .map(produto -> {
+                    model.addAttribute("produtos", List.of(produto));
+                    return "listar :: linha";
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> alertas(model, exchange.getResponse(), "erro",
+                        "Produto não encontrado. Ele pode ter sido removido.", HttpStatus.NOT_FOUND)));
+    }
+
+    private static String alertas(Model model, ServerHttpResponse response, String tipo, String mensagem,
+                                  HttpStatus status) {
+        model.addAttribute(tipo, mensagem);
+        response.setStatusCode(status);
+        return "listar :: alertas";
+    }
+
+    /**
+     * O cabeçalho tem precedência; no WebFlux o @RequestParam não lê o corpo do formulário,
+     * então o campo vem do form data
+     */
+    private static Mono<String> chaveIdempotencia(String cabecalho, ServerWebExchange exchange) {
+        Mono<String> chave = cabecalho != null && !cabecalho.isBlank()
+                ? Mono.just(cabecalho)
+                : exchange.getFormData().mapNotNull(form -> form.getFirst(ProdutoController.CAMPO_IDEMPOTENCIA));
+        return chave.defaultIfEmpty("");
+    }
+
+    /**
+     * Traduz o código de mensagem da URL para o texto exibido na listagem.
+     * Substitui os flash attributes, que no WebFlux exigiriam sessão.
+     */
+    private void adicionarMensagem(String msg, Model model) {
+        if (msg == null) {
+            return;
+        }
+        switch (msg) {
+            case "salvo" -> model.addAttribute("sucesso", "Produto salvo com sucesso!");
+            case "removido" -> model.addAttribute("sucesso", "Produto removido do estoque com sucesso!");
+            case "nao-encontrado" -> model.addAttribute("erro", "Produto não encontrado. Ele pode ter sido removido.");
+            case "id-invalido" -> model.addAttribute("erro", "ID do produto inválido.");
+            case "erro-remocao" -> model.addAttribute("erro", "Erro ao remover o produto. Tente novamente.");
+            default -> {
+                // Código desconhecido: ignora para não refletir entrada do usuário
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.controller;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Iterável que descarrega a resposta a cada lote de elementos consumidos.
+ * Usado na listagem: enquanto o Thymeleaf percorre o catálogo no th:each, as linhas
+ * já renderizadas são enviadas ao navegador, sem esperar a página inteira.
+ * Ao fechar, fecha os iteradores da origem que sejam AutoCloseable e não tenham se esgotado
+ * (renderização interrompida), encerrando a medição da iteração no serviço.
+ */
+public class RenderizacaoEmLotes<T> implements Iterable<T>, AutoCloseable {
+
+    private final Iterable<T> origem;
+    private final int tamanhoLote;
+    private final Flushable saida;
+    private final List<AutoCloseable> abertos = new ArrayList<>();
+    private boolean concluida;
+
+    public RenderizacaoEmLotes(Iterable<T> origem, int tamanhoLote, Flushable saida) {
+        if (tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Tamanho do lote deve ser maior que zero");
+        }
+        this.origem = origem;
+        this.tamanhoLote = tamanhoLote;
+        this.saida = saida;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        Iterator<T> iterador = origem.iterator();
+        if (iterador instanceof AutoCloseable fechavel) {
+            abertos.add(fechavel);
+        }
+        return new Iterator<T>() {
+            private int consumidos;
+            private int descarregadosAte;
+
+            @Override
+            public boolean hasNext() {
+                // Descarrega o lote anterior antes de buscar o próximo elemento, para que
+                // a linha recém-consumida já tenha sido escrita pelo template
+                if (consumidos - descarregadosAte >= tamanhoLote) {
+                    descarregadosAte = consumidos;
+                    descarregar();
+                }
+                if (iterador.hasNext()) {
+                    return true;
+                }
+                concluida = true;
+                return false;
+            }
+
+            @Override
+            public T next() {
+                T elemento = iterador.next();
+                consumidos++;
+                return elemento;
+            }
+        };
+    }
+
+    /**
+     * Se algum iterador chegou ao fim, isto é, a renderização percorreu a origem inteira
+     */
+    public boolean isConcluida() {
+        return concluida;
+    }
+
+    @Override
+    public void close() {
+        try {
+            for (AutoCloseable fechavel : abertos) {
+                fechavel.close();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao encerrar a iteração da listagem", e);
+        } finally {
+            abertos.clear();
+        }
+    }
+
+    private void descarregar() {
+        try {
+            saida.flush();
+        } catch (IOException e) {
+            // Cliente desconectou: interrompe a renderização
+            throw new UncheckedIOException("Falha ao enviar lote da listagem", e);
+        }
+    }
+}
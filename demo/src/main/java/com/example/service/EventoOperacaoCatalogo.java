@@ -0,0 +1,62 @@
+package com.example.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma operação do ProdutoService.
+ * A duração vem do próprio evento (begin/end); sem gravação ativa o custo é só a alocação.
+ */
+@Name("com.example.OperacaoCatalogo")
+@Label("Operação no Catálogo")
+@Category({ "Lojinha", "Catálogo" })
+@Description("Operação do ProdutoService com o tamanho e a versão do catálogo ao final")
+@StackTrace(false)
+class EventoOperacaoCatalogo extends Event {
+
+    @Label("Operação")
+    String operacao;
+
+    @Label("ID do Produto")
+    long produtoId;
+
+    @Label("Tamanho do Catálogo")
+    int tamanhoCatalogo;
+
+    @Label("Versão do Catálogo")
+    @Description("Incrementada a cada inclusão, alteração ou exclusão")
+    long versaoCatalogo;
+
+    // Início também usado pelo timer e pelo TempoServico (campo transient não é gravado)
+    transient long inicio;
+
+    // Medição de lentidão da mesma operação, quando monitorada
+    transient RegistroLentidao.Operacao lentidao = RegistroLentidao.Operacao.NENHUMA;
+
+    static EventoOperacaoCatalogo iniciar(String operacao) {
+        EventoOperacaoCatalogo evento = new EventoOperacaoCatalogo();
+        evento.operacao = operacao;
+        evento.inicio = System.nanoTime();
+        evento.begin();
+        return evento;
+    }
+
+    /**
+     * Encerra o evento e devolve a duração da operação em nanossegundos
+     */
+    long concluir(Long produtoId, int tamanhoCatalogo, long versaoCatalogo) {
+        long duracao = System.nanoTime() - inicio;
+        end();
+        if (shouldCommit()) {
+            this.produtoId = produtoId != null ? produtoId : 0;
+            this.tamanhoCatalogo = tamanhoCatalogo;
+            this.versaoCatalogo = versaoCatalogo;
+            commit();
+        }
+        return duracao;
+    }
+}
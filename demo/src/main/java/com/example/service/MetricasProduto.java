@@ -0,0 +1,64 @@
+package com.example.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Medidores do ProdutoService, criados uma única vez para não haver busca no registro
+ * a cada chamada. Os timers publicam histogramas para cálculo de percentis no Prometheus.
+ */
+class MetricasProduto {
+
+    /**
+     * Medidores sem registro (composto vazio): sem o contexto Spring nada é publicado
+     */
+    static final MetricasProduto SEM_REGISTRO = new MetricasProduto(new CompositeMeterRegistry(), null);
+
+    final Timer listarTodos;
+    final Timer buscarPorId;
+    final Timer salvar;
+    final Timer excluir;
+    private final Map<ResultadoValidacao, Counter> falhasValidacao = new EnumMap<>(ResultadoValidacao.class);
+
+    /**
+     * @param catalogo serviço cujo tamanho vira gauge; nulo para não publicar o tamanho
+     */
+    MetricasProduto(MeterRegistry registro, ProdutoService catalogo) {
+        listarTodos = timer(registro, "listarTodos");
+        buscarPorId = timer(registro, "buscarPorId");
+        salvar = timer(registro, "salvar");
+        excluir = timer(registro, "excluir");
+        for (ResultadoValidacao resultado : ResultadoValidacao.values()) {
+            if (!resultado.isValido()) {
+                falhasValidacao.put(resultado, Counter.builder("produtos.validacao.falhas")
+                        .description("Produtos rejeitados na validação, por motivo")
+                        .tag("motivo", resultado.name())
+                        .register(registro));
+            }
+        }
+        if (catalogo != null) {
+            // Referência fraca ao serviço: o registro não o mantém vivo
+            Gauge.builder("produtos.catalogo.tamanho", catalogo, ProdutoService::contarTodos)
+                    .description("Quantidade de produtos no catálogo")
+                    .register(registro);
+        }
+    }
+
+    void falhaValidacao(ResultadoValidacao resultado) {
+        falhasValidacao.get(resultado).increment();
+    }
+
+    private static Timer timer(MeterRegistry registro, String operacao) {
+        return Timer.builder("produtos.servico")
+                .description("Tempo das operações do ProdutoService")
+                .tag("operacao", operacao)
+                .publishPercentileHistogram()
+                .register(registro);
+    }
+}
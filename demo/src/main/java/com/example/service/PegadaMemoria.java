@@ -0,0 +1,184 @@
+package com.example.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+import org.openjdk.jol.vm.VirtualMachine;
+
+import com.example.model.Produto;
+
+/**
+ * Pegada de memória do catálogo, medida com o JOL no layout real da JVM em execução
+ * (cabeçalhos, oops comprimidos, alinhamento).
+ * Por produto entram o Produto, o Long do ID, o Double do preço, a String do nome com o seu
+ * byte[] e a entrada no ConcurrentSkipListMap (nó e, em média, um terço de nó de índice).
+ * As médias saem de uma amostra do catálogo, buscada por ID (O(amostra · log n), sem percorrer
+ * o mapa); a medição exata percorre o grafo inteiro e, por alocar proporcionalmente ao catálogo,
+ * fica fora do endpoint HTTP.
+ */
+public class PegadaMemoria {
+
+    /**
+     * Fração esperada de nós de índice por entrada no ConcurrentSkipListMap (1/4 + 1/16 + ...)
+     */
+    private static final double INDICES_POR_ENTRADA = 1.0 / 3;
+
+    /**
+     * Parte da pegada de um produto, em bytes médios
+     */
+    public record Componente(String nome, String classe, double bytes) {
+    }
+
+    /**
+     * @param bytesCatalogo pegada do catálogo inteiro (exata ou estimada pela amostra)
+     * @param capacidadeTeorica produtos que caberiam no heap máximo se ele só guardasse o catálogo
+     * @param projecoes bytes previstos para cada quantidade de produtos
+     */
+    public record Relatorio(String vm, int produtos, int amostra, List<Componente> porProduto,
+            double bytesPorProduto, long bytesFixos, long bytesCatalogo, boolean exato,
+            long heapMaximo, long capacidadeTeorica, Map<Long, Long> projecoes, String layoutProduto) {
+
+        /**
+         * Relatório em texto, para console e arquivos
+         */
+        public String formatar() {
+            StringBuilder texto = new StringBuilder();
+            texto.append(String.format(Locale.ROOT, "Catálogo: %d produtos, %s (%s; amostra de %d)%n",
+                    produtos, bytes(bytesCatalogo), exato ? "exato" : "estimado", amostra));
+            texto.append(String.format(Locale.ROOT, "Por produto: %.1f B%n", bytesPorProduto));
+            for (Componente componente : porProduto) {
+                texto.append(String.format(Locale.ROOT, "  %-22s %-45s %8.1f B%n",
+                        componente.nome(), componente.classe(), componente.bytes()));
+            }
+            texto.append(String.format(Locale.ROOT, "Fixo (mapa vazio): %d B%n", bytesFixos));
+            texto.append("Projeções:\n");
+            projecoes.forEach((quantidade, total) ->
+                    texto.append(String.format(Locale.ROOT, "  %,14d produtos  %s%n", quantidade, bytes(total))));
+            texto.append(String.format(Locale.ROOT, "Heap máximo: %s (limite teórico de %,d produtos, sem margem)%n",
+                    bytes(heapMaximo), capacidadeTeorica));
+            return texto.append('\n').append(layoutProduto).append('\n').append(vm).toString();
+        }
+
+        private static String bytes(long valor) {
+            return String.format(Locale.ROOT, "%,d B (%.1f MiB)", valor, valor / (1024.0 * 1024));
+        }
+    }
+
+    private final ProdutoService service;
+    private final int tamanhoAmostra;
+
+    public PegadaMemoria(ProdutoService service, int tamanhoAmostra) {
+        if (tamanhoAmostra < 1) {
+            throw new IllegalArgumentException("A amostra da pegada de memória deve ter ao menos um produto");
+        }
+        this.service = service;
+        this.tamanhoAmostra = tamanhoAmostra;
+    }
+
+    /**
+     * Mede o catálogo atual e projeta a pegada para as quantidades informadas
+     *
+     * @param exato percorre o catálogo inteiro em vez de extrapolar a amostra
+     */
+    public Relatorio medir(boolean exato, long... quantidades) {
+        ConcurrentNavigableMap<Long, Produto> catalogo = service.catalogo();
+        int produtos = catalogo.size();
+        VirtualMachine vm = VM.current();
+
+        long produto = ClassLayout.parseClass(Produto.class).instanceSize();
+        long no = ClassLayout.parseClass(classeInterna("Node")).instanceSize();
+        long indice = ClassLayout.parseClass(classeInterna("Index")).instanceSize();
+        double indicesPorEntrada = INDICES_POR_ENTRADA;
+        long bytesFixos = GraphLayout.parseInstance(new ConcurrentSkipListMap<Long, Produto>()).totalSize();
+
+        // Amostra espaçada pelo intervalo de IDs: cada ponto é uma busca no mapa, não um passo da iteração
+        long ids = 0;
+        long precos = 0;
+        long strings = 0;
+        long arrays = 0;
+        int amostrados = 0;
+        Map.Entry<Long, Produto> primeira = catalogo.firstEntry();
+        Map.Entry<Long, Produto> ultima = catalogo.lastEntry();
+        double passo = primeira == null || ultima == null ? 0
+                : ((double) ultima.getKey() - primeira.getKey() + 1) / tamanhoAmostra;
+        Long anterior = null;
+        for (int i = 0; i < tamanhoAmostra && primeira != null; i++) {
+            long alvo = primeira.getKey() + (long) (i * passo);
+            if (anterior != null && alvo <= anterior) {
+                // IDs esparsos: a busca anterior já caiu além deste ponto
+                if (anterior == Long.MAX_VALUE) {
+                    break;
+                }
+                alvo = anterior + 1;
+            }
+            Map.Entry<Long, Produto> entrada = catalogo.ceilingEntry(alvo);
+            if (entrada == null) {
+                break;
+            }
+            anterior = entrada.getKey();
+            Produto atual = entrada.getValue();
+            Long id = atual.getId();
+            // IDs de -128 a 127 vêm do cache de Long e não ocupam memória própria
+            if (id != null && id != Long.valueOf(id.longValue())) {
+                ids += vm.sizeOf(id);
+            }
+            if (atual.getPreco() != null) {
+                precos += vm.sizeOf(atual.getPreco());
+            }
+            if (atual.getNome() != null) {
+                long string = vm.sizeOf(atual.getNome());
+                strings += string;
+                arrays += GraphLayout.parseInstance(atual.getNome()).totalSize() - string;
+            }
+            amostrados++;
+        }
+
+        long bytesCatalogo = 0;
+        if (exato) {
+            GraphLayout grafo = GraphLayout.parseInstance(catalogo);
+            bytesCatalogo = grafo.totalSize();
+            long nosIndice = grafo.getClassCounts().count(classeInterna("Index"));
+            indicesPorEntrada = produtos == 0 ? 0 : (double) nosIndice / produtos;
+        }
+
+        double divisor = Math.max(1, amostrados);
+        List<Componente> componentes = new ArrayList<>();
+        componentes.add(new Componente("produto", Produto.class.getName(), produto));
+        componentes.add(new Componente("id", Long.class.getName(), ids / divisor));
+        componentes.add(new Componente("preco", Double.class.getName(), precos / divisor));
+        componentes.add(new Componente("nome", String.class.getName(), strings / divisor));
+        componentes.add(new Componente("nome (conteúdo)", "byte[]", arrays / divisor));
+        componentes.add(new Componente("entrada do mapa", classeInterna("Node").getName(), no));
+        componentes.add(new Componente("índices do mapa", classeInterna("Index").getName(), indice * indicesPorEntrada));
+        double porProduto = componentes.stream().mapToDouble(Componente::bytes).sum();
+
+        if (!exato) {
+            bytesCatalogo = bytesFixos + Math.round(produtos * porProduto);
+        }
+        Map<Long, Long> projecoes = new LinkedHashMap<>();
+        for (long quantidade : quantidades) {
+            projecoes.put(quantidade, bytesFixos + Math.round(quantidade * porProduto));
+        }
+        long heapMaximo = Runtime.getRuntime().maxMemory();
+
+        return new Relatorio(vm.details(), produtos, amostrados, componentes, porProduto, bytesFixos,
+                bytesCatalogo, exato, heapMaximo, porProduto == 0 ? 0 : (long) (heapMaximo / porProduto),
+                projecoes, ClassLayout.parseClass(Produto.class).toPrintable());
+    }
+
+    private static Class<?> classeInterna(String nome) {
+        try {
+            return Class.forName(ConcurrentSkipListMap.class.getName() + "$" + nome);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Estrutura interna do ConcurrentSkipListMap não encontrada: " + nome, e);
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package com.example.service;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.example.model.Produto;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
  * Camada de serviço para operações de produtos.
  * Fornece funcionalidades CRUD e lógica de negócio para gerenciar produtos.
@@ -16,71 +25,366 @@ import com.example.model.Produto;
 @Service
 public class ProdutoService {
 
-    private final List<Produto> produtos = new ArrayList<>();
+    // Ordenado por ID (ordem de inserção, pois os IDs são crescentes); a iteração
+    // é fracamente consistente e nunca lança ConcurrentModificationException
+    private final ConcurrentNavigableMap<Long, Produto> produtos = new ConcurrentSkipListMap<>();
     private final AtomicLong idGenerator = new AtomicLong(1);
+    private final AtomicLong versao = new AtomicLong();
+
+    /**
+     * Resultado memorizado de um salvamento bem-sucedido: o ID basta para reproduzi-lo
+     */
+    private record SalvamentoRegistrado(ResultadoValidacao resultado, Long id) {
+    }
+
+    /**
+     * Dados recebidos com a chave de idempotência; a repetição só é aceita com os mesmos
+     */
+    private record ImpressaoSalvamento(Long id, String nome, Double preco) {
+    }
+
+    private RegistroIdempotencia<SalvamentoRegistrado> salvamentosRecentes = new RegistroIdempotencia<>(10_000, 600);
+
+    // Sem o contexto Spring (testes, benchmarks) nada é publicado; com ele, o registro do Actuator é injetado
+    private MetricasProduto metricas = MetricasProduto.SEM_REGISTRO;
+
+    // Sem registro de lentidão (fora do contexto Spring ou desabilitado) nada é medido
+    private RegistroLentidao lentidao;
+    private long orcamentoLentidaoMs;
 
     /**
      * Inicializa com dados de exemplo
      */
     public ProdutoService() {
-        produtos.add(new Produto(idGenerator.getAndIncrement(), "Notebook", 3000.0));
-        produtos.add(new Produto(idGenerator.getAndIncrement(), "Mouse", 50.0));
-        produtos.add(new Produto(idGenerator.getAndIncrement(), "Teclado", 150.0));
+        adicionar(new Produto(idGenerator.getAndIncrement(), "Notebook", 3000.0));
+        adicionar(new Produto(idGenerator.getAndIncrement(), "Mouse", 50.0));
+        adicionar(new Produto(idGenerator.getAndIncrement(), "Teclado", 150.0));
     }
 
     /**
-     * Recupera todos os produtos
+     * Recupera todos os produtos (cópia materializada do catálogo)
      */
     public List<Produto> listarTodos() {
-        return new ArrayList<>(produtos);
+        EventoOperacaoCatalogo evento = iniciar("listarTodos");
+        List<Produto> todos = new ArrayList<>(produtos.values());
+        concluir(evento, metricas.listarTodos, null);
+        return todos;
+    }
+
+    /**
+     * Percorre o catálogo sem copiá-lo, para renderização em fluxo.
+     * Produtos incluídos ou removidos durante a iteração podem ou não aparecer.
+     * Cada iterador é medido como a operação listarTodos, da criação até se esgotar; quem pode
+     * abandoná-lo no meio (ex.: cliente desconectado) deve fechá-lo (AutoCloseable) para encerrar a medição.
+     */
+    public Iterable<Produto> iterarTodos() {
+        return () -> new IteracaoCatalogo(true);
+    }
+
+    /**
+     * Iteração medida sem o registro de lentidão, para quem percorre o catálogo trocando de
+     * thread (ProdutoServiceReativo): a Operacao de lentidão é da thread que a inicia
+     */
+    IteracaoCatalogo iterarSemLentidao() {
+        return new IteracaoCatalogo(false);
+    }
+
+    /**
+     * Quantidade de produtos no catálogo.
+     * O size() do ConcurrentSkipListMap soma um contador interno (LongAdder) desde o JDK 10, sem percorrer o mapa.
+     */
+    public int contarTodos() {
+        return produtos.size();
+    }
+
+    /**
+     * Versão do catálogo, incrementada a cada inclusão, alteração ou exclusão
+     */
+    public long versaoCatalogo() {
+        return versao.get();
+    }
+
+    /**
+     * Mapa do catálogo, para a medição de memória (PegadaMemoria); não deve ser alterado
+     */
+    ConcurrentNavigableMap<Long, Produto> catalogo() {
+        return produtos;
     }
 
     /**
      * Encontra produto por ID
      */
     public Optional<Produto> buscarPorId(Long id) {
-        return produtos.stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst();
+        if (id == null) {
+            return Optional.empty();
+        }
+        EventoOperacaoCatalogo evento = iniciar("buscarPorId");
+        Optional<Produto> produto = Optional.ofNullable(produtos.get(id));
+        concluir(evento, metricas.buscarPorId, id);
+        return produto;
     }
 
     /**
      * Salva ou atualiza um produto
+     * Lança IllegalArgumentException se o produto for inválido
      */
     public Produto salvar(Produto produto) {
-        validarProduto(produto);
+        ResultadoValidacao resultado = tentarSalvar(produto);
+        if (!resultado.isValido()) {
+            throw new IllegalArgumentException(resultado.getDescricao());
+        }
+        return produto;
+    }
+
+    /**
+     * Salva ou atualiza um produto sem lançar exceção em caso de dados inválidos
+     * Retorna VALIDO quando o produto foi salvo, ou o código do erro de validação
+     */
+    public ResultadoValidacao tentarSalvar(Produto produto) {
+        EventoOperacaoCatalogo evento = iniciar("salvar");
+        try {
+            return salvarValidado(produto);
+        } finally {
+            concluir(evento, metricas.salvar, produto != null ? produto.getId() : null,
+                    produto != null && produto.getNome() != null ? produto.getNome().length() : -1);
+        }
+    }
+
+    private ResultadoValidacao salvarValidado(Produto produto) {
+        ResultadoValidacao resultado = validar(produto);
+        if (!resultado.isValido()) {
+            metricas.falhaValidacao(resultado);
+            return resultado;
+        }
 
         if (produto.getId() == null) {
             produto.setId(idGenerator.getAndIncrement());
-            produtos.add(produto);
+            adicionar(produto);
         } else {
-            produtos.stream()
-                    .filter(p -> p.getId().equals(produto.getId()))
-                    .findFirst()
-                    .ifPresent(p -> {
-                        p.setNome(produto.getNome());
-                        p.setPreco(produto.getPreco());
-                    });
+            // Troca por uma cópia em vez de alterar o produto guardado: leitores simultâneos
+            // veem nome e preço da mesma atualização, nunca de duas misturadas
+            Produto atualizado = new Produto(produto.getId(), produto.getNome(), produto.getPreco());
+            if (produtos.replace(produto.getId(), atualizado) != null) {
+                versao.incrementAndGet();
+            }
         }
-        return produto;
+        return resultado;
+    }
+
+    /**
+     * Salva com chave de idempotência: repetições da mesma chave (duplo clique,
+     * reenvio do cliente) recebem o resultado original sem gerar novo produto.
+     * A mesma chave com outros dados resulta em CHAVE_REUTILIZADA, sem salvar nada.
+     * Sem chave, equivale a tentarSalvar(produto).
+     *
+     * @throws RegistroIdempotencia.RegistroCheioException se todas as vagas do registro estão
+     *         em execuções em andamento; nada é salvo e o envio pode ser repetido
+     */
+    public ResultadoValidacao tentarSalvar(Produto produto, String chaveIdempotencia) {
+        if (chaveIdempotencia == null || chaveIdempotencia.isBlank()) {
+            return tentarSalvar(produto);
+        }
+        ImpressaoSalvamento impressao = produto == null ? null
+                : new ImpressaoSalvamento(produto.getId(), produto.getNome(), produto.getPreco());
+        SalvamentoRegistrado registrado;
+        try {
+            registrado = salvamentosRecentes.executar(chaveIdempotencia, impressao,
+                    () -> {
+                        ResultadoValidacao resultado = tentarSalvar(produto);
+                        return new SalvamentoRegistrado(resultado, produto != null ? produto.getId() : null);
+                    },
+                    salvamento -> salvamento.resultado().isValido());
+        } catch (RegistroIdempotencia.ChaveReutilizadaException e) {
+            metricas.falhaValidacao(ResultadoValidacao.CHAVE_REUTILIZADA);
+            return ResultadoValidacao.CHAVE_REUTILIZADA;
+        }
+        if (registrado.resultado().isValido() && produto != null) {
+            // Na repetição o produto recebido é uma nova instância: aponta para o original
+            produto.setId(registrado.id());
+        }
+        return registrado.resultado();
+    }
+
+    @Autowired
+    void configurarIdempotencia(@Value("${produtos.idempotencia.capacidade:10000}") int capacidade,
+                                @Value("${produtos.idempotencia.validade-segundos:600}") long validadeSegundos,
+                                @Value("${produtos.idempotencia.espera-maxima-ms:5000}") long esperaMaximaMs) {
+        salvamentosRecentes = new RegistroIdempotencia<>(capacidade, validadeSegundos, esperaMaximaMs);
+    }
+
+    /**
+     * Passa a publicar as métricas no registro informado (o do Actuator, no contexto Spring)
+     */
+    @Autowired(required = false)
+    public void registrarMetricas(MeterRegistry registro) {
+        metricas = new MetricasProduto(registro, this);
+    }
+
+    /**
+     * Registra as operações que passarem do orçamento no registro de lentidão
+     */
+    @Autowired(required = false)
+    public void monitorarLentidao(RegistroLentidao registro,
+                                  @Value("${produtos.lentidao.orcamento-servico-ms:50}") long orcamentoMs) {
+        registro.monitorarCatalogo(this::contarTodos);
+        this.lentidao = registro;
+        this.orcamentoLentidaoMs = orcamentoMs;
     }
 
     /**
      * Deleta produto por ID
      */
     public boolean excluir(Long id) {
-        return produtos.removeIf(p -> p.getId().equals(id));
+        if (id == null) {
+            return false;
+        }
+        EventoOperacaoCatalogo evento = iniciar("excluir");
+        boolean removido = remover(id);
+        concluir(evento, metricas.excluir, id);
+        return removido;
+    }
+
+    private void adicionar(Produto produto) {
+        produtos.put(produto.getId(), produto);
+        versao.incrementAndGet();
+    }
+
+    private boolean remover(Long id) {
+        if (produtos.remove(id) == null) {
+            return false;
+        }
+        versao.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Inicia a medição de uma operação (evento JFR e, se monitorada, lentidão)
+     */
+    private EventoOperacaoCatalogo iniciar(String operacao) {
+        EventoOperacaoCatalogo evento = EventoOperacaoCatalogo.iniciar(operacao);
+        if (lentidao != null) {
+            evento.lentidao = lentidao.iniciarOperacao(operacao, orcamentoLentidaoMs);
+        }
+        return evento;
+    }
+
+    /**
+     * Encerra a medição de uma operação: evento JFR, timer, tempo de serviço da requisição e lentidão
+     */
+    private void concluir(EventoOperacaoCatalogo evento, Timer timer, Long produtoId) {
+        concluir(evento, timer, produtoId, -1);
+    }
+
+    /**
+     * @param tamanhoNome incluído na amostra de lentidão (negativo quando não se aplica)
+     */
+    private void concluir(EventoOperacaoCatalogo evento, Timer timer, Long produtoId, int tamanhoNome) {
+        long duracao = evento.concluir(produtoId, produtos.size(), versao.get());
+        timer.record(duracao, TimeUnit.NANOSECONDS);
+        TempoServico.somar(duracao);
+        RegistroLentidao.Operacao lenta = evento.lentidao;
+        // Parâmetros só para quem passou do orçamento: as operações rápidas não alocam nada aqui
+        if (lenta.estourou()) {
+            if (produtoId != null) {
+                lenta.parametro("id", produtoId);
+            }
+            if (tamanhoNome >= 0) {
+                lenta.parametro("tamanhoNome", tamanhoNome);
+            }
+        }
+        lenta.concluir();
+    }
+
+    /**
+     * Iterador do catálogo medido como listarTodos (evento JFR, timer, tempo de serviço e lentidão).
+     * A medição termina quando ele se esgota ou é fechado, o que ocorrer primeiro.
+     */
+    final class IteracaoCatalogo implements Iterator<Produto>, AutoCloseable {
+
+        private final Iterator<Produto> origem = produtos.values().iterator();
+        private EventoOperacaoCatalogo evento;
+
+        private IteracaoCatalogo(boolean medirLentidao) {
+            this.evento = medirLentidao ? iniciar("listarTodos") : EventoOperacaoCatalogo.iniciar("listarTodos");
+        }
+
+        @Override
+        public boolean hasNext() {
+            boolean proximo = origem.hasNext();
+            if (!proximo) {
+                close();
+            }
+            return proximo;
+        }
+
+        @Override
+        public Produto next() {
+            return origem.next();
+        }
+
+        @Override
+        public void close() {
+            if (evento != null) {
+                concluir(evento, metricas.listarTodos, null);
+                evento = null;
+            }
+        }
     }
 
     /**
      * Valida dados do produto
      */
-    private void validarProduto(Produto produto) {
-        if (produto.getNome() == null || produto.getNome().trim().isEmpty()) {
-            throw new IllegalArgumentException("Nome do produto não pode estar vazio");
+    public ResultadoValidacao validar(Produto produto) {
+        if (produto == null) {
+            return ResultadoValidacao.DADOS_AUSENTES;
+        }
+
+        String nome = produto.getNome();
+        if (nome == null || nome.isBlank()) {
+            return ResultadoValidacao.NOME_OBRIGATORIO;
+        }
+        if (nome.length() > ResultadoValidacao.TAMANHO_MAXIMO_NOME) {
+            return ResultadoValidacao.NOME_MUITO_LONGO;
+        }
+        for (int i = 0; i < nome.length(); i++) {
+            if (Character.isISOControl(nome.charAt(i))) {
+                return ResultadoValidacao.NOME_INVALIDO;
+            }
+        }
+
+        Double preco = produto.getPreco();
+        if (preco == null) {
+            return ResultadoValidacao.PRECO_OBRIGATORIO;
+        }
+        double valor = preco;
+        if (Double.isNaN(valor) || Double.isInfinite(valor)) {
+            return ResultadoValidacao.PRECO_INVALIDO;
+        }
+        if (valor < 0) {
+            return ResultadoValidacao.PRECO_NEGATIVO;
+        }
+        if (valor == 0) {
+            return ResultadoValidacao.PRECO_ZERO;
+        }
+        return ResultadoValidacao.VALIDO;
+    }
+
+    /**
+     * Valida um lote de produtos, gravando o resultado de cada um na posição correspondente
+     * Retorna a quantidade de produtos inválidos; não aloca objetos por falha
+     */
+    public int validarLote(List<Produto> lote, ResultadoValidacao[] resultados) {
+        if (resultados.length < lote.size()) {
+            throw new IllegalArgumentException("Vetor de resultados menor que o lote");
         }
-        if (produto.getPreco() == null || produto.getPreco() < 0) {
-            throw new IllegalArgumentException("Preço não pode ser negativo ou nulo");
+        int invalidos = 0;
+        for (int i = 0; i < lote.size(); i++) {
+            ResultadoValidacao resultado = validar(lote.get(i));
+            resultados[i] = resultado;
+            if (!resultado.isValido()) {
+                invalidos++;
+            }
         }
+        return invalidos;
     }
 }
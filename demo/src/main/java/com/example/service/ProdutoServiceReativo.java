@@ -0,0 +1,83 @@
+package com.example.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+
+import com.example.model.Produto;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Fachada reativa sobre o ProdutoService.
+ * Expõe as operações CRUD como Mono/Flux para a pilha WebFlux, sem duplicar
+ * a lógica de negócio nem o armazenamento em memória.
+ * Ativa apenas na pilha WebFlux, como o ProdutoControllerReativo. As escritas podem bloquear
+ * (a espera de um reenvio com a mesma chave de idempotência dura até
+ * produtos.idempotencia.espera-maxima-ms) e rodam fora do event loop, no boundedElastic.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ProdutoServiceReativo {
+
+    private final ProdutoService produtoService;
+
+    @Autowired
+    public ProdutoServiceReativo(ProdutoService produtoService) {
+        this.produtoService = produtoService;
+    }
+
+    /**
+     * Emite os produtos um a um, permitindo renderização em fluxo.
+     * A iteração é medida como listarTodos e encerrada ao completar, falhar ou ser cancelada.
+     */
+    public Flux<Produto> listarTodos() {
+        return Flux.generate(produtoService::iterarSemLentidao, (iteracao, emissor) -> {
+            if (iteracao.hasNext()) {
+                emissor.next(iteracao.next());
+            } else {
+                emissor.complete();
+            }
+            return iteracao;
+        }, ProdutoService.IteracaoCatalogo::close);
+    }
+
+    /**
+     * Quantidade de produtos, sem percorrer o catálogo
+     */
+    public Mono<Integer> contarTodos() {
+        return Mono.fromCallable(produtoService::contarTodos);
+    }
+
+    /**
+     * Encontra produto por ID (vazio se não existir)
+     */
+    public Mono<Produto> buscarPorId(Long id) {
+        return Mono.defer(() -> Mono.justOrEmpty(produtoService.buscarPorId(id)));
+    }
+
+    /**
+     * Salva ou atualiza um produto; falhas de validação chegam como código, não como erro do Mono
+     */
+    public Mono<ResultadoValidacao> salvar(Produto produto) {
+        return salvar(produto, null);
+    }
+
+    /**
+     * Salva com chave de idempotência (ver ProdutoService.tentarSalvar(Produto, String))
+     */
+    public Mono<ResultadoValidacao> salvar(Produto produto, String chaveIdempotencia) {
+        return Mono.fromCallable(() -> produtoService.tentarSalvar(produto, chaveIdempotencia))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Deleta produto por ID
+     */
+    public Mono<Boolean> excluir(Long id) {
+        return Mono.fromCallable(() -> produtoService.excluir(id))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Registro limitado e com expiração de chaves de idempotência recentes.
+ * Uma repetição com a mesma chave recebe o resultado original sem executar a
+ * operação de novo; requisições simultâneas com a mesma chave aguardam a primeira, por
+ * no máximo a espera configurada. Cada chave guarda a impressão dos dados da primeira
+ * requisição: a mesma chave com outros dados é recusada em vez de receber aquele resultado.
+ * A capacidade vale também para as execuções em andamento: cada chave nova reserva uma vaga
+ * antes de entrar, descartando a chave concluída mais antiga se preciso; com todas as vagas
+ * ocupadas por execuções em andamento, a chave nova é recusada.
+ */
+public class RegistroIdempotencia<T> {
+
+    private static final long ESPERA_PADRAO_MS = 5000;
+
+    private record Entrada<T>(String chave, Object impressao, long criadaEm, CompletableFuture<T> resultado) {
+    }
+
+    /**
+     * A chave já foi usada com dados diferentes dentro da validade
+     */
+    public static class ChaveReutilizadaException extends IllegalStateException {
+
+        public ChaveReutilizadaException(String chave) {
+            super("Chave de idempotência reutilizada com outros dados: " + chave);
+        }
+    }
+
+    /**
+     * Todas as vagas estão ocupadas por execuções em andamento
+     */
+    public static class RegistroCheioException extends IllegalStateException {
+
+        public RegistroCheioException(int capacidade) {
+            super("Registro de idempotência cheio: " + capacidade + " execuções em andamento");
+        }
+    }
+
+    private final Map<String, Entrada<T>> entradas = new ConcurrentHashMap<>();
+    // Ordem de chegada das chaves; como a validade é fixa, a mais antiga é sempre a primeira a expirar
+    private final Queue<Entrada<T>> ordem = new ConcurrentLinkedQueue<>();
+    // Vagas reservadas, concluídas ou em andamento; reservada antes de a chave entrar no mapa
+    private final AtomicInteger ocupadas = new AtomicInteger();
+    private final int capacidade;
+    private final long validadeNanos;
+    private final long esperaMaximaMs;
+    private final LongSupplier relogio;
+
+    public RegistroIdempotencia(int capacidade, long validadeSegundos) {
+        this(capacidade, validadeSegundos, ESPERA_PADRAO_MS, System::nanoTime);
+    }
+
+    public RegistroIdempotencia(int capacidade, long validadeSegundos, long esperaMaximaMs) {
+        this(capacidade, validadeSegundos, esperaMaximaMs, System::nanoTime);
+    }
+
+    /**
+     * @param relogio fonte de tempo em nanossegundos (substituível em testes)
+     */
+    public RegistroIdempotencia(int capacidade, long validadeSegundos, LongSupplier relogio) {
+        this(capacidade, validadeSegundos, ESPERA_PADRAO_MS, relogio);
+    }
+
+    /**
+     * @param esperaMaximaMs quanto uma repetição aguarda a execução em andamento da mesma chave
+     * @param relogio fonte de tempo em nanossegundos (substituível em testes)
+     */
+    public RegistroIdempotencia(int capacidade, long validadeSegundos, long esperaMaximaMs, LongSupplier relogio) {
+        if (capacidade <= 0 || validadeSegundos <= 0 || esperaMaximaMs <= 0) {
+            throw new IllegalArgumentException(
+                    "Capacidade, validade e espera do registro de idempotência devem ser positivas");
+        }
+        this.capacidade = capacidade;
+        this.validadeNanos = TimeUnit.SECONDS.toNanos(validadeSegundos);
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Executa a operação uma única vez por chave dentro da validade.
+     * Resultados rejeitados por {@code registrar} (ex.: erros de validação) não são
+     * guardados, para que a mesma chave possa ser reenviada com os dados corrigidos.
+     */
+    public T executar(String chave, Supplier<T> operacao, Predicate<T> registrar) {
+        return executar(chave, null, operacao, registrar);
+    }
+
+    /**
+     * Como {@link #executar(String, Supplier, Predicate)}, conferindo a impressão dos dados
+     *
+     * @param impressao dados que identificam a requisição, comparados com equals
+     * @throws ChaveReutilizadaException se a chave foi registrada com outra impressão
+     * @throws RegistroCheioException se a chave é nova e todas as vagas estão em andamento
+     * @throws IllegalStateException se a execução em andamento da chave passar da espera máxima
+     */
+    public T executar(String chave, Object impressao, Supplier<T> operacao, Predicate<T> registrar) {
+        long agora = relogio.getAsLong();
+        removerExpiradas(agora);
+
+        Entrada<T> nova = new Entrada<>(chave, impressao, agora, new CompletableFuture<>());
+        while (true) {
+            Entrada<T> existente = entradas.get(chave);
+            if (existente == null) {
+                reservar();
+                existente = entradas.putIfAbsent(chave, nova);
+                if (existente == null) {
+                    break;
+                }
+                // Outra requisição inseriu a chave primeiro: a vaga volta e vale a entrada dela
+                ocupadas.decrementAndGet();
+            }
+            if (!expirada(existente, agora)) {
+                if (!Objects.equals(existente.impressao(), impressao)) {
+                    throw new ChaveReutilizadaException(chave);
+                }
+                return aguardar(existente);
+            }
+            remover(existente);
+        }
+
+        try {
+            T resultado = operacao.get();
+            if (registrar.test(resultado)) {
+                ordem.add(nova);
+            } else {
+                remover(nova);
+            }
+            nova.resultado().complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            // Falhas inesperadas não são memorizadas: a repetição tenta de novo
+            remover(nova);
+            nova.resultado().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private T aguardar(Entrada<T> existente) {
+        try {
+            return existente.resultado().get(esperaMaximaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Execução com a chave " + existente.chave()
+                    + " ainda em andamento após " + esperaMaximaMs + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a chave " + existente.chave(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException falha) {
+                throw falha;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Quantidade de chaves guardadas no momento
+     */
+    public int tamanho() {
+        return entradas.size();
+    }
+
+    /**
+     * Reserva a vaga de uma chave nova, descartando as concluídas mais antigas se preciso
+     */
+    private void reservar() {
+        while (true) {
+            int atual = ocupadas.get();
+            if (atual < capacidade) {
+                if (ocupadas.compareAndSet(atual, atual + 1)) {
+                    return;
+                }
+            } else {
+                Entrada<T> maisAntiga = ordem.poll();
+                if (maisAntiga == null) {
+                    throw new RegistroCheioException(capacidade);
+                }
+                remover(maisAntiga);
+            }
+        }
+    }
+
+    private void removerExpiradas(long agora) {
+        Entrada<T> maisAntiga;
+        while ((maisAntiga = ordem.peek()) != null
+                && (expirada(maisAntiga, agora) || entradas.get(maisAntiga.chave()) != maisAntiga)) {
+            Entrada<T> removida = ordem.poll();
+            if (removida != null) {
+                remover(removida);
+            }
+        }
+    }
+
+    /**
+     * Tira a entrada do mapa e libera a vaga, se ela ainda estava lá
+     */
+    private void remover(Entrada<T> entrada) {
+        if (entradas.remove(entrada.chave(), entrada)) {
+            ocupadas.decrementAndGet();
+        }
+    }
+
+    private boolean expirada(Entrada<T> entrada, long agora) {
+        return agora - entrada.criadaEm() >= validadeNanos;
+    }
+}
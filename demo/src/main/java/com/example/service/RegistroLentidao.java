@@ -0,0 +1,383 @@
+package com.example.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntSupplier;
+
+/**
+ * Registro das requisições e operações que estouraram o orçamento de latência.
+ * Enquanto uma medição está em andamento, um amostrador periódico verifica se ela já passou
+ * do orçamento e, na primeira vez, captura o estado e a pilha da thread que a executa:
+ * a pilha mostra onde o tempo está sendo gasto, e não onde a operação terminou.
+ * Ao concluir acima do orçamento, a amostra vai para um anel limitado (as mais antigas saem).
+ * Operações curtas e frequentes (as do ProdutoService) usam uma Operacao por thread, reaproveitada:
+ * sem alocação nem registro por chamada. O amostrador só roda enquanto há algo em andamento.
+ */
+public class RegistroLentidao {
+
+    private static final int PROFUNDIDADE_PILHA = 32;
+
+    /**
+     * Uma requisição ou operação lenta; estado e pilha ficam nulos se ela terminou antes
+     * de o amostrador passar por ela
+     */
+    public record Amostra(String tipo, String nome, Instant instante, double duracaoMs, double orcamentoMs,
+                          Map<String, Object> parametros, int tamanhoCatalogo, String thread,
+                          Thread.State estadoThread, List<String> pilha) {
+    }
+
+    private final AtomicReferenceArray<Amostra> anel;
+    private final AtomicLong registradas = new AtomicLong();
+    private final Set<Medicao> emAndamento = ConcurrentHashMap.newKeySet();
+    // Uma por thread que já executou operações; as de threads encerradas saem na amostragem
+    private final Set<Operacao> operacoes = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Operacao> operacaoDaThread = ThreadLocal.withInitial(this::novaOperacao);
+    private final ScheduledExecutorService amostrador;
+    private final long intervaloAmostragemMs;
+    private final AtomicBoolean amostradorAgendado = new AtomicBoolean();
+    private volatile IntSupplier tamanhoCatalogo = () -> -1;
+
+    /**
+     * @param capacidade quantidade de amostras guardadas
+     * @param intervaloAmostragemMs período do amostrador; deve ser menor que os orçamentos
+     */
+    public RegistroLentidao(int capacidade, long intervaloAmostragemMs) {
+        if (capacidade <= 0 || intervaloAmostragemMs <= 0) {
+            throw new IllegalArgumentException("Capacidade e intervalo de amostragem devem ser positivos");
+        }
+        this.anel = new AtomicReferenceArray<>(capacidade);
+        this.intervaloAmostragemMs = intervaloAmostragemMs;
+        this.amostrador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "amostrador-lentidao");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Fonte do tamanho do catálogo incluído nas amostras
+     */
+    public void monitorarCatalogo(IntSupplier tamanhoCatalogo) {
+        this.tamanhoCatalogo = tamanhoCatalogo;
+    }
+
+    /**
+     * Inicia a medição na thread atual; com orçamento zero ou negativo nada é medido
+     */
+    public Medicao iniciar(String tipo, String nome, long orcamentoMs) {
+        if (orcamentoMs <= 0) {
+            return Medicao.NENHUMA;
+        }
+        Medicao medicao = new Medicao(this, tipo, nome, TimeUnit.MILLISECONDS.toNanos(orcamentoMs));
+        emAndamento.add(medicao);
+        acordarAmostrador();
+        return medicao;
+    }
+
+    /**
+     * Inicia uma operação de serviço na thread atual, reaproveitando a Operacao da thread.
+     * Com orçamento zero ou negativo, ou com outra operação da thread em andamento, nada é medido.
+     */
+    public Operacao iniciarOperacao(String nome, long orcamentoMs) {
+        if (orcamentoMs <= 0) {
+            return Operacao.NENHUMA;
+        }
+        Operacao operacao = operacaoDaThread.get();
+        if (operacao.ativa) {
+            return Operacao.NENHUMA;
+        }
+        operacao.iniciar(nome, TimeUnit.MILLISECONDS.toNanos(orcamentoMs));
+        acordarAmostrador();
+        return operacao;
+    }
+
+    private Operacao novaOperacao() {
+        Operacao operacao = new Operacao(this);
+        operacoes.add(operacao);
+        return operacao;
+    }
+
+    /**
+     * Amostras guardadas, da mais recente para a mais antiga
+     */
+    public List<Amostra> amostras() {
+        long total = registradas.get();
+        int quantidade = (int) Math.min(total, anel.length());
+        List<Amostra> resultado = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Amostra amostra = anel.get((int) ((total - 1 - i) % anel.length()));
+            if (amostra != null) {
+                resultado.add(amostra);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Total de lentidões registradas desde o início (inclusive as que já saíram do anel)
+     */
+    public long getRegistradas() {
+        return registradas.get();
+    }
+
+    /**
+     * Se o amostrador está agendado; parado quando não há medição nem operação em andamento
+     */
+    public boolean isAmostrando() {
+        return amostradorAgendado.get();
+    }
+
+    public void limpar() {
+        for (int i = 0; i < anel.length(); i++) {
+            anel.set(i, null);
+        }
+    }
+
+    public void encerrar() {
+        amostrador.shutdownNow();
+    }
+
+    /**
+     * Agenda o amostrador se ele estiver parado; com ele em execução custa uma leitura volátil
+     */
+    private void acordarAmostrador() {
+        if (!amostradorAgendado.get() && amostradorAgendado.compareAndSet(false, true)) {
+            agendarAmostragem();
+        }
+    }
+
+    private void agendarAmostragem() {
+        try {
+            amostrador.schedule(this::amostrar, intervaloAmostragemMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Registro encerrado: nada mais é amostrado
+        }
+    }
+
+    private void amostrar() {
+        boolean emCurso = false;
+        try {
+            emCurso = amostrarEmAndamento();
+        } finally {
+            if (emCurso) {
+                agendarAmostragem();
+            } else {
+                amostradorAgendado.set(false);
+                // Quem iniciou durante esta passada pode ter visto o amostrador ainda agendado
+                if (haEmAndamento() && amostradorAgendado.compareAndSet(false, true)) {
+                    agendarAmostragem();
+                }
+            }
+        }
+    }
+
+    /**
+     * Captura estado e pilha de quem passou do orçamento; retorna se há algo em andamento
+     */
+    private boolean amostrarEmAndamento() {
+        long agora = System.nanoTime();
+        boolean emCurso = !emAndamento.isEmpty();
+        for (Medicao medicao : emAndamento) {
+            if (medicao.pilha == null && agora - medicao.inicio > medicao.orcamentoNanos) {
+                Thread thread = medicao.thread;
+                medicao.estado = thread.getState();
+                medicao.pilha = pilha(thread);
+            }
+        }
+        for (Operacao operacao : operacoes) {
+            if (!operacao.thread.isAlive()) {
+                operacoes.remove(operacao);
+                continue;
+            }
+            int geracao = operacao.geracao;
+            if (!operacao.ativa) {
+                continue;
+            }
+            emCurso = true;
+            if (operacao.geracaoPilha != geracao && agora - operacao.inicio > operacao.orcamentoNanos) {
+                Thread.State estado = operacao.thread.getState();
+                StackTraceElement[] pilha = pilha(operacao.thread);
+                // Só vale se a thread ainda estiver na mesma operação depois da captura
+                if (operacao.ativa && operacao.geracao == geracao) {
+                    operacao.estado = estado;
+                    operacao.pilha = pilha;
+                    operacao.geracaoPilha = geracao;
+                }
+            }
+        }
+        return emCurso;
+    }
+
+    private boolean haEmAndamento() {
+        return !emAndamento.isEmpty() || operacoes.stream().anyMatch(operacao -> operacao.ativa);
+    }
+
+    private static StackTraceElement[] pilha(Thread thread) {
+        StackTraceElement[] pilha = thread.getStackTrace();
+        return pilha.length > PROFUNDIDADE_PILHA ? Arrays.copyOf(pilha, PROFUNDIDADE_PILHA) : pilha;
+    }
+
+    private boolean concluir(Medicao medicao) {
+        emAndamento.remove(medicao);
+        long duracao = System.nanoTime() - medicao.inicio;
+        if (duracao <= medicao.orcamentoNanos) {
+            return false;
+        }
+        registrar(medicao.tipo, medicao.nome, duracao, medicao.orcamentoNanos, medicao.parametros,
+                medicao.thread, medicao.estado, medicao.pilha);
+        return true;
+    }
+
+    private boolean concluir(Operacao operacao) {
+        long duracao = System.nanoTime() - operacao.inicio;
+        boolean lenta = duracao > operacao.orcamentoNanos;
+        if (lenta) {
+            boolean amostrada = operacao.geracaoPilha == operacao.geracao;
+            registrar("servico", operacao.nome, duracao, operacao.orcamentoNanos, operacao.parametros,
+                    operacao.thread, amostrada ? operacao.estado : null, amostrada ? operacao.pilha : null);
+        }
+        operacao.parametros = null;
+        operacao.ativa = false;
+        return lenta;
+    }
+
+    private void registrar(String tipo, String nome, long duracao, long orcamentoNanos, Map<String, Object> parametros,
+                           Thread thread, Thread.State estado, StackTraceElement[] pilha) {
+        Amostra amostra = new Amostra(tipo, nome, Instant.now(), duracao / 1_000_000.0, orcamentoNanos / 1_000_000.0,
+                parametros != null ? Collections.unmodifiableMap(parametros) : Map.of(),
+                tamanhoCatalogo.getAsInt(), thread.getName(), estado,
+                pilha != null ? Arrays.stream(pilha).map(StackTraceElement::toString).toList() : List.of());
+        anel.set((int) (registradas.getAndIncrement() % anel.length()), amostra);
+    }
+
+    /**
+     * Medição em andamento. A requisição que muda de thread (bulkhead, despacho
+     * assíncrono) deve vincular a nova thread para que a amostra seja dela.
+     */
+    public static final class Medicao {
+
+        /**
+         * Medição vazia, para quando não há monitoramento
+         */
+        public static final Medicao NENHUMA = new Medicao(null, null, null, 0);
+
+        private final RegistroLentidao registro;
+        private final String tipo;
+        private final String nome;
+        private final long orcamentoNanos;
+        private final long inicio = System.nanoTime();
+        private volatile Thread thread = Thread.currentThread();
+        private volatile Thread.State estado;
+        private volatile StackTraceElement[] pilha;
+        private Map<String, Object> parametros;
+
+        private Medicao(RegistroLentidao registro, String tipo, String nome, long orcamentoNanos) {
+            this.registro = registro;
+            this.tipo = tipo;
+            this.nome = nome;
+            this.orcamentoNanos = orcamentoNanos;
+        }
+
+        /**
+         * Se a medição já passou do orçamento: os parâmetros só interessam às lentas
+         */
+        public boolean estourou() {
+            return registro != null && System.nanoTime() - inicio > orcamentoNanos;
+        }
+
+        public Medicao parametro(String nome, Object valor) {
+            if (registro != null) {
+                if (parametros == null) {
+                    parametros = new LinkedHashMap<>();
+                }
+                parametros.put(nome, valor);
+            }
+            return this;
+        }
+
+        public void vincularThreadAtual() {
+            if (registro != null) {
+                thread = Thread.currentThread();
+            }
+        }
+
+        /**
+         * Encerra a medição; retorna true se ela estourou o orçamento e foi registrada
+         */
+        public boolean concluir() {
+            return registro != null && registro.concluir(this);
+        }
+    }
+
+    /**
+     * Operação de serviço de uma thread, reaproveitada a cada chamada. A geração distingue
+     * uma operação da seguinte, para que a pilha capturada de uma não vá para a outra.
+     * Parâmetros devem ser acrescentados só quando {@link #estourou()}.
+     */
+    public static final class Operacao {
+
+        /**
+         * Operação vazia, para quando não há monitoramento
+         */
+        public static final Operacao NENHUMA = new Operacao(null);
+
+        private final RegistroLentidao registro;
+        private final Thread thread = Thread.currentThread();
+        private String nome;
+        private long orcamentoNanos;
+        private volatile long inicio;
+        private volatile int geracao;
+        private volatile boolean ativa;
+        private volatile int geracaoPilha = -1;
+        private volatile Thread.State estado;
+        private volatile StackTraceElement[] pilha;
+        private Map<String, Object> parametros;
+
+        private Operacao(RegistroLentidao registro) {
+            this.registro = registro;
+        }
+
+        private void iniciar(String nome, long orcamentoNanos) {
+            this.nome = nome;
+            this.orcamentoNanos = orcamentoNanos;
+            this.inicio = System.nanoTime();
+            this.geracao = geracao + 1;
+            this.ativa = true;
+        }
+
+        public boolean estourou() {
+            return registro != null && System.nanoTime() - inicio > orcamentoNanos;
+        }
+
+        public Operacao parametro(String nome, Object valor) {
+            if (registro != null) {
+                if (parametros == null) {
+                    parametros = new LinkedHashMap<>();
+                }
+                parametros.put(nome, valor);
+            }
+            return this;
+        }
+
+        /**
+         * Encerra a operação; retorna true se ela estourou o orçamento e foi registrada
+         */
+        public boolean concluir() {
+            return registro != null && registro.concluir(this);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.service;
+
+/**
+ * Resultado da validação de um produto.
+ * Cada código de erro já carrega a mensagem exibida ao usuário, dispensando exceções
+ * e a interpretação de textos; as constantes são pré-alocadas, então validar não aloca.
+ */
+public enum ResultadoValidacao {
+
+    VALIDO(null, null),
+    DADOS_AUSENTES("Produto não pode ser nulo",
+            "Dados do produto inválidos. Por favor, preencha todos os campos."),
+    NOME_OBRIGATORIO("Nome do produto não pode estar vazio",
+            "Nome do produto é obrigatório. Por favor, insira um nome válido."),
+    NOME_MUITO_LONGO("Nome do produto não pode exceder " + ResultadoValidacao.TAMANHO_MAXIMO_NOME + " caracteres",
+            "Nome do produto muito longo. Use no máximo " + ResultadoValidacao.TAMANHO_MAXIMO_NOME + " caracteres."),
+    NOME_INVALIDO("Nome do produto contém caracteres de controle",
+            "Nome do produto contém caracteres inválidos."),
+    PRECO_OBRIGATORIO("Preço não pode ser nulo",
+            "Preço é obrigatório. Por favor, insira um valor."),
+    PRECO_NEGATIVO("Preço não pode ser negativo ou nulo",
+            "Preço deve ser um valor positivo. Por favor, insira um preço maior que zero."),
+    PRECO_ZERO("Preço deve ser maior que zero",
+            "Preço deve ser maior que zero."),
+    PRECO_INVALIDO("Preço deve ser um número finito",
+            "Preço inválido. Por favor, insira um valor numérico."),
+    CHAVE_REUTILIZADA("Chave de idempotência já usada com outros dados",
+            "Este envio já foi processado com outros dados. Recarregue o formulário e tente novamente.");
+
+    /**
+     * Limite de caracteres do nome, o mesmo do maxlength do form.html
+     */
+    public static final int TAMANHO_MAXIMO_NOME = 255;
+
+    private final String descricao;
+    private final String mensagem;
+
+    ResultadoValidacao(String descricao, String mensagem) {
+        this.descricao = descricao;
+        this.mensagem = mensagem;
+    }
+
+    public boolean isValido() {
+        return this == VALIDO;
+    }
+
+    /**
+     * Descrição técnica, usada na IllegalArgumentException de ProdutoService.salvar
+     */
+    public String getDescricao() {
+        return descricao;
+    }
+
+    /**
+     * Mensagem amigável exibida ao usuário
+     */
+    public String getMensagem() {
+        return mensagem;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tempo acumulado no ProdutoService por uma requisição.
+ * Quem atende a requisição vincula um acumulador à thread que executa o handler;
+ * cada operação do serviço soma nele a própria duração. Sem acumulador vinculado
+ * (testes, tarefas internas) a soma é simplesmente ignorada.
+ */
+public final class TempoServico {
+
+    private static final ThreadLocal<TempoServico> ATUAL = new ThreadLocal<>();
+
+    // O handler pode trocar de thread (bulkhead): o acumulador não fica preso a nenhuma
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder chamadas = new LongAdder();
+
+    /**
+     * Vincula o acumulador à thread atual e devolve o vínculo anterior, a ser restaurado ao final
+     */
+    public static TempoServico vincular(TempoServico acumulador) {
+        TempoServico anterior = ATUAL.get();
+        ATUAL.set(acumulador);
+        return anterior;
+    }
+
+    public static void restaurar(TempoServico anterior) {
+        if (anterior == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(anterior);
+        }
+    }
+
+    static void somar(long duracaoNanos) {
+        TempoServico acumulador = ATUAL.get();
+        if (acumulador != null) {
+            acumulador.nanos.add(duracaoNanos);
+            acumulador.chamadas.increment();
+        }
+    }
+
+    public long getNanos() {
+        return nanos.sum();
+    }
+
+    public long getChamadas() {
+        return chamadas.sum();
+    }
+}
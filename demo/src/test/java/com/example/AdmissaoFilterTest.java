@@ -0,0 +1,110 @@
+package com.example;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.config.AdmissaoFilter;
+import com.example.config.LimiteAdaptativo;
+
+/**
+ * Testes unitários para AdmissaoFilter e LimiteAdaptativo.
+ * Verifica a recusa com 503, a separação entre leituras e escritas e o ajuste do limite.
+ */
+public class AdmissaoFilterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong agora = new AtomicLong();
+    private LimiteAdaptativo leituras;
+    private LimiteAdaptativo escritas;
+    private AdmissaoFilter filtro;
+
+    @BeforeEach
+    public void setUp() {
+        leituras = new LimiteAdaptativo("leitura", 1, 1, 100, agora::get);
+        escritas = new LimiteAdaptativo("escrita", 1, 1, 100, agora::get);
+        filtro = new AdmissaoFilter(leituras, escritas, 2);
+    }
+
+    @Test
+    public void testAcimaDoLimiteRecusaCom503() throws Exception {
+        AtomicInteger executadas = new AtomicInteger();
+        MockHttpServletResponse recusada = new MockHttpServletResponse();
+
+        // A requisição externa ocupa a única vaga de leitura enquanto a interna chega
+        filtro.doFilter(new MockHttpServletRequest("GET", "/produtos/listar"), new MockHttpServletResponse(),
+            (req, res) -> {
+                executadas.incrementAndGet();
+                filtro.doFilter(new MockHttpServletRequest("GET", "/produtos/linha/1"), recusada,
+                    (r, s) -> executadas.incrementAndGet());
+            });
+
+        assertEquals(1, executadas.get());
+        assertEquals(503, recusada.getStatus());
+        assertEquals("2", recusada.getHeader("Retry-After"));
+        assertEquals(1, filtro.getRecusadas());
+        assertEquals(0, leituras.getEmAndamento(), "A vaga deveria ter sido devolvida");
+    }
+
+    @Test
+    public void testLeiturasEEscritasTemLimitesSeparados() throws Exception {
+        MockHttpServletResponse escrita = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/produtos/listar"), new MockHttpServletResponse(),
+            (req, res) -> filtro.doFilter(new MockHttpServletRequest("GET", "/produtos/excluir/1"), escrita,
+                (r, s) -> { }));
+
+        assertEquals(200, escrita.getStatus(), "Escrita não deveria disputar a vaga das leituras");
+        assertEquals(0, filtro.getRecusadas());
+    }
+
+    @Test
+    public void testLimiteCresceComLatenciaEstavel() {
+        LimiteAdaptativo limite = new LimiteAdaptativo("teste", 10, 1, 100, agora::get);
+        for (int i = 0; i < 50; i++) {
+            ocupar(limite, 10);
+            for (int j = 0; j < 10; j++) {
+                limite.liberar(10 * MS);
+            }
+        }
+        assertTrue(limite.getLimite() > 10, "Limite deveria crescer sem fila: " + limite.getLimite());
+    }
+
+    @Test
+    public void testLimiteDiminuiQuandoLatenciaSobe() {
+        LimiteAdaptativo limite = new LimiteAdaptativo("teste", 50, 1, 100, agora::get);
+        ocupar(limite, 1);
+        limite.liberar(10 * MS);
+        for (int i = 0; i < 20; i++) {
+            ocupar(limite, 1);
+            limite.liberar(100 * MS);
+        }
+        assertTrue(limite.getLimite() < 50, "Limite deveria cair com fila: " + limite.getLimite());
+        assertTrue(limite.getLimite() >= 1);
+    }
+
+    @Test
+    public void testNaoCresceSemUso() {
+        LimiteAdaptativo limite = new LimiteAdaptativo("teste", 20, 1, 100, agora::get);
+        for (int i = 0; i < 50; i++) {
+            ocupar(limite, 1);
+            limite.liberar(10 * MS);
+        }
+        assertEquals(20, limite.getLimite());
+        assertFalse(limite.getEmAndamento() > 0);
+    }
+
+    private static void ocupar(LimiteAdaptativo limite, int vagas) {
+        for (int i = 0; i < vagas; i++) {
+            assertTrue(limite.tentarAdmitir());
+        }
+    }
+}
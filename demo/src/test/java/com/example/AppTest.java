@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.Test;
 
 import com.example.model.Produto;
 import com.example.service.ProdutoService;
+import com.example.service.ResultadoValidacao;
 
 /**
  * Testes unitários para ProdutoService.
@@ -134,5 +136,76 @@ public class AppTest {
         Produto salvo = service.salvar(produto);
         assertNotNull(salvo.getId(), "Produto válido deveria ser salvo com sucesso");
     }
-}
 
+    @Test
+    public void testTentarSalvarRetornaCodigoSemExcecao() {
+        int totalAntes = service.contarTodos();
+        assertEquals(ResultadoValidacao.NOME_OBRIGATORIO, service.tentarSalvar(new Produto("  ", 10.0)));
+        assertEquals(ResultadoValidacao.PRECO_NEGATIVO, service.tentarSalvar(new Produto("Produto", -1.0)));
+        assertEquals(totalAntes, service.contarTodos(), "Produtos inválidos não deveriam ser armazenados");
+
+        Produto valido = new Produto("Produto", 10.0);
+        assertEquals(ResultadoValidacao.VALIDO, service.tentarSalvar(valido));
+        assertNotNull(valido.getId(), "Produto válido deveria receber um ID");
+    }
+
+    @Test
+    public void testValidarCodigos() {
+        assertEquals(ResultadoValidacao.DADOS_AUSENTES, service.validar(null));
+        assertEquals(ResultadoValidacao.NOME_OBRIGATORIO, service.validar(new Produto(null, 10.0)));
+        assertEquals(ResultadoValidacao.NOME_MUITO_LONGO, service.validar(new Produto("a".repeat(256), 10.0)));
+        assertEquals(ResultadoValidacao.NOME_INVALIDO, service.validar(new Produto("Nome\u0000", 10.0)));
+        assertEquals(ResultadoValidacao.PRECO_OBRIGATORIO, service.validar(new Produto("Produto", null)));
+        assertEquals(ResultadoValidacao.PRECO_INVALIDO, service.validar(new Produto("Produto", Double.NaN)));
+        assertEquals(ResultadoValidacao.PRECO_ZERO, service.validar(new Produto("Produto", 0.0)));
+        assertEquals(ResultadoValidacao.VALIDO, service.validar(new Produto("a".repeat(255), 0.01)));
+    }
+
+    @Test
+    public void testValidarLote() {
+        List<Produto> lote = List.of(new Produto("A", 1.0), new Produto("", 1.0), new Produto("C", -1.0));
+        ResultadoValidacao[] resultados = new ResultadoValidacao[lote.size()];
+
+        assertEquals(2, service.validarLote(lote, resultados));
+        assertEquals(ResultadoValidacao.VALIDO, resultados[0]);
+        assertEquals(ResultadoValidacao.NOME_OBRIGATORIO, resultados[1]);
+        assertEquals(ResultadoValidacao.PRECO_NEGATIVO, resultados[2]);
+    }
+
+    @Test
+    public void testTentarSalvarComMesmaChaveNaoDuplica() {
+        int totalAntes = service.contarTodos();
+        Produto primeiro = new Produto("Cadeira", 200.0);
+        Produto repeticao = new Produto("Cadeira", 200.0);
+
+        assertEquals(ResultadoValidacao.VALIDO, service.tentarSalvar(primeiro, "chave-1"));
+        assertEquals(ResultadoValidacao.VALIDO, service.tentarSalvar(repeticao, "chave-1"));
+
+        assertEquals(totalAntes + 1, service.contarTodos(), "Repetição não deveria criar outro produto");
+        assertEquals(primeiro.getId(), repeticao.getId(), "Repetição deveria receber o ID original");
+    }
+
+    @Test
+    public void testTentarSalvarComMesmaChaveEOutrosDadosERecusado() {
+        Produto primeiro = new Produto("Mesa", 400.0);
+        assertEquals(ResultadoValidacao.VALIDO, service.tentarSalvar(primeiro, "chave-3"));
+        int totalAntes = service.contarTodos();
+
+        Produto outro = new Produto("Mesa", 450.0);
+        assertEquals(ResultadoValidacao.CHAVE_REUTILIZADA, service.tentarSalvar(outro, "chave-3"));
+
+        assertNull(outro.getId(), "Dados diferentes não deveriam receber o ID do primeiro salvamento");
+        assertEquals(totalAntes, service.contarTodos());
+        assertEquals(400.0, service.buscarPorId(primeiro.getId()).orElseThrow().getPreco());
+    }
+
+    @Test
+    public void testTentarSalvarComMesmaChaveAposErroDeValidacao() {
+        assertEquals(ResultadoValidacao.NOME_OBRIGATORIO, service.tentarSalvar(new Produto("", 10.0), "chave-2"));
+
+        Produto corrigido = new Produto("Corrigido", 10.0);
+        assertEquals(ResultadoValidacao.VALIDO, service.tentarSalvar(corrigido, "chave-2"),
+            "Erro de validação não deveria ficar memorizado para a chave");
+        assertNotNull(corrigido.getId());
+    }
+}
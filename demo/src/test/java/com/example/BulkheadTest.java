@@ -0,0 +1,65 @@
+package com.example;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import com.example.config.Bulkhead;
+
+/**
+ * Testes unitários para Bulkhead.
+ * Verifica isolamento entre compartimentos, rejeição com pool cheio e métricas.
+ */
+public class BulkheadTest {
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final Bulkhead escritas = new Bulkhead("escrita", 1, 1, 1000);
+    private final Bulkhead leituras = new Bulkhead("leitura", 1, 1, 1000);
+
+    @AfterEach
+    public void tearDown() {
+        liberar.countDown();
+        escritas.encerrar();
+        leituras.encerrar();
+    }
+
+    @Test
+    public void testCompartimentoCheioRejeitaSemAfetarOutro() throws Exception {
+        AsyncTaskExecutor executor = executor(escritas.executar(this::bloquear));
+        executor.submit(this::bloquear);
+        executor.submit(this::bloquear);
+
+        assertThrows(TaskRejectedException.class, () -> executor.submit(this::bloquear));
+        assertEquals(1, escritas.getRejeitadas());
+        assertEquals(1, escritas.getProfundidadeFila());
+        assertEquals(1, escritas.getAtivas());
+
+        // A leitura continua sendo atendida no seu próprio pool
+        WebAsyncTask<String> leitura = leituras.executar(() -> "listar");
+        assertEquals("listar", executor(leitura).submit(leitura.getCallable()).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testDiretoExecutaNaThreadChamadora() throws Exception {
+        Thread chamadora = Thread.currentThread();
+        WebAsyncTask<Boolean> tarefa = Bulkhead.direto("teste").executar(() -> Thread.currentThread() == chamadora);
+        assertTrue((Boolean) executor(tarefa).submit(tarefa.getCallable()).get());
+    }
+
+    private String bloquear() throws InterruptedException {
+        liberar.await(5, TimeUnit.SECONDS);
+        return "ok";
+    }
+
+    private static AsyncTaskExecutor executor(WebAsyncTask<?> tarefa) {
+        return tarefa.getExecutor();
+    }
+}
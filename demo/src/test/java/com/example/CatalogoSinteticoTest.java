@@ -0,0 +1,107 @@
+package com.example;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.catalogo.CatalogoSintetico;
+import com.example.model.Produto;
+import com.example.service.ProdutoService;
+import com.example.service.ResultadoValidacao;
+
+/**
+ * Testes do gerador de catálogos sintéticos.
+ * Verifica determinismo, validade dos produtos, distribuição de nomes e preços e o CSV.
+ */
+public class CatalogoSinteticoTest {
+
+    private static final int AMOSTRA = 20_000;
+
+    private final ProdutoService service = new ProdutoService();
+
+    @Test
+    public void testMesmaSementeGeraMesmoCatalogo() {
+        List<String> primeiro = descrever(new CatalogoSintetico(7).produtos(1000).toList());
+        List<String> segundo = descrever(new CatalogoSintetico(7).produtos(1000).toList());
+        List<String> paralelo = descrever(new CatalogoSintetico(7).produtos(1000).parallel().toList());
+
+        assertEquals(primeiro, segundo);
+        assertEquals(primeiro, paralelo, "A ordem de geração não deveria mudar os produtos");
+        assertNotEquals(primeiro, descrever(new CatalogoSintetico(8).produtos(1000).toList()));
+    }
+
+    @Test
+    public void testProdutosSaoValidosEVariados() {
+        List<Produto> produtos = new CatalogoSintetico(42).produtos(AMOSTRA).toList();
+
+        for (Produto produto : produtos) {
+            assertEquals(ResultadoValidacao.VALIDO, service.validar(produto), produto.toString());
+        }
+        assertTrue(produtos.stream().anyMatch(p -> p.getNome().matches(".*[áâãàçéêíóôõúÁÉÍÓÚ].*")),
+                "Deveria haver nomes acentuados");
+        long noLimite = produtos.stream()
+                .filter(p -> p.getNome().length() == ResultadoValidacao.TAMANHO_MAXIMO_NOME).count();
+        long curtos = produtos.stream().filter(p -> p.getNome().length() <= 40).count();
+        assertTrue(noLimite > 0 && noLimite < AMOSTRA / 20, "Poucos nomes no limite: " + noLimite);
+        assertTrue(curtos > AMOSTRA / 2, "A maioria dos nomes deveria ser curta: " + curtos);
+    }
+
+    @Test
+    public void testPrecosAssimetricos() {
+        double[] precos = new CatalogoSintetico(42).produtos(AMOSTRA).mapToDouble(Produto::getPreco).sorted().toArray();
+
+        double mediana = precos[AMOSTRA / 2];
+        double media = Arrays.stream(precos).average().orElseThrow();
+        assertTrue(mediana > 40 && mediana < 160, "Mediana fora do esperado: " + mediana);
+        assertTrue(media > mediana * 1.5, "Cauda longa deveria puxar a média acima da mediana: " + media);
+        assertTrue(precos[AMOSTRA - 1] > 20 * mediana, "Deveria haver produtos bem mais caros");
+        for (double preco : precos) {
+            assertEquals(preco, Math.round(preco * 100) / 100.0, 1e-9, "Preço com mais de 2 casas: " + preco);
+        }
+    }
+
+    @Test
+    public void testNomesCompartilhados() {
+        CatalogoSintetico catalogo = new CatalogoSintetico(1, 50);
+        List<Produto> produtos = catalogo.produtos(5000).toList();
+
+        assertTrue(produtos.stream().map(Produto::getNome).distinct().count() <= 50);
+        Produto repetido = produtos.stream()
+                .filter(p -> !p.equals(produtos.get(0)) && p.getNome().equals(produtos.get(0).getNome()))
+                .findFirst().orElseThrow();
+        assertSame(produtos.get(0).getNome(), repetido.getNome(), "Nomes iguais deveriam ser a mesma instância");
+    }
+
+    @Test
+    public void testCarregarNoServico() {
+        int inicial = service.contarTodos();
+        long maiorId = new CatalogoSintetico(3).carregar(service, 5000);
+
+        assertEquals(inicial + 5000, service.contarTodos());
+        assertEquals(service.listarTodos().get(service.contarTodos() - 1).getId(), maiorId);
+    }
+
+    @Test
+    public void testCsvPreservaProdutos(@TempDir Path diretorio) throws Exception {
+        CatalogoSintetico catalogo = new CatalogoSintetico(9);
+        Path arquivo = diretorio.resolve("catalogo.csv");
+        catalogo.gravar(arquivo, 3000);
+
+        int inicial = service.contarTodos();
+        assertEquals(3000, CatalogoSintetico.carregar(service, arquivo));
+        List<Produto> carregados = service.listarTodos().subList(inicial, inicial + 3000);
+        assertEquals(descrever(catalogo.produtos(3000).toList()), descrever(carregados));
+    }
+
+    private static List<String> descrever(List<Produto> produtos) {
+        return produtos.stream().map(p -> p.getNome() + "|" + p.getPreco()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,187 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+
+import com.example.config.CoalescenciaFilter;
+
+/**
+ * Testes unitários para CoalescenciaFilter.
+ * Verifica que GETs idênticos e simultâneos compartilham uma única execução.
+ */
+public class CoalescenciaFilterTest {
+
+    private final AtomicInteger execucoes = new AtomicInteger();
+    private final CountDownLatch liberarLider = new CountDownLatch(1);
+    private final AtomicLong versaoCatalogo = new AtomicLong();
+    private CoalescenciaFilter filtro;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        filtro = new CoalescenciaFilter(versaoCatalogo::get, 5000, 4, 1024);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testRequisicoesSimultaneasCompartilhamResposta() throws Exception {
+        FilterChain lenta = (req, res) -> {
+            execucoes.incrementAndGet();
+            aguardarLiberacao();
+            res.setContentType("text/html;charset=UTF-8");
+            res.getWriter().write("<p>Preço</p>");
+        };
+
+        List<Future<MockHttpServletResponse>> respostas = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            respostas.add(executor.submit(() -> executar(get("/produtos/listar"), lenta)));
+        }
+        Thread.sleep(200);
+        liberarLider.countDown();
+
+        int coalescidas = 0;
+        for (Future<MockHttpServletResponse> futura : respostas) {
+            MockHttpServletResponse resposta = futura.get(5, TimeUnit.SECONDS);
+            assertEquals("<p>Preço</p>", resposta.getContentAsString());
+            if ("true".equals(resposta.getHeader("X-Coalescido"))) {
+                coalescidas++;
+            }
+        }
+        assertEquals(1, execucoes.get(), "Apenas o líder deveria renderizar");
+        assertEquals(3, coalescidas);
+        assertEquals(0.75, filtro.getTaxaCoalescencia(), 0.001);
+    }
+
+    @Test
+    public void testRequisicoesSequenciaisNaoSaoCompartilhadas() throws Exception {
+        liberarLider.countDown();
+        FilterChain rapida = (req, res) -> res.getWriter().write("ok " + execucoes.incrementAndGet());
+
+        assertEquals("ok 1", executar(get("/produtos/listar"), rapida).getContentAsString());
+        assertEquals("ok 2", executar(get("/produtos/listar"), rapida).getContentAsString());
+        assertEquals(0, filtro.getCompartilhadas());
+    }
+
+    @Test
+    public void testRespostaComErroNaoECompartilhada() throws Exception {
+        FilterChain falha = (req, res) -> {
+            execucoes.incrementAndGet();
+            aguardarLiberacao();
+            ((HttpServletResponse) res).setStatus(404);
+        };
+
+        Future<MockHttpServletResponse> lider = executor.submit(() -> executar(get("/produtos/linha/9"), falha));
+        Thread.sleep(100);
+        Future<MockHttpServletResponse> seguidor = executor.submit(() -> executar(get("/produtos/linha/9"), falha));
+        Thread.sleep(100);
+        liberarLider.countDown();
+
+        assertEquals(404, lider.get(5, TimeUnit.SECONDS).getStatus());
+        MockHttpServletResponse resposta = seguidor.get(5, TimeUnit.SECONDS);
+        assertEquals(404, resposta.getStatus());
+        assertNull(resposta.getHeader("X-Coalescido"));
+        assertEquals(2, execucoes.get());
+    }
+
+    @Test
+    public void testRequisicaoDepoisDeEscritaNaoEntraEmLiderAnterior() throws Exception {
+        FilterChain lenta = (req, res) -> {
+            long versao = versaoCatalogo.get();
+            execucoes.incrementAndGet();
+            aguardarLiberacao();
+            res.getWriter().write("versao " + versao);
+        };
+
+        Future<MockHttpServletResponse> lider = executor.submit(() -> executar(get("/produtos/listar"), lenta));
+        Thread.sleep(100);
+        // Ex.: o fetch do formulário salvou e redireciona para a listagem sem cookie de flash
+        versaoCatalogo.incrementAndGet();
+        Future<MockHttpServletResponse> depois = executor.submit(() -> executar(get("/produtos/listar"), lenta));
+        Thread.sleep(100);
+        liberarLider.countDown();
+
+        assertEquals("versao 0", lider.get(5, TimeUnit.SECONDS).getContentAsString());
+        MockHttpServletResponse resposta = depois.get(5, TimeUnit.SECONDS);
+        assertEquals("versao 1", resposta.getContentAsString());
+        assertNull(resposta.getHeader("X-Coalescido"));
+        assertEquals(2, execucoes.get());
+        assertEquals(0, filtro.getCompartilhadas());
+    }
+
+    @Test
+    public void testSeguidoresAlemDoMaximoExecutamSozinhos() throws Exception {
+        filtro = new CoalescenciaFilter(versaoCatalogo::get, 5000, 1, 1024);
+        FilterChain lenta = (req, res) -> {
+            execucoes.incrementAndGet();
+            aguardarLiberacao();
+            res.getWriter().write("ok");
+        };
+
+        Future<MockHttpServletResponse> lider = executor.submit(() -> executar(get("/produtos/listar"), lenta));
+        Thread.sleep(100);
+        Future<MockHttpServletResponse> seguidor = executor.submit(() -> executar(get("/produtos/listar"), lenta));
+        Thread.sleep(100);
+        Future<MockHttpServletResponse> excedente = executor.submit(() -> executar(get("/produtos/listar"), lenta));
+        Thread.sleep(100);
+        liberarLider.countDown();
+
+        assertEquals("ok", lider.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertEquals("true", seguidor.get(5, TimeUnit.SECONDS).getHeader("X-Coalescido"));
+        assertNull(excedente.get(5, TimeUnit.SECONDS).getHeader("X-Coalescido"));
+        assertEquals(2, execucoes.get());
+        assertEquals(1, filtro.getNaoCompartilhaveis());
+    }
+
+    @Test
+    public void testRequisicaoComFlashNaoECoalescida() throws Exception {
+        liberarLider.countDown();
+        MockHttpServletRequest comFlash = get("/produtos/listar");
+        comFlash.setCookies(new Cookie("LOJINHA_FLASH", "x.y"));
+
+        executar(comFlash, (req, res) -> execucoes.incrementAndGet());
+        assertEquals(0, filtro.getLideres());
+        assertEquals(1, execucoes.get());
+    }
+
+    private MockHttpServletResponse executar(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, chain);
+        return response;
+    }
+
+    private void aguardarLiberacao() {
+        try {
+            liberarLider.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
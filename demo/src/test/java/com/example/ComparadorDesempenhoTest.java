@@ -0,0 +1,208 @@
+package com.example;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.benchmark.ComparadorDesempenho;
+import com.example.benchmark.ComparadorDesempenho.Comparacao;
+import com.example.benchmark.ComparadorDesempenho.Medida;
+import com.example.benchmark.ComparadorDesempenho.Metrica;
+import com.example.benchmark.ComparadorDesempenho.Situacao;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Testes unitários para ComparadorDesempenho.
+ * Verifica a leitura do JSON do JMH, o sentido de piora de cada métrica, tolerâncias e folgas.
+ */
+public class ComparadorDesempenhoTest {
+
+    private final ObjectMapper json = new ObjectMapper();
+    private ComparadorDesempenho comparador;
+
+    @BeforeEach
+    public void setUp() {
+        Properties tolerancias = new Properties();
+        tolerancias.setProperty("vazao", "10");
+        tolerancias.setProperty("p99", "20");
+        tolerancias.setProperty("tempo", "10");
+        tolerancias.setProperty("alocacao", "5");
+        tolerancias.setProperty("p99.ProdutoServiceBenchmark.listarTodos", "50");
+        tolerancias.setProperty("folga.alocacao", "16");
+        comparador = new ComparadorDesempenho(tolerancias);
+    }
+
+    @Test
+    public void testLeMetricasDeCadaModo() throws Exception {
+        Map<String, Medida> medidas = ler(execucao("buscarPorId", "thrpt", 4.0, 0, 40));
+        medidas.putAll(ler(execucao("buscarPorId", "sample", 0.3, 1.5, 40)));
+
+        assertEquals(4, medidas.size());
+        Medida vazao = unica(medidas, Metrica.VAZAO);
+        assertEquals("ProdutoServiceBenchmark.buscarPorId", vazao.benchmark());
+        assertEquals("ProdutoServiceBenchmark.buscarPorId [tamanho=1000] (thrpt)", vazao.descricao());
+        assertEquals(4.0, vazao.valor());
+        assertEquals(1.5, unica(medidas, Metrica.P99).valor(), "p99 vem dos percentis do modo sample");
+        assertEquals(40.0, medidas.values().stream().filter(m -> m.metrica() == Metrica.ALOCACAO)
+                .findFirst().orElseThrow().valor());
+    }
+
+    @Test
+    public void testQuedaDeVazaoAcimaDaToleranciaERegressao() throws Exception {
+        assertEquals(Situacao.REGRESSAO, situacao(Metrica.VAZAO,
+                execucao("buscarPorId", "thrpt", 4.0, 0, 40), execucao("buscarPorId", "thrpt", 3.5, 0, 40)));
+        assertEquals(Situacao.OK, situacao(Metrica.VAZAO,
+                execucao("buscarPorId", "thrpt", 4.0, 0, 40), execucao("buscarPorId", "thrpt", 3.7, 0, 40)));
+        assertEquals(Situacao.MELHORA, situacao(Metrica.VAZAO,
+                execucao("buscarPorId", "thrpt", 4.0, 0, 40), execucao("buscarPorId", "thrpt", 5.0, 0, 40)));
+    }
+
+    @Test
+    public void testDiferencaDentroDoErroNaoERegressao() throws Exception {
+        String baseline = execucao("buscarPorId", "thrpt", 4.0, 0, 40).replace("\"NaN\"", "0.4");
+        String atual = execucao("buscarPorId", "thrpt", 3.5, 0, 40).replace("\"NaN\"", "0.2");
+
+        assertEquals(Situacao.OK, situacao(Metrica.VAZAO, baseline, atual),
+                "Queda de 0,5 dentro dos intervalos de confiança somados (0,6) é ruído");
+    }
+
+    @Test
+    public void testAumentoDeP99RespeitaExcecaoPorBenchmark() throws Exception {
+        assertEquals(Situacao.REGRESSAO, situacao(Metrica.P99,
+                execucao("buscarPorId", "sample", 1, 10, 40), execucao("buscarPorId", "sample", 1, 13, 40)));
+        assertEquals(Situacao.OK, situacao(Metrica.P99,
+                execucao("listarTodos", "sample", 1, 10, 40), execucao("listarTodos", "sample", 1, 13, 40)),
+                "listarTodos tem tolerância própria de 50% no p99");
+    }
+
+    @Test
+    public void testAlocacaoPequenaFicaDentroDaFolga() throws Exception {
+        assertEquals(Situacao.OK, situacao(Metrica.ALOCACAO,
+                execucao("buscarPorId", "thrpt", 4, 0, 40), execucao("buscarPorId", "thrpt", 4, 0, 50)),
+                "10 B/op a mais está abaixo da folga de 16 B");
+        assertEquals(Situacao.REGRESSAO, situacao(Metrica.ALOCACAO,
+                execucao("listarTodos", "thrpt", 4, 0, 23_000), execucao("listarTodos", "thrpt", 4, 0, 25_000)));
+    }
+
+    @Test
+    public void testBenchmarkAusenteReprovaENovoNao() throws Exception {
+        List<Comparacao> comparacoes = comparador.comparar(
+                ler(execucao("listarTodos", "thrpt", 1, 0, 100)), ler(execucao("buscarPorId", "thrpt", 1, 0, 100)));
+
+        assertEquals(2, comparacoes.stream().filter(c -> c.situacao() == Situacao.AUSENTE).count());
+        assertEquals(2, comparacoes.stream().filter(c -> c.situacao() == Situacao.NOVA).count());
+        assertFalse(ComparadorDesempenho.temRegressao(comparacoes));
+        assertTrue(ComparadorDesempenho.reprovada(comparacoes), "Benchmark renomeado não pode desligar a barreira");
+
+        List<Comparacao> soNovas = comparador.comparar(
+                ler(execucao("buscarPorId", "thrpt", 1, 0, 100)),
+                ler(execucao("buscarPorId", "thrpt", 1, 0, 100) + "," + execucao("listarTodos", "thrpt", 1, 0, 100)));
+        assertFalse(ComparadorDesempenho.reprovada(soNovas));
+    }
+
+    @Test
+    public void testJvmDiferenteDaBaselineERecusada() throws Exception {
+        String jdk17 = execucao("buscarPorId", "thrpt", 4, 0, 40)
+                .replace("\"mode\"", "\"jdkVersion\": \"17.0.9\", \"vmName\": \"OpenJDK 64-Bit Server VM\", \"mode\"");
+        String jdk21 = jdk17.replace("17.0.9", "21.0.1");
+
+        List<String> divergencias = ComparadorDesempenho.divergenciasAmbiente(
+                json.readTree("[" + jdk17 + "]"), json.readTree("[" + jdk21 + "]"));
+        assertEquals(List.of("jdkVersion: baseline [17], atual [21]"), divergencias);
+        assertTrue(ComparadorDesempenho.divergenciasAmbiente(
+                json.readTree("[" + jdk21 + "]"), json.readTree("[" + jdk21.replace("21.0.1", "21.0.2") + "]")).isEmpty(),
+                "Atualização do JDK não invalida a baseline");
+    }
+
+    @Test
+    public void testExecutorDiferenteDaBaselineERecusado() throws Exception {
+        String execucao = execucao("buscarPorId", "thrpt", 4, 0, 40);
+        JsonNode baseline = ComparadorDesempenho.identificar(json.readTree("[" + execucao + "]"), "runner-ci");
+
+        assertEquals(List.of("executor: baseline [runner-ci], atual [notebook]"), ComparadorDesempenho.divergenciasAmbiente(
+                baseline, ComparadorDesempenho.identificar(json.readTree("[" + execucao + "]"), "notebook")));
+        assertTrue(ComparadorDesempenho.divergenciasAmbiente(
+                baseline, ComparadorDesempenho.identificar(json.readTree("[" + execucao + "]"), "runner-ci")).isEmpty());
+    }
+
+    @Test
+    public void testBaselineSemCamposLocais() throws Exception {
+        String execucao = execucao("buscarPorId", "thrpt", 4, 0, 40)
+                .replace("\"mode\"", "\"jvm\": \"/home/dev/jdk-21/bin/java\", \"mode\"");
+
+        JsonNode baseline = ComparadorDesempenho.semAmostras(json.readTree("[" + execucao + "]"));
+
+        assertFalse(baseline.get(0).has("jvm"), "O caminho do JDK de quem gravou não vai para a baseline");
+        assertFalse(baseline.get(0).get("primaryMetric").has("rawData"));
+    }
+
+    @Test
+    public void testExecutorInformadoPrevaleceSobreACpu() {
+        String anterior = System.getProperty("desempenho.executor");
+        try {
+            System.setProperty("desempenho.executor", "runner-ci");
+            assertEquals("runner-ci", ComparadorDesempenho.executor());
+            System.setProperty("desempenho.executor", "");
+            assertTrue(ComparadorDesempenho.executor().endsWith(
+                    " x" + Runtime.getRuntime().availableProcessors() + " " + System.getProperty("os.arch")));
+        } finally {
+            if (anterior == null) {
+                System.clearProperty("desempenho.executor");
+            } else {
+                System.setProperty("desempenho.executor", anterior);
+            }
+        }
+    }
+
+    @Test
+    public void testRelatorioResumeSituacoes() throws Exception {
+        List<Comparacao> comparacoes = comparador.comparar(
+                ler(execucao("buscarPorId", "thrpt", 4.0, 0, 40)), ler(execucao("buscarPorId", "thrpt", 2.0, 0, 40)));
+
+        String relatorio = ComparadorDesempenho.relatorio(comparacoes, "baseline.json");
+        assertTrue(ComparadorDesempenho.temRegressao(comparacoes));
+        assertTrue(relatorio.contains("-50.0%"), relatorio);
+        assertTrue(relatorio.contains("REGRESSÃO=1 melhora=0 ok=1"), relatorio);
+    }
+
+    private Situacao situacao(Metrica metrica, String baseline, String atual) throws Exception {
+        return comparador.comparar(ler(baseline), ler(atual)).stream()
+                .filter(c -> c.baseline().metrica() == metrica)
+                .findFirst().orElseThrow().situacao();
+    }
+
+    private Map<String, Medida> ler(String execucao) throws Exception {
+        return ComparadorDesempenho.ler(json.readTree("[" + execucao + "]"));
+    }
+
+    private static Medida unica(Map<String, Medida> medidas, Metrica metrica) {
+        return medidas.values().stream().filter(m -> m.metrica() == metrica).findFirst().orElseThrow();
+    }
+
+    /**
+     * Execução no formato gravado pelo JMH com "-rf json"
+     */
+    private static String execucao(String benchmark, String modo, double score, double p99, double alocacao) {
+        return """
+                {
+                  "benchmark": "com.example.benchmark.ProdutoServiceBenchmark.%s",
+                  "mode": "%s",
+                  "params": { "tamanho": "1000" },
+                  "primaryMetric": {
+                    "score": %s, "scoreError": "NaN", "scoreUnit": "us/op",
+                    "scorePercentiles": { "50.0": %s, "99.0": %s }
+                  },
+                  "secondaryMetrics": {
+                    "gc.alloc.rate.norm": { "score": %s, "scoreError": 0.01, "scoreUnit": "B/op" }
+                  }
+                }
+                """.formatted(benchmark, modo, score, score, p99, alocacao);
+    }
+}
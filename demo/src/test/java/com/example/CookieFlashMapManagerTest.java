@@ -0,0 +1,127 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.FlashMap;
+
+import jakarta.servlet.http.Cookie;
+
+import com.example.config.CookieFlashMapManager;
+import com.example.model.Produto;
+
+/**
+ * Testes unitários para CookieFlashMapManager.
+ * Verifica o ciclo redirect → leitura sem criação de HttpSession.
+ */
+public class CookieFlashMapManagerTest {
+
+    private static final byte[] CHAVE = "chave-de-teste-com-32-bytes-.....".getBytes();
+
+    private CookieFlashMapManager manager;
+
+    @BeforeEach
+    public void setUp() {
+        manager = new CookieFlashMapManager(CHAVE);
+    }
+
+    @Test
+    public void testMensagemSobreviveAoRedirectSemSessao() {
+        FlashMap flash = new FlashMap();
+        flash.put("erro", "Preço é obrigatório.");
+        flash.put("produto", new Produto(null, "Cadeira", null));
+        flash.setTargetRequestPath("/produtos/cadastrar");
+
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/produtos/salvar");
+        MockHttpServletResponse respostaPost = new MockHttpServletResponse();
+        manager.saveOutputFlashMap(flash, post, respostaPost);
+
+        Cookie cookie = respostaPost.getCookie("LOJINHA_FLASH");
+        assertNotNull(cookie, "Flash deveria ser enviado em cookie");
+        assertTrue(cookie.isHttpOnly());
+
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/produtos/cadastrar");
+        get.setCookies(cookie);
+        MockHttpServletResponse respostaGet = new MockHttpServletResponse();
+        FlashMap recebido = manager.retrieveAndUpdate(get, respostaGet);
+
+        assertNotNull(recebido);
+        assertEquals("Preço é obrigatório.", recebido.get("erro"));
+        assertEquals("Cadeira", ((Produto) recebido.get("produto")).getNome());
+        assertEquals(0, respostaGet.getCookie("LOJINHA_FLASH").getMaxAge(), "Cookie consumido deveria ser removido");
+        assertNull(post.getSession(false), "Não deveria criar sessão");
+        assertNull(get.getSession(false), "Não deveria criar sessão");
+    }
+
+    @Test
+    public void testMensagemParaOutroCaminhoNaoEConsumida() {
+        Cookie cookie = salvar("sucesso", "Produto salvo com sucesso!", "/produtos/listar");
+
+        MockHttpServletRequest outra = new MockHttpServletRequest("GET", "/produtos/cadastrar");
+        outra.setCookies(cookie);
+        assertNull(manager.retrieveAndUpdate(outra, new MockHttpServletResponse()));
+    }
+
+    @Test
+    public void testCookieAdulteradoEIgnorado() {
+        Cookie cookie = salvar("sucesso", "Produto salvo com sucesso!", "/produtos/listar");
+        String valor = cookie.getValue();
+        Cookie adulterado = new Cookie(cookie.getName(), "A" + valor.substring(1));
+
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/produtos/listar");
+        get.setCookies(adulterado);
+        assertNull(manager.retrieveAndUpdate(get, new MockHttpServletResponse()));
+    }
+
+    @Test
+    public void testCookieDeOutraChaveEIgnorado() {
+        Cookie cookie = salvar("sucesso", "Produto salvo com sucesso!", "/produtos/listar");
+        CookieFlashMapManager outraInstancia = new CookieFlashMapManager("outra-chave-com-32-bytes-.......".getBytes());
+
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/produtos/listar");
+        get.setCookies(cookie);
+        assertNull(outraInstancia.retrieveAndUpdate(get, new MockHttpServletResponse()));
+    }
+
+    @Test
+    public void testMensagemExpiradaEIgnorada() {
+        manager.setFlashMapTimeout(-1);
+        Cookie cookie = salvar("sucesso", "Produto salvo com sucesso!", "/produtos/listar");
+
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/produtos/listar");
+        get.setCookies(cookie);
+        assertNull(manager.retrieveAndUpdate(get, new MockHttpServletResponse()));
+    }
+
+    @Test
+    public void testProdutoGrandeEDescartadoMantendoMensagem() {
+        FlashMap flash = new FlashMap();
+        flash.put("erro", "Nome do produto muito longo. Use no máximo 255 caracteres.");
+        flash.put("produto", new Produto(null, "A".repeat(10000), 10.0));
+        flash.setTargetRequestPath("/produtos/cadastrar");
+        MockHttpServletResponse resposta = new MockHttpServletResponse();
+        manager.saveOutputFlashMap(flash, new MockHttpServletRequest("POST", "/produtos/salvar"), resposta);
+
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/produtos/cadastrar");
+        get.setCookies(resposta.getCookie("LOJINHA_FLASH"));
+        FlashMap recebido = manager.retrieveAndUpdate(get, new MockHttpServletResponse());
+
+        assertNotNull(recebido);
+        assertNotNull(recebido.get("erro"));
+        assertNull(recebido.get("produto"));
+    }
+
+    private Cookie salvar(String nome, String mensagem, String destino) {
+        FlashMap flash = new FlashMap();
+        flash.put(nome, mensagem);
+        flash.setTargetRequestPath(destino);
+        MockHttpServletResponse resposta = new MockHttpServletResponse();
+        manager.saveOutputFlashMap(flash, new MockHttpServletRequest("POST", "/produtos/salvar"), resposta);
+        return resposta.getCookie("LOJINHA_FLASH");
+    }
+}
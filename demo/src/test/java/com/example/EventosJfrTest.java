@@ -0,0 +1,129 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+
+import com.example.config.GravacaoJfrEndpoint;
+import com.example.model.Produto;
+import com.example.service.ProdutoService;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Testes unitários para os eventos JFR do catálogo e o endpoint de gravação.
+ */
+public class EventosJfrTest {
+
+    @Test
+    public void testEventosDasOperacoesDoCatalogo() throws Exception {
+        ProdutoService service = new ProdutoService();
+        int tamanhoInicial = service.contarTodos();
+        long versaoInicial = service.versaoCatalogo();
+
+        List<RecordedEvent> eventos;
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable("com.example.OperacaoCatalogo");
+            gravacao.start();
+            service.listarTodos();
+            service.tentarSalvar(new Produto("Cadeira", 10.0));
+            service.excluir(1L);
+            gravacao.stop();
+            eventos = lerEventos(gravacao);
+        }
+
+        RecordedEvent salvar = eventos.stream()
+                .filter(e -> "salvar".equals(e.getString("operacao"))).findFirst().orElseThrow();
+        assertEquals(tamanhoInicial + 1, salvar.getInt("tamanhoCatalogo"));
+        assertEquals(versaoInicial + 1, salvar.getLong("versaoCatalogo"));
+        assertTrue(salvar.getLong("produtoId") > 0);
+
+        RecordedEvent excluir = eventos.stream()
+                .filter(e -> "excluir".equals(e.getString("operacao"))).findFirst().orElseThrow();
+        assertEquals(1L, excluir.getLong("produtoId"));
+        assertEquals(tamanhoInicial, excluir.getInt("tamanhoCatalogo"));
+        assertEquals(versaoInicial + 2, excluir.getLong("versaoCatalogo"));
+
+        assertTrue(eventos.stream().anyMatch(e -> "listarTodos".equals(e.getString("operacao"))));
+    }
+
+    @Test
+    public void testVersaoNaoMudaEmLeiturasNemEmExclusaoInexistente() {
+        ProdutoService service = new ProdutoService();
+        long versao = service.versaoCatalogo();
+        service.listarTodos();
+        service.buscarPorId(1L);
+        service.excluir(9999L);
+        assertEquals(versao, service.versaoCatalogo());
+    }
+
+    @Test
+    public void testEndpointIniciaPausaEBaixaGravacao() throws Exception {
+        GravacaoJfrEndpoint endpoint = new GravacaoJfrEndpoint();
+        Map<String, Object> iniciada = endpoint.iniciar("default", null);
+        assertEquals("RUNNING", iniciada.get("estado"));
+
+        // Enquanto ativa, o download é um instantâneo, sem ambiente nem propriedades de sistema,
+        // apagado do disco ao fim da leitura
+        new ProdutoService().listarTodos();
+        long instantaneosAntes = contarInstantaneos();
+        Resource instantaneo = endpoint.baixar();
+        assertNotNull(instantaneo);
+        Path copia = Files.createTempFile("copia-", ".jfr");
+        try (InputStream conteudo = instantaneo.getInputStream()) {
+            Files.copy(conteudo, copia, StandardCopyOption.REPLACE_EXISTING);
+        }
+        try {
+            List<RecordedEvent> eventos = RecordingFile.readAllEvents(copia);
+            assertFalse(eventos.isEmpty());
+            assertTrue(eventos.stream().noneMatch(e -> e.getEventType().getName().equals("jdk.InitialEnvironmentVariable")
+                    || e.getEventType().getName().equals("jdk.InitialSystemProperty")));
+        } finally {
+            Files.deleteIfExists(copia);
+        }
+        assertEquals(instantaneosAntes, contarInstantaneos());
+
+        // Com destino definido, a gravação é gravada em disco e fechada ao parar
+        assertEquals("CLOSED", endpoint.parar().get("estado"));
+        Resource arquivo = endpoint.baixar();
+        assertNotNull(arquivo);
+        assertTrue(RecordingFile.readAllEvents(arquivo.getFile().toPath()).stream()
+                .anyMatch(e -> e.getEventType().getName().equals("com.example.OperacaoCatalogo")));
+
+        // Nova gravação descarta o arquivo anterior
+        endpoint.iniciar(null, null);
+        assertTrue(!Files.exists(arquivo.getFile().toPath()));
+        endpoint.parar();
+    }
+
+    private static long contarInstantaneos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return arquivos.filter(a -> a.getFileName().toString().startsWith("lojinha-instantaneo-")).count();
+        }
+    }
+
+    private static List<RecordedEvent> lerEventos(Recording gravacao) throws Exception {
+        Path arquivo = Files.createTempFile("eventos-", ".jfr");
+        try {
+            gravacao.dump(arquivo);
+            return RecordingFile.readAllEvents(arquivo);
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+}
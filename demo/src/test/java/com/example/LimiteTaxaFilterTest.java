@@ -0,0 +1,134 @@
+package com.example;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.config.LimitadorTaxa;
+import com.example.config.LimiteTaxaFilter;
+
+/**
+ * Testes unitários para LimitadorTaxa e LimiteTaxaFilter.
+ * Verifica rajada, recarga, isolamento entre clientes e limite de memória.
+ */
+public class LimiteTaxaFilterTest {
+
+    private final AtomicLong agora = new AtomicLong();
+    private LimitadorTaxa limitador;
+
+    @BeforeEach
+    public void setUp() {
+        limitador = new LimitadorTaxa(2, 3, 64, agora::get);
+    }
+
+    @Test
+    public void testRajadaEDepoisEspera() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limitador.consumir("10.0.0.1"), "Rajada de 3 deveria ser aceita");
+        }
+        long espera = limitador.consumir("10.0.0.1");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), espera, "A 2/s, o próximo token vem em 500 ms");
+
+        agora.addAndGet(espera);
+        assertEquals(0, limitador.consumir("10.0.0.1"));
+    }
+
+    @Test
+    public void testClientesTemBaldesIndependentes() {
+        for (int i = 0; i < 3; i++) {
+            limitador.consumir("10.0.0.1");
+        }
+        assertTrue(limitador.consumir("10.0.0.1") > 0);
+        assertEquals(0, limitador.consumir("10.0.0.2"));
+    }
+
+    @Test
+    public void testMemoriaLimitada() {
+        for (int i = 0; i < 1000; i++) {
+            limitador.consumir("cliente-" + i);
+        }
+        assertTrue(limitador.tamanho() <= 64, "Deveria manter no máximo 64 clientes: " + limitador.tamanho());
+    }
+
+    @Test
+    public void testClienteAtivoSobreviveAChavesRotativas() {
+        for (int i = 0; i < 3; i++) {
+            limitador.consumir("10.0.0.1");
+        }
+        // Abuso girando a chave do cliente: o cliente ativo continua entre os mais recentes
+        for (int i = 0; i < 10_000; i++) {
+            limitador.consumir("rotativo-" + i);
+            if (i % 2 == 0) {
+                assertTrue(limitador.consumir("10.0.0.1") > 0, "Balde esvaziado foi descartado em " + i);
+            }
+        }
+        assertTrue(limitador.tamanho() <= 64, "Deveria manter no máximo 64 clientes: " + limitador.tamanho());
+    }
+
+    @Test
+    public void testBaldesOciososExpiramSemPressaoDeCapacidade() {
+        for (int i = 0; i < 10; i++) {
+            limitador.consumir("ocioso-" + i);
+        }
+        limitador.consumir("10.0.0.1");
+        assertEquals(11, limitador.tamanho());
+
+        // Recarga completa (rajada de 3 a 2/s): os ociosos estão cheios e saem na varredura periódica
+        agora.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+        assertEquals(0, limitador.consumir("10.0.0.1"));
+
+        assertEquals(1, limitador.tamanho(), "Só o cliente que disparou a varredura continua");
+    }
+
+    @Test
+    public void testClienteDescartadoVoltaComBaldeNovo() {
+        for (int i = 0; i < 3; i++) {
+            limitador.consumir("10.0.0.1");
+        }
+        agora.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+        // A varredura disparada por outro cliente descarta o balde cheio de 10.0.0.1
+        limitador.consumir("10.0.0.2");
+        assertEquals(1, limitador.tamanho());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limitador.consumir("10.0.0.1"), "Balde novo começa cheio");
+        }
+        assertTrue(limitador.consumir("10.0.0.1") > 0, "E é o balde do mapa que se esvazia");
+        assertEquals(2, limitador.tamanho());
+    }
+
+    @Test
+    public void testFiltroRecusaCom429ApenasEscritas() throws Exception {
+        LimiteTaxaFilter filtro = new LimiteTaxaFilter(new LimitadorTaxa(1, 1, 64, agora::get),
+            new LimitadorTaxa(1, 1, 64, agora::get));
+        AtomicInteger executadas = new AtomicInteger();
+
+        MockHttpServletResponse primeira = executar(filtro, "POST", "/produtos/salvar", executadas);
+        MockHttpServletResponse segunda = executar(filtro, "POST", "/produtos/salvar", executadas);
+        MockHttpServletResponse exclusao = executar(filtro, "GET", "/produtos/excluir/1", executadas);
+        MockHttpServletResponse leitura = executar(filtro, "GET", "/produtos/listar", executadas);
+        executar(filtro, "GET", "/produtos/listar", executadas);
+
+        assertEquals(200, primeira.getStatus());
+        assertEquals(429, segunda.getStatus());
+        assertEquals("1", segunda.getHeader("Retry-After"));
+        assertEquals(200, exclusao.getStatus(), "Excluir tem balde próprio");
+        assertEquals(200, leitura.getStatus());
+        assertEquals(4, executadas.get());
+        assertEquals(1, filtro.getLimitadas());
+    }
+
+    private static MockHttpServletResponse executar(LimiteTaxaFilter filtro, String metodo, String uri,
+                                                    AtomicInteger executadas) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest(metodo, uri), response, (req, res) -> executadas.incrementAndGet());
+        return response;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.KeyValuePair;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+
+import com.example.config.AppenderAssincrono;
+import com.example.config.EncoderJson;
+
+/**
+ * Testes unitários para o log assíncrono: políticas de estouro do AppenderAssincrono
+ * e formato do EncoderJson.
+ */
+public class LogAssincronoTest {
+
+    private final LoggerContext contexto = new LoggerContext();
+    private final CountDownLatch liberarEscrita = new CountDownLatch(1);
+    private final List<String> escritos = new CopyOnWriteArrayList<>();
+    private AppenderAssincrono assincrono;
+
+    /**
+     * Destino que só escreve depois de liberado, simulando E/S lenta
+     */
+    private class DestinoLento extends AppenderBase<ILoggingEvent> {
+        @Override
+        protected void append(ILoggingEvent evento) {
+            try {
+                liberarEscrita.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            escritos.add(evento.getFormattedMessage());
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        contexto.setMDCAdapter(new LogbackMDCAdapter());
+        DestinoLento destino = new DestinoLento();
+        destino.setContext(contexto);
+        destino.start();
+
+        assincrono = new AppenderAssincrono();
+        assincrono.setContext(contexto);
+        assincrono.setName("TESTE");
+        assincrono.setCapacidade(2);
+        assincrono.addAppender(destino);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        liberarEscrita.countDown();
+        assincrono.stop();
+    }
+
+    @Test
+    public void testDescartarNuncaBloqueiaEContaPerdas() {
+        assincrono.setPoliticaEstouro("descartar");
+        assincrono.start();
+        Logger logger = logger();
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            logger.info("evento {}", i);
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 1000);
+
+        // Um evento em escrita e dois no buffer; o resto é descartado
+        assertTrue(assincrono.getDescartados() >= 17, "descartados: " + assincrono.getDescartados());
+
+        liberarEscrita.countDown();
+        assincrono.stop();
+        assertEquals(20, escritos.size() + assincrono.getDescartados());
+        assertEquals("evento 0", escritos.get(0));
+    }
+
+    @Test
+    public void testBloquearEsperaPorEspaco() throws Exception {
+        assincrono.setPoliticaEstouro("bloquear");
+        assincrono.start();
+        Logger logger = logger();
+
+        Thread produtor = new Thread(() -> {
+            for (int i = 0; i < 10; i++) {
+                logger.info("evento {}", i);
+            }
+        });
+        produtor.start();
+        produtor.join(300);
+        assertTrue(produtor.isAlive(), "Com o buffer cheio o produtor deveria esperar");
+
+        liberarEscrita.countDown();
+        produtor.join(5000);
+        assertFalse(produtor.isAlive());
+        assincrono.stop();
+
+        assertEquals(10, escritos.size());
+        assertEquals(0, assincrono.getDescartados());
+        assertTrue(assincrono.getBloqueios() > 0);
+    }
+
+    @Test
+    public void testPoliticaInvalidaMantemPadrao() {
+        assincrono.setPoliticaEstouro("ignorar");
+        assertEquals("descartar", assincrono.getPoliticaEstouro());
+    }
+
+    @Test
+    public void testEncoderJsonComParesChaveValor() {
+        EncoderJson encoder = new EncoderJson();
+        encoder.setContext(contexto);
+        encoder.start();
+
+        LoggingEvent evento = new LoggingEvent("x", logger(), Level.INFO, "linha \"1\"\n{}", null, new Object[] { "fim" });
+        evento.setThreadName("bulkhead-escrita-1");
+        evento.addKeyValuePair(new KeyValuePair("endpoint", "salvar"));
+        evento.addKeyValuePair(new KeyValuePair("produtoId", 4L));
+        evento.addKeyValuePair(new KeyValuePair("anterior", null));
+
+        String json = new String(encoder.encode(evento), StandardCharsets.UTF_8);
+
+        assertTrue(json.startsWith("{\"instante\":\""), json);
+        assertTrue(json.endsWith("}\n"), json);
+        assertTrue(json.contains("\"nivel\":\"INFO\""), json);
+        assertTrue(json.contains("\"thread\":\"bulkhead-escrita-1\""), json);
+        assertTrue(json.contains("\"mensagem\":\"linha \\\"1\\\"\\nfim\""), json);
+        assertTrue(json.contains("\"endpoint\":\"salvar\",\"produtoId\":4,\"anterior\":null"), json);
+    }
+
+    private Logger logger() {
+        Logger logger = contexto.getLogger("teste");
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(false);
+        logger.addAppender(assincrono);
+        return logger;
+    }
+}
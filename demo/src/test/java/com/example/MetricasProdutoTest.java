@@ -0,0 +1,90 @@
+package com.example;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.Produto;
+import com.example.service.ProdutoService;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Testes unitários para as métricas do ProdutoService.
+ * Verifica timers por operação, falhas de validação por motivo e o tamanho do catálogo.
+ */
+public class MetricasProdutoTest {
+
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+    private ProdutoService service;
+
+    @BeforeEach
+    public void setUp() {
+        service = new ProdutoService();
+        service.registrarMetricas(registro);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        registro.close();
+    }
+
+    @Test
+    public void testTimersPorOperacao() {
+        service.listarTodos();
+        service.buscarPorId(1L);
+        service.tentarSalvar(new Produto("Cadeira", 10.0));
+        service.excluir(1L);
+
+        for (String operacao : new String[] { "listarTodos", "buscarPorId", "salvar", "excluir" }) {
+            assertEquals(1, registro.get("produtos.servico").tag("operacao", operacao).timer().count(), operacao);
+        }
+    }
+
+    @Test
+    public void testIteracaoMedidaAoSeEsgotar() {
+        Iterator<Produto> iterador = service.iterarTodos().iterator();
+        while (iterador.hasNext()) {
+            assertEquals(0, timerListarTodos().count(), "Só conta quando a iteração termina");
+            iterador.next();
+        }
+        iterador.hasNext();
+
+        assertEquals(1, timerListarTodos().count());
+    }
+
+    @Test
+    public void testIteracaoInterrompidaMedidaAoFechar() throws Exception {
+        Iterator<Produto> iterador = service.iterarTodos().iterator();
+        iterador.next();
+        ((AutoCloseable) iterador).close();
+        ((AutoCloseable) iterador).close();
+
+        assertEquals(1, timerListarTodos().count());
+    }
+
+    private Timer timerListarTodos() {
+        return registro.get("produtos.servico").tag("operacao", "listarTodos").timer();
+    }
+
+    @Test
+    public void testFalhasDeValidacaoPorMotivo() {
+        service.tentarSalvar(new Produto("", 10.0));
+        service.tentarSalvar(new Produto(null, 10.0));
+        service.tentarSalvar(new Produto("Cadeira", -1.0));
+
+        assertEquals(2.0, registro.get("produtos.validacao.falhas").tag("motivo", "NOME_OBRIGATORIO").counter().count());
+        assertEquals(1.0, registro.get("produtos.validacao.falhas").tag("motivo", "PRECO_NEGATIVO").counter().count());
+    }
+
+    @Test
+    public void testTamanhoDoCatalogo() {
+        double inicial = registro.get("produtos.catalogo.tamanho").gauge().value();
+        service.tentarSalvar(new Produto("Cadeira", 10.0));
+        assertEquals(inicial + 1, registro.get("produtos.catalogo.tamanho").gauge().value());
+    }
+}
@@ -0,0 +1,112 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import org.junit.jupiter.api.Test;
+
+import com.example.fuzzing.EntradaProduto;
+import com.example.fuzzing.MotorFuzzing;
+import com.example.fuzzing.MotorFuzzing.Configuracao;
+import com.example.fuzzing.Propriedade;
+import com.example.fuzzing.ResultadoFuzzing;
+import com.example.service.ResultadoValidacao;
+
+/**
+ * Testes unitários para MotorFuzzing.
+ * Usa propriedades com falhas plantadas: verifica a redução ao caso mínimo, a reprodução com
+ * qualquer número de threads, a interrupção no máximo de falhas e a cobertura dos valores-limite.
+ */
+public class MotorFuzzingTest {
+
+    private static MotorFuzzing motor(long casos, int threads, int maximoFalhas) {
+        return new MotorFuzzing(new Configuracao(casos, Duration.ZERO, threads, 42, maximoFalhas));
+    }
+
+    @Test
+    public void testReduzNomeLongoAoMenorNomeQueFalha() {
+        Propriedade limite = entrada -> {
+            if (entrada.nome() != null && entrada.nome().length() > ResultadoValidacao.TAMANHO_MAXIMO_NOME) {
+                fail("nome longo");
+            }
+        };
+
+        ResultadoFuzzing resultado = motor(10_000, 2, 1).executar("limite", () -> limite);
+
+        assertEquals(1, resultado.falhas().size());
+        EntradaProduto minima = resultado.falhas().get(0).minima();
+        assertEquals(new EntradaProduto(null, "a".repeat(ResultadoValidacao.TAMANHO_MAXIMO_NOME + 1), null), minima);
+    }
+
+    @Test
+    public void testMesmoResultadoComQualquerNumeroDeThreads() {
+        Propriedade rara = entrada -> {
+            if (entrada.id() != null && entrada.id() == Long.MIN_VALUE
+                    && entrada.preco() != null && entrada.preco().isNaN()) {
+                fail("NaN com ID mínimo");
+            }
+        };
+
+        ResultadoFuzzing umaThread = motor(20_000, 1, 1000).executar("rara", () -> rara);
+        ResultadoFuzzing quatroThreads = motor(20_000, 4, 1000).executar("rara", () -> rara);
+
+        assertEquals(20_000, umaThread.execucoes());
+        assertEquals(20_000, quatroThreads.execucoes());
+        assertFalse(umaThread.isAprovada(), umaThread.formatar());
+        assertEquals(umaThread.falhas(), quatroThreads.falhas());
+        assertEquals(new EntradaProduto(Long.MIN_VALUE, null, Double.NaN), umaThread.falhas().get(0).minima());
+    }
+
+    @Test
+    public void testInterrompeNoMaximoDeFalhas() {
+        ResultadoFuzzing resultado = motor(1_000_000, 2, 3).executar("sempre", () -> entrada -> {
+            throw new IllegalStateException("falha plantada");
+        });
+
+        assertTrue(resultado.execucoes() < 1_000_000, "Deveria parar após 3 falhas: " + resultado.execucoes());
+        assertEquals(1, resultado.falhas().size(), "As falhas se reduzem à mesma entrada vazia");
+        assertEquals(new EntradaProduto(null, null, null), resultado.falhas().get(0).minima());
+        assertTrue(resultado.falhas().get(0).erro().startsWith("IllegalStateException: falha plantada em "));
+    }
+
+    @Test
+    public void testGeradorCobreValoresLimite() {
+        MotorFuzzing motor = motor(1, 1, 1);
+        EntradaProduto[] entradas = LongStream.range(0, 50_000).mapToObj(motor::entrada).toArray(EntradaProduto[]::new);
+
+        assertCobre(entradas, "preço NaN", e -> e.preco() != null && e.preco().isNaN());
+        assertCobre(entradas, "preço +∞", e -> e.preco() != null && e.preco() == Double.POSITIVE_INFINITY);
+        assertCobre(entradas, "preço -∞", e -> e.preco() != null && e.preco() == Double.NEGATIVE_INFINITY);
+        assertCobre(entradas, "preço -0.0", e -> e.preco() != null && e.preco().equals(-0.0));
+        assertCobre(entradas, "preço subnormal", e -> e.preco() != null && e.preco() == Double.MIN_VALUE);
+        assertCobre(entradas, "nome no limite", e -> e.nome() != null
+                && e.nome().length() == ResultadoValidacao.TAMANHO_MAXIMO_NOME);
+        assertCobre(entradas, "nome acima do limite", e -> e.nome() != null
+                && e.nome().length() == ResultadoValidacao.TAMANHO_MAXIMO_NOME + 1);
+        assertCobre(entradas, "nome com controle", e -> e.nome() != null && e.nome().chars().anyMatch(Character::isISOControl));
+        assertCobre(entradas, "nome com emoji", e -> e.nome() != null
+                && e.nome().codePoints().anyMatch(Character::isSupplementaryCodePoint));
+        assertCobre(entradas, "nome em branco", e -> e.nome() != null && !e.nome().isEmpty() && e.nome().isBlank());
+        assertCobre(entradas, "ID máximo", e -> e.id() != null && e.id() == Long.MAX_VALUE);
+        assertCobre(entradas, "ID negativo", e -> e.id() != null && e.id() < 0);
+    }
+
+    @Test
+    public void testConfiguracaoInvalidaERejeitada() {
+        assertThrows(IllegalArgumentException.class, () -> new Configuracao(100, Duration.ZERO, 0, 42, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Configuracao(0, Duration.ZERO, 1, 42, 1));
+    }
+
+    private static void assertCobre(EntradaProduto[] entradas, String descricao,
+            Predicate<EntradaProduto> condicao) {
+        long quantidade = Arrays.stream(entradas).filter(condicao).count();
+        assertTrue(quantidade > 0, "Nenhuma entrada com " + descricao);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.catalogo.CatalogoSintetico;
+import com.example.service.PegadaMemoria;
+import com.example.service.PegadaMemoria.Componente;
+import com.example.service.PegadaMemoria.Relatorio;
+import com.example.service.ProdutoService;
+
+/**
+ * Testes unitários para PegadaMemoria.
+ * Verifica os componentes por produto, a concordância entre estimativa e medição exata e as projeções.
+ */
+public class PegadaMemoriaTest {
+
+    private ProdutoService service;
+
+    @BeforeEach
+    public void setUp() {
+        service = new ProdutoService();
+    }
+
+    @Test
+    public void testComponentesDoProdutoTemTamanhoPositivo() {
+        new CatalogoSintetico(42).carregar(service, 1000);
+
+        Relatorio relatorio = new PegadaMemoria(service, 100).medir(false);
+
+        assertEquals(1003, relatorio.produtos());
+        assertEquals(100, relatorio.amostra());
+        for (Componente componente : relatorio.porProduto()) {
+            assertTrue(componente.bytes() > 0, componente.nome() + " sem tamanho");
+        }
+        assertEquals(relatorio.bytesPorProduto(),
+                relatorio.porProduto().stream().mapToDouble(Componente::bytes).sum(), 0.001);
+    }
+
+    @Test
+    public void testIdsDoCacheDeLongNaoContam() {
+        Relatorio relatorio = new PegadaMemoria(service, 10).medir(false);
+
+        assertEquals(0.0, componente(relatorio, "id").bytes(), "IDs 1 a 3 vêm do cache de Long");
+    }
+
+    @Test
+    public void testAmostraPorIdNaoRepeteProdutos() {
+        new CatalogoSintetico(42).carregar(service, 1000);
+        // Catálogo esparso: sobra um produto a cada 50 IDs
+        for (long id = 1; id <= 1003; id++) {
+            if (id % 50 != 0) {
+                service.excluir(id);
+            }
+        }
+
+        Relatorio relatorio = new PegadaMemoria(service, 100).medir(false);
+
+        assertEquals(20, relatorio.produtos());
+        assertEquals(20, relatorio.amostra(), "Cada produto deveria entrar uma única vez na amostra");
+    }
+
+    @Test
+    public void testEstimativaConcordaComMedicaoExata() {
+        new CatalogoSintetico(7).carregar(service, 20_000);
+
+        Relatorio estimado = new PegadaMemoria(service, 1000).medir(false);
+        Relatorio exato = new PegadaMemoria(service, 1000).medir(true);
+
+        assertTrue(exato.exato());
+        double diferenca = Math.abs(estimado.bytesCatalogo() - exato.bytesCatalogo()) / (double) exato.bytesCatalogo();
+        assertTrue(diferenca < 0.05, "Estimativa " + estimado.bytesCatalogo()
+                + " B difere da medição exata " + exato.bytesCatalogo() + " B em " + diferenca * 100 + "%");
+    }
+
+    @Test
+    public void testProjecoesCrescemLinearmente() {
+        new CatalogoSintetico(42).carregar(service, 1000);
+
+        Relatorio relatorio = new PegadaMemoria(service, 1000).medir(false, 1_000, 1_000_000);
+        Map<Long, Long> projecoes = relatorio.projecoes();
+
+        long mil = projecoes.get(1_000L) - relatorio.bytesFixos();
+        long milhao = projecoes.get(1_000_000L) - relatorio.bytesFixos();
+        assertEquals(mil * 1000.0, milhao, 1000.0);
+        assertTrue(relatorio.capacidadeTeorica() > 0);
+        assertTrue(relatorio.formatar().contains("1,000,000 produtos"), relatorio.formatar());
+    }
+
+    @Test
+    public void testAmostraVaziaERejeitada() {
+        assertThrows(IllegalArgumentException.class, () -> new PegadaMemoria(service, 0));
+    }
+
+    private static Componente componente(Relatorio relatorio, String nome) {
+        return relatorio.porProduto().stream().filter(c -> c.nome().equals(nome)).findFirst().orElseThrow();
+    }
+}
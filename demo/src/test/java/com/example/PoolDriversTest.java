@@ -0,0 +1,151 @@
+package com.example;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.example.test.base.PoolDrivers;
+import com.gargoylesoftware.htmlunit.BrowserVersion;
+import com.gargoylesoftware.htmlunit.WebClient;
+
+/**
+ * Testes unitários para PoolDrivers.
+ * Usa HtmlUnitDriver com JavaScript no lugar do Chrome: verifica o reaproveitamento das sessões,
+ * a limpeza de cookies e armazenamento na devolução, o limite do pool e o descarte de sessões perdidas.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "produtos.limite-taxa.habilitado=false")
+public class PoolDriversTest {
+
+    @LocalServerPort
+    private int porta;
+
+    private PoolDrivers pool;
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * HtmlUnit com JavaScript para acessar o armazenamento da página; sem CSS e sem falhar nos
+     * erros de script, pois o HtmlUnit não interpreta o Bootstrap 5
+     */
+    private static WebDriver htmlUnitComJavaScript() {
+        return new HtmlUnitDriver(BrowserVersion.BEST_SUPPORTED, true) {
+            @Override
+            protected WebClient modifyWebClient(WebClient client) {
+                client.getOptions().setCssEnabled(false);
+                client.getOptions().setThrowExceptionOnScriptError(false);
+                return client;
+            }
+        };
+    }
+
+    @Test
+    public void testReaproveitaSessaoDevolvida() {
+        pool = new PoolDrivers(2, PoolDriversTest::htmlUnitComJavaScript);
+
+        WebDriver primeiro = pool.emprestar();
+        pool.devolver(primeiro);
+        WebDriver segundo = pool.emprestar();
+
+        assertSame(primeiro, segundo);
+        assertEquals(1, pool.getCriados());
+    }
+
+    @Test
+    public void testDevolucaoLimpaCookiesEArmazenamento() {
+        pool = new PoolDrivers(1, PoolDriversTest::htmlUnitComJavaScript);
+        String listar = "http://localhost:" + porta + "/produtos/listar";
+
+        WebDriver driver = pool.emprestar();
+        driver.get(listar);
+        driver.manage().addCookie(new Cookie("sessao-teste", "1"));
+        ((JavascriptExecutor) driver).executeScript(
+                "localStorage.setItem('chave', 'a'); sessionStorage.setItem('lojinha.sucesso', 'b');");
+        pool.devolver(driver);
+
+        driver = pool.emprestar();
+        assertEquals("about:blank", driver.getCurrentUrl());
+        driver.get(listar);
+        assertNull(driver.manage().getCookieNamed("sessao-teste"));
+        JavascriptExecutor javascript = (JavascriptExecutor) driver;
+        assertNull(javascript.executeScript("return localStorage.getItem('chave');"));
+        assertNull(javascript.executeScript("return sessionStorage.getItem('lojinha.sucesso');"));
+    }
+
+    @Test
+    public void testPoolCheioAguardaDevolucao() throws Exception {
+        pool = new PoolDrivers(1, PoolDriversTest::htmlUnitComJavaScript);
+        WebDriver emprestado = pool.emprestar();
+
+        CompletableFuture<WebDriver> espera = CompletableFuture.supplyAsync(pool::emprestar);
+        assertThrows(TimeoutException.class, () -> espera.get(500, TimeUnit.MILLISECONDS),
+                "Com o pool cheio, o segundo empréstimo deveria aguardar");
+
+        pool.devolver(emprestado);
+        assertSame(emprestado, espera.get(10, TimeUnit.SECONDS));
+        assertEquals(1, pool.getCriados());
+    }
+
+    @Test
+    public void testSessaoPerdidaEDescartada() {
+        pool = new PoolDrivers(1, PoolDriversTest::htmlUnitComJavaScript);
+        WebDriver perdido = pool.emprestar();
+        perdido.quit();
+
+        pool.devolver(perdido);
+
+        assertEquals(0, pool.getCriados());
+        WebDriver novo = pool.emprestar();
+        assertNotSame(perdido, novo);
+        assertFalse(novo.getWindowHandles().isEmpty());
+    }
+
+    @Test
+    public void testSessaoSemJanelasEDescartada() {
+        pool = new PoolDrivers(1, () -> new HtmlUnitDriver() {
+            @Override
+            public Set<String> getWindowHandles() {
+                return Set.of();
+            }
+        });
+        WebDriver semJanelas = pool.emprestar();
+
+        pool.devolver(semJanelas);
+
+        assertEquals(0, pool.getCriados());
+        WebDriver novo = pool.emprestar();
+        assertNotSame(semJanelas, novo);
+    }
+
+    @Test
+    public void testDriverDeOutroPoolERejeitado() {
+        pool = new PoolDrivers(1, PoolDriversTest::htmlUnitComJavaScript);
+        HtmlUnitDriver estranho = new HtmlUnitDriver();
+        try {
+            assertThrows(IllegalArgumentException.class, () -> pool.devolver(estranho));
+        } finally {
+            estranho.quit();
+        }
+    }
+}
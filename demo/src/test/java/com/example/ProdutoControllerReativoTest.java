@@ -0,0 +1,114 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Testes de integração da pilha reativa (perfil "reativo").
+ * Sobe a aplicação com WebFlux e verifica a renderização em fluxo da listagem.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reativo")
+class ProdutoControllerReativoTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    void testListarRenderizaProdutos() {
+        String html = client.get().uri("/produtos/listar")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertNotNull(html);
+        assertTrue(html.contains("id=\"produto-1\""), "Listagem deveria conter o produto 1");
+        assertTrue(html.contains("Notebook"));
+    }
+
+    @Test
+    void testSalvarRedirecionaComMensagem() {
+        client.post().uri("/produtos/salvar")
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .bodyValue("nome=Webcam&preco=120.0")
+                .exchange()
+                .expectStatus().is3xxRedirection()
+                .expectHeader().valueEquals("Location", "/produtos/listar?msg=salvo");
+    }
+
+    @Test
+    void testSalvarInvalidoExibeFormulario() {
+        String html = client.post().uri("/produtos/salvar")
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .bodyValue("nome=&preco=10.0")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertNotNull(html);
+        assertTrue(html.contains("alertErro"), "Formulário deveria exibir o alerta de erro");
+    }
+
+    @Test
+    void testEditarInexistenteRedireciona() {
+        client.get().uri("/produtos/editar/99999")
+                .exchange()
+                .expectStatus().is3xxRedirection()
+                .expectHeader().valueEquals("Location", "/produtos/listar?msg=nao-encontrado");
+    }
+
+    @Test
+    void testSalvarParcialRespondeIdSemRedirecionar() {
+        String id = client.post().uri("/produtos/salvar")
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("X-Requested-With", "fetch")
+                .bodyValue("nome=Headset&preco=199.0")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class).getResponseHeaders().getFirst("X-Produto-Id");
+
+        assertNotNull(id);
+        String linha = client.get().uri("/produtos/linha/" + id)
+                .header("X-Requested-With", "fetch")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+        assertNotNull(linha);
+        assertTrue(linha.contains("id=\"produto-" + id + "\""), linha);
+        assertTrue(linha.contains("Headset"));
+    }
+
+    @Test
+    void testSalvarParcialInvalidoRespondeAlertasCom422() {
+        String html = client.post().uri("/produtos/salvar")
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("X-Requested-With", "fetch")
+                .bodyValue("nome=&preco=10.0")
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertNotNull(html);
+        assertTrue(html.contains("alertErro"));
+        assertFalse(html.contains("<form"), "Deveria responder só a área de alertas");
+    }
+
+    @Test
+    void testExcluirParcialInexistenteRespondeAlertasCom404() {
+        String html = client.get().uri("/produtos/excluir/99999")
+                .header("X-Requested-With", "fetch")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertNotNull(html);
+        assertTrue(html.contains("id=\"alertas\""));
+        assertFalse(html.contains("produtosTable"), "Deveria responder só a área de alertas");
+    }
+}
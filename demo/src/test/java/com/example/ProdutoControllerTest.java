@@ -1,28 +1,41 @@
 package com.example;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.fail;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.ui.Model;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.example.controller.ProdutoController;
 import com.example.model.Produto;
 import com.example.service.ProdutoService;
+import com.example.service.ResultadoValidacao;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * Testes unitários para ProdutoController
@@ -34,12 +47,14 @@ class ProdutoControllerTest {
     private ProdutoService service;
     private Model model;
     private RedirectAttributes redirectAttributes;
+    private MockHttpServletResponse response;
 
     @BeforeEach
     void setUp() {
         service = mock(ProdutoService.class);
         model = mock(Model.class);
         redirectAttributes = mock(RedirectAttributes.class);
+        response = new MockHttpServletResponse();
         controller = new ProdutoController();
         
         // Injeta o service mock via reflexão
@@ -67,15 +82,17 @@ class ProdutoControllerTest {
         p2.setPreco(20.0);
         
         List<Produto> produtos = Arrays.asList(p1, p2);
-        when(service.listarTodos()).thenReturn(produtos);
+        when(service.iterarTodos()).thenReturn(produtos);
+        when(service.contarTodos()).thenReturn(produtos.size());
 
         // Ação
-        String viewName = controller.listar(model);
+        String viewName = controller.listar(model, response);
 
         // Verificação
         assertEquals("listar", viewName);
-        verify(model).addAttribute("produtos", produtos);
-        verify(service).listarTodos();
+        assertEquals(produtos, produtosNoModelo());
+        verify(model).addAttribute("vazio", false);
+        verify(service).iterarTodos();
     }
 
     @Test
@@ -97,17 +114,34 @@ class ProdutoControllerTest {
         produto.setNome("Novo Produto");
         produto.setPreco(15.0);
         
-        when(service.salvar(produto)).thenReturn(produto);
+        when(service.tentarSalvar(produto, null)).thenReturn(ResultadoValidacao.VALIDO);
 
         // Ação
-        String viewName = controller.salvar(produto, redirectAttributes);
+        String viewName = executar(controller.salvar(produto, null, null, redirectAttributes));
 
         // Verificação
         assertEquals("redirect:/produtos/listar", viewName);
-        verify(service).salvar(produto);
+        verify(service).tentarSalvar(produto, null);
         verify(redirectAttributes).addFlashAttribute("sucesso", "Produto salvo com sucesso!");
     }
 
+    @Test
+    @DisplayName("Deve repassar a chave de idempotência, com o cabeçalho prevalecendo sobre o campo")
+    void testSalvarComChaveIdempotencia() {
+        // Preparação
+        Produto produto = createProduto(null, "Produto", 15.0);
+        when(service.tentarSalvar(produto, "do-cabecalho")).thenReturn(ResultadoValidacao.VALIDO);
+        when(service.tentarSalvar(produto, "do-campo")).thenReturn(ResultadoValidacao.VALIDO);
+
+        // Ação
+        executar(controller.salvar(produto, "do-cabecalho", "do-campo", redirectAttributes));
+        executar(controller.salvar(produto, null, "do-campo", redirectAttributes));
+
+        // Verificação
+        verify(service).tentarSalvar(produto, "do-cabecalho");
+        verify(service).tentarSalvar(produto, "do-campo");
+    }
+
     @Test
     @DisplayName("Deve tratar erro ao salvar e exibir mensagem de erro")
     void testSalvarComErro() {
@@ -116,15 +150,14 @@ class ProdutoControllerTest {
         produto.setNome("Produto Teste");
         produto.setPreco(10.0);
         
-        doThrow(new IllegalArgumentException("Nome não pode ser vazio"))
-            .when(service).salvar(produto);
+        when(service.tentarSalvar(produto, null)).thenReturn(ResultadoValidacao.NOME_OBRIGATORIO);
 
         // Ação
-        String viewName = controller.salvar(produto, redirectAttributes);
+        String viewName = executar(controller.salvar(produto, null, null, redirectAttributes));
 
         // Verificação
         assertEquals("redirect:/produtos/cadastrar", viewName);
-        verify(redirectAttributes).addFlashAttribute(eq("erro"), anyString());
+        verify(redirectAttributes).addFlashAttribute("erro", ResultadoValidacao.NOME_OBRIGATORIO.getMensagem());
     }
 
     @Test
@@ -140,7 +173,7 @@ class ProdutoControllerTest {
         when(service.buscarPorId(id)).thenReturn(Optional.of(produto));
 
         // Ação
-        String viewName = controller.editarForm(id, model, redirectAttributes);
+        String viewName = executar(controller.editarForm(id, model, redirectAttributes));
 
         // Verificação
         assertEquals("form", viewName);
@@ -156,7 +189,7 @@ class ProdutoControllerTest {
         when(service.buscarPorId(id)).thenReturn(Optional.empty());
 
         // Ação
-        String viewName = controller.editarForm(id, model, redirectAttributes);
+        String viewName = executar(controller.editarForm(id, model, redirectAttributes));
 
         // Verificação
         assertEquals("redirect:/produtos/listar", viewName);
@@ -171,7 +204,7 @@ class ProdutoControllerTest {
         when(service.excluir(id)).thenReturn(true);
 
         // Ação
-        String viewName = controller.excluir(id, redirectAttributes);
+        String viewName = executar(controller.excluir(id, redirectAttributes));
 
         // Verificação
         assertEquals("redirect:/produtos/listar", viewName);
@@ -187,7 +220,7 @@ class ProdutoControllerTest {
         when(service.excluir(id)).thenReturn(false);
 
         // Ação
-        String viewName = controller.excluir(id, redirectAttributes);
+        String viewName = executar(controller.excluir(id, redirectAttributes));
 
         // Verificação
         assertEquals("redirect:/produtos/listar", viewName);
@@ -203,28 +236,190 @@ class ProdutoControllerTest {
             createProduto(2L, "P2", 20.0),
             createProduto(3L, "P3", 30.0)
         );
-        when(service.listarTodos()).thenReturn(produtos);
+        when(service.iterarTodos()).thenReturn(produtos);
+        when(service.contarTodos()).thenReturn(produtos.size());
 
         // Ação
-        String viewName = controller.listar(model);
+        String viewName = controller.listar(model, response);
 
         // Verificação
         assertEquals("listar", viewName);
-        verify(model).addAttribute("produtos", produtos);
+        assertEquals(produtos, produtosNoModelo());
     }
 
     @Test
     @DisplayName("Deve tratar lista de produtos vazia")
     void testListarVazio() {
         // Preparação
-        when(service.listarTodos()).thenReturn(Arrays.asList());
+        when(service.iterarTodos()).thenReturn(Arrays.asList());
+        when(service.contarTodos()).thenReturn(0);
 
         // Ação
-        String viewName = controller.listar(model);
+        String viewName = controller.listar(model, response);
 
         // Verificação
         assertEquals("listar", viewName);
-        verify(model).addAttribute(eq("produtos"), anyList());
+        assertEquals(List.of(), produtosNoModelo());
+        verify(model).addAttribute("vazio", true);
+    }
+
+    @Test
+    @DisplayName("Deve responder 204 com o ID, sem renderizar fragmento, ao salvar via fetch")
+    void testSalvarParcial() {
+        // Preparação
+        Produto produto = createProduto(null, "Parcial", 12.0);
+        when(service.tentarSalvar(produto, null)).thenAnswer(invocacao -> {
+            produto.setId(7L);
+            return ResultadoValidacao.VALIDO;
+        });
+
+        // Ação
+        Object resultado = executar(controller.salvarParcial(produto, null, null, model, response));
+
+        // Verificação
+        ResponseEntity<?> resposta = assertInstanceOf(ResponseEntity.class, resultado);
+        assertEquals(204, resposta.getStatusCode().value());
+        assertEquals("7", resposta.getHeaders().getFirst("X-Produto-Id"));
+        verifyNoInteractions(model);
+    }
+
+    @Test
+    @DisplayName("Deve responder com a área de alertas do formulário ao falhar a validação via fetch")
+    void testSalvarParcialComErro() {
+        // Preparação
+        Produto produto = createProduto(null, "", 12.0);
+        when(service.tentarSalvar(produto, null)).thenReturn(ResultadoValidacao.NOME_OBRIGATORIO);
+
+        // Ação
+        Object viewName = executar(controller.salvarParcial(produto, null, null, model, response));
+
+        // Verificação
+        assertEquals("form :: alertas", viewName);
+        assertEquals(422, response.getStatus());
+        verify(model).addAttribute("erro", "Nome do produto é obrigatório. Por favor, insira um nome válido.");
+    }
+
+    @Test
+    @DisplayName("Deve responder com a área de alertas ao excluir via fetch")
+    void testExcluirParcial() {
+        // Preparação
+        when(service.excluir(1L)).thenReturn(true);
+
+        // Ação
+        String viewName = executar(controller.excluirParcial(1L, model, response));
+
+        // Verificação
+        assertEquals("listar :: alertas", viewName);
+        assertEquals(200, response.getStatus());
+        verify(model).addAttribute("sucesso", "Produto removido do estoque com sucesso!");
+    }
+
+    @Test
+    @DisplayName("Deve sinalizar 404 ao excluir produto inexistente via fetch")
+    void testExcluirParcialInexistente() {
+        // Preparação
+        when(service.excluir(999L)).thenReturn(false);
+
+        // Ação
+        String viewName = executar(controller.excluirParcial(999L, model, response));
+
+        // Verificação
+        assertEquals("listar :: alertas", viewName);
+        assertEquals(404, response.getStatus());
+        verify(model).addAttribute(eq("erro"), anyString());
+    }
+
+    @Test
+    @DisplayName("Deve renderizar o fragmento de uma única linha")
+    void testLinha() {
+        // Preparação
+        Produto produto = createProduto(2L, "P2", 20.0);
+        when(service.buscarPorId(2L)).thenReturn(Optional.of(produto));
+
+        // Ação
+        String viewName = executar(controller.linha(2L, model, response));
+
+        // Verificação
+        assertEquals("listar :: linha", viewName);
+        verify(model).addAttribute("produtos", List.of(produto));
+    }
+
+    @Test
+    @DisplayName("Deve responder 404 para linha de produto inexistente")
+    void testLinhaInexistente() {
+        // Preparação
+        when(service.buscarPorId(999L)).thenReturn(Optional.empty());
+
+        // Ação
+        String viewName = executar(controller.linha(999L, model, response));
+
+        // Verificação
+        assertEquals("listar :: alertas", viewName);
+        assertEquals(404, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve registrar os timers do endpoint uma vez e reaproveitá-los")
+    void testTimersDoEndpointReaproveitados() {
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(controller, "registro", registro);
+        when(service.iterarTodos()).thenReturn(List.of());
+
+        controller.listar(model, response);
+        int medidores = registro.getMeters().size();
+        controller.listar(model, response);
+
+        assertEquals(medidores, registro.getMeters().size());
+        assertEquals(2, registro.get("produtos.requisicoes").tag("endpoint", "listar")
+                .tag("resultado", "sucesso").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve concluir a medição da listagem só ao fim da requisição, após a renderização")
+    void testListarMedidoAposRenderizacao() {
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(controller, "registro", registro);
+        when(service.iterarTodos()).thenReturn(List.of(createProduto(1L, "Mouse", 50.0)));
+
+        ServletRequestAttributes renderizada = listarNaRequisicao();
+        produtosNoModelo();
+        ServletRequestAttributes interrompida = listarNaRequisicao();
+        assertEquals(0, registro.find("produtos.requisicoes").tag("endpoint", "listar").timers().stream()
+                .mapToLong(Timer::count).sum(), "Nada é medido antes do fim da requisição");
+
+        renderizada.requestCompleted();
+        interrompida.requestCompleted();
+
+        assertEquals(1, registro.get("produtos.requisicoes").tag("endpoint", "listar")
+                .tag("resultado", "sucesso").timer().count());
+        assertEquals(1, registro.get("produtos.requisicoes").tag("endpoint", "listar")
+                .tag("resultado", "erro").timer().count(), "Renderização que não percorreu o catálogo");
+    }
+
+    /**
+     * Chama a listagem como o DispatcherServlet: com os atributos da requisição vinculados à thread
+     */
+    private ServletRequestAttributes listarNaRequisicao() {
+        ServletRequestAttributes requisicao = new ServletRequestAttributes(new MockHttpServletRequest(), response);
+        RequestContextHolder.setRequestAttributes(requisicao);
+        try {
+            controller.listar(model, response);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        return requisicao;
+    }
+
+    /**
+     * Consome o iterável entregue ao template como atributo "produtos"
+     */
+    @SuppressWarnings("unchecked")
+    private List<Produto> produtosNoModelo() {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(model).addAttribute(eq("produtos"), captor.capture());
+        List<Produto> consumidos = new ArrayList<>();
+        ((Iterable<Produto>) captor.getValue()).forEach(consumidos::add);
+        return consumidos;
     }
 
     private Produto createProduto(Long id, String nome, Double preco) {
@@ -234,4 +429,18 @@ class ProdutoControllerTest {
         p.setPreco(preco);
         return p;
     }
+
+    /**
+     * Os handlers devolvem a tarefa do bulkhead; aqui ela é executada na própria thread
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T executar(WebAsyncTask<T> tarefa) {
+        try {
+            return (T) tarefa.getCallable().call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,331 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.Produto;
+import com.example.service.ProdutoService;
+import com.example.service.ResultadoValidacao;
+
+/**
+ * Testes de estresse de concorrência do ProdutoService.
+ * Várias threads intercalam salvar, excluir, buscarPorId e listarTodos sobre o mesmo catálogo
+ * e, ao final, os invariantes são conferidos: IDs únicos, nenhuma escrita perdida, nenhuma
+ * atualização vista pela metade e contagens que batem com o conteúdo.
+ * A intensidade é ajustável, para uso como barreira de regressão de mudanças de concorrência:
+ *
+ * mvn test -Dtest=ProdutoServiceConcorrenciaTest -Destresse.threads=16 -Destresse.operacoes=100000
+ */
+public class ProdutoServiceConcorrenciaTest {
+
+    private static final int THREADS = Integer.getInteger("estresse.threads", 8);
+    private static final int OPERACOES = Integer.getInteger("estresse.operacoes", 2000);
+
+    /**
+     * Corpo executado por cada thread; recebe o índice da thread
+     */
+    private interface Tarefa {
+        void executar(int thread) throws Exception;
+    }
+
+    private ProdutoService service;
+    private ExecutorService executor;
+    private int tamanhoInicial;
+    private long versaoInicial;
+
+    @BeforeEach
+    public void setUp() {
+        service = new ProdutoService();
+        executor = Executors.newFixedThreadPool(THREADS + 2);
+        tamanhoInicial = service.contarTodos();
+        versaoInicial = service.versaoCatalogo();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testInclusoesSimultaneasGeramIdsUnicos() throws Exception {
+        List<List<Long>> idsPorThread = listasPorThread(THREADS);
+
+        simultaneamente(THREADS, thread -> {
+            for (int i = 0; i < OPERACOES; i++) {
+                idsPorThread.get(thread).add(incluir("T" + thread + "-" + i, 1.0 + i));
+            }
+        });
+
+        Set<Long> ids = new HashSet<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            List<Long> proprios = idsPorThread.get(thread);
+            for (int i = 0; i < proprios.size(); i++) {
+                assertTrue(ids.add(proprios.get(i)), "ID repetido: " + proprios.get(i));
+                Produto produto = service.buscarPorId(proprios.get(i)).orElse(null);
+                assertNotNull(produto, "Inclusão perdida: " + proprios.get(i));
+                assertEquals("T" + thread + "-" + i, produto.getNome());
+            }
+        }
+        conferirContagens(tamanhoInicial + THREADS * OPERACOES);
+        assertEquals(versaoInicial + (long) THREADS * OPERACOES, service.versaoCatalogo());
+    }
+
+    @Test
+    public void testMisturaDeOperacoesReconciliaCatalogo() throws Exception {
+        // Cada thread só exclui os próprios produtos: o estado esperado de cada ID é conhecido
+        List<List<Long>> vivosPorThread = listasPorThread(THREADS);
+        AtomicLong escritas = new AtomicLong();
+
+        simultaneamente(THREADS, thread -> {
+            List<Long> vivos = vivosPorThread.get(thread);
+            List<Long> excluidos = new ArrayList<>();
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            for (int i = 0; i < OPERACOES; i++) {
+                int sorteio = aleatorio.nextInt(10);
+                if (sorteio < 4 || vivos.isEmpty()) {
+                    vivos.add(incluir("M" + thread + "-" + i, 1.0 + i));
+                    escritas.incrementAndGet();
+                } else if (sorteio < 6) {
+                    Long id = vivos.remove(aleatorio.nextInt(vivos.size()));
+                    assertTrue(service.excluir(id), "Exclusão de produto vivo deveria remover: " + id);
+                    excluidos.add(id);
+                    escritas.incrementAndGet();
+                } else if (sorteio < 8) {
+                    Long id = vivos.get(aleatorio.nextInt(vivos.size()));
+                    assertTrue(service.buscarPorId(id).isPresent(), "Produto incluído não encontrado: " + id);
+                } else if (sorteio < 9 && !excluidos.isEmpty()) {
+                    Long id = excluidos.get(aleatorio.nextInt(excluidos.size()));
+                    assertFalse(service.buscarPorId(id).isPresent(), "Produto excluído reapareceu: " + id);
+                    assertFalse(service.excluir(id), "Segunda exclusão não deveria remover: " + id);
+                } else {
+                    // ID qualquer, possivelmente de outra thread: só não pode falhar
+                    service.buscarPorId(aleatorio.nextLong(1, 1 + (long) THREADS * OPERACOES));
+                }
+            }
+        });
+
+        Set<Long> esperados = new HashSet<>(Set.of(1L, 2L, 3L));
+        vivosPorThread.forEach(esperados::addAll);
+        Set<Long> listados = new HashSet<>();
+        service.listarTodos().forEach(produto -> listados.add(produto.getId()));
+        assertEquals(esperados, listados, "Catálogo final diferente das escritas confirmadas");
+        conferirContagens(esperados.size());
+        assertEquals(versaoInicial + escritas.get(), service.versaoCatalogo());
+    }
+
+    @Test
+    public void testExclusaoConcorrenteRemoveUmaUnicaVez() throws Exception {
+        int quantidade = Math.max(1, OPERACOES / 4);
+        long[] ids = new long[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            ids[i] = incluir("E" + i, 1.0 + i);
+        }
+        AtomicLongArray remocoes = new AtomicLongArray(quantidade);
+
+        simultaneamente(THREADS, thread -> {
+            for (int i = 0; i < quantidade; i++) {
+                // Cada thread percorre os IDs a partir de um ponto diferente
+                int indice = (i + thread * quantidade / THREADS) % quantidade;
+                if (service.excluir(ids[indice])) {
+                    remocoes.incrementAndGet(indice);
+                }
+            }
+        });
+
+        for (int i = 0; i < quantidade; i++) {
+            assertEquals(1, remocoes.get(i), "Produto " + ids[i] + " removido " + remocoes.get(i) + " vezes");
+        }
+        conferirContagens(tamanhoInicial);
+    }
+
+    @Test
+    public void testAtualizacoesConcorrentesNaoSaoVistasPelaMetade() throws Exception {
+        long id = incluir("Versao 0", 1.0);
+        long versaoAntes = service.versaoCatalogo();
+        AtomicBoolean escrevendo = new AtomicBoolean(true);
+        AtomicInteger escritoresAtivos = new AtomicInteger(THREADS);
+        AtomicInteger leiturasParciais = new AtomicInteger();
+
+        simultaneamente(THREADS + 2, thread -> {
+            if (thread >= THREADS) {
+                // Leitores: nome e preço devem vir sempre da mesma escrita
+                while (escrevendo.get()) {
+                    Produto lido = service.buscarPorId(id).orElseThrow();
+                    if (!coerente(lido)) {
+                        leiturasParciais.incrementAndGet();
+                    }
+                    for (Produto produto : service.listarTodos()) {
+                        if (produto.getId() == id && !coerente(produto)) {
+                            leiturasParciais.incrementAndGet();
+                        }
+                    }
+                }
+                return;
+            }
+            try {
+                for (int i = 1; i <= OPERACOES; i++) {
+                    int valor = thread * OPERACOES + i;
+                    assertEquals(ResultadoValidacao.VALIDO,
+                            service.tentarSalvar(new Produto(id, "Versao " + valor, (double) valor)));
+                }
+            } finally {
+                if (escritoresAtivos.decrementAndGet() == 0) {
+                    escrevendo.set(false);
+                }
+            }
+        });
+
+        assertEquals(0, leiturasParciais.get(), "Leituras com nome e preço de atualizações diferentes");
+        assertTrue(coerente(service.buscarPorId(id).orElseThrow()), "Estado final mistura duas atualizações");
+        assertEquals(versaoAntes + (long) THREADS * OPERACOES, service.versaoCatalogo(),
+                "Cada atualização deveria incrementar a versão uma vez");
+        conferirContagens(tamanhoInicial + 1);
+    }
+
+    @Test
+    public void testListarDuranteEscritasNuncaFalha() throws Exception {
+        AtomicBoolean escrevendo = new AtomicBoolean(true);
+        AtomicInteger escritoresAtivos = new AtomicInteger(THREADS / 2);
+        int maximo = tamanhoInicial + (THREADS / 2) * OPERACOES;
+
+        simultaneamente(THREADS, thread -> {
+            if (thread % 2 == 1) {
+                while (escrevendo.get()) {
+                    // Cópia e iteração em fluxo: sem ConcurrentModificationException, em ordem de ID
+                    conferirOrdenada(service.listarTodos(), maximo);
+                    List<Produto> iterados = new ArrayList<>();
+                    service.iterarTodos().forEach(iterados::add);
+                    conferirOrdenada(iterados, maximo);
+                }
+                return;
+            }
+            try {
+                List<Long> proprios = new ArrayList<>();
+                for (int i = 0; i < OPERACOES; i++) {
+                    proprios.add(incluir("L" + thread + "-" + i, 1.0 + i));
+                    if (i % 3 == 2) {
+                        assertTrue(service.excluir(proprios.remove(0)));
+                    }
+                }
+            } finally {
+                if (escritoresAtivos.decrementAndGet() == 0) {
+                    escrevendo.set(false);
+                }
+            }
+        });
+
+        conferirContagens(service.listarTodos().size());
+    }
+
+    @Test
+    public void testMesmaChaveIdempotenciaCriaUmUnicoProduto() throws Exception {
+        int chaves = Math.max(1, OPERACOES / 10);
+        long[][] idsPorChave = new long[chaves][THREADS];
+
+        simultaneamente(THREADS, thread -> {
+            for (int chave = 0; chave < chaves; chave++) {
+                Produto produto = new Produto("Idempotente " + chave, 10.0);
+                assertEquals(ResultadoValidacao.VALIDO, service.tentarSalvar(produto, "chave-" + chave));
+                idsPorChave[chave][thread] = produto.getId();
+            }
+        });
+
+        for (int chave = 0; chave < chaves; chave++) {
+            for (int thread = 1; thread < THREADS; thread++) {
+                assertEquals(idsPorChave[chave][0], idsPorChave[chave][thread],
+                        "Chave " + chave + " gerou produtos diferentes");
+            }
+        }
+        conferirContagens(tamanhoInicial + chaves);
+    }
+
+    /**
+     * Executa a tarefa em várias threads liberadas ao mesmo tempo e propaga a primeira falha
+     */
+    private void simultaneamente(int threads, Tarefa tarefa) throws Exception {
+        CyclicBarrier largada = new CyclicBarrier(threads);
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            futuros.add(executor.submit(() -> {
+                largada.await();
+                tarefa.executar(thread);
+                return null;
+            }));
+        }
+        for (Future<?> futuro : futuros) {
+            try {
+                futuro.get(2, TimeUnit.MINUTES);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Error erro) {
+                    throw erro;
+                }
+                throw (Exception) e.getCause();
+            }
+        }
+    }
+
+    private long incluir(String nome, double preco) {
+        Produto produto = new Produto(nome, preco);
+        assertEquals(ResultadoValidacao.VALIDO, service.tentarSalvar(produto));
+        return produto.getId();
+    }
+
+    /**
+     * Contador mantido à parte, cópia e iteração devem concordar depois que as escritas param
+     */
+    private void conferirContagens(int esperado) {
+        assertEquals(esperado, service.contarTodos(), "contarTodos");
+        assertEquals(esperado, service.listarTodos().size(), "listarTodos");
+        int iterados = 0;
+        for (Produto ignorado : service.iterarTodos()) {
+            iterados++;
+        }
+        assertEquals(esperado, iterados, "iterarTodos");
+    }
+
+    private static void conferirOrdenada(List<Produto> produtos, int maximo) {
+        assertTrue(produtos.size() <= maximo, "Listagem maior que o possível: " + produtos.size());
+        long anterior = 0;
+        for (Produto produto : produtos) {
+            assertNotNull(produto);
+            assertTrue(produto.getId() > anterior, "Listagem fora de ordem ou com ID repetido");
+            anterior = produto.getId();
+        }
+    }
+
+    private static boolean coerente(Produto produto) {
+        return produto.getNome().equals("Versao " + produto.getPreco().intValue())
+                || (produto.getNome().equals("Versao 0") && produto.getPreco() == 1.0);
+    }
+
+    private static List<List<Long>> listasPorThread(int threads) {
+        List<List<Long>> listas = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            listas.add(new ArrayList<>());
+        }
+        return listas;
+    }
+}
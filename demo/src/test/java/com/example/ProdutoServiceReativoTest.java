@@ -0,0 +1,85 @@
+package com.example;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.Produto;
+import com.example.service.ProdutoService;
+import com.example.service.ProdutoServiceReativo;
+import com.example.service.ResultadoValidacao;
+
+/**
+ * Testes unitários para a fachada reativa ProdutoServiceReativo.
+ */
+public class ProdutoServiceReativoTest {
+
+    private ProdutoServiceReativo service;
+
+    @BeforeEach
+    public void setUp() {
+        service = new ProdutoServiceReativo(new ProdutoService());
+    }
+
+    @Test
+    public void testListarTodosEmiteProdutosIniciais() {
+        List<Produto> produtos = service.listarTodos().collectList().block();
+        assertNotNull(produtos);
+        assertEquals(3, produtos.size(), "Deveria emitir os produtos iniciais");
+    }
+
+    @Test
+    public void testEscritasRodamForaDoEventLoop() {
+        String salvar = service.salvar(new Produto("Headset", 199.0), "chave-thread")
+                .map(resultado -> Thread.currentThread().getName()).block();
+        String excluir = service.excluir(1L).map(removido -> Thread.currentThread().getName()).block();
+
+        assertTrue(salvar.startsWith("boundedElastic"), salvar);
+        assertTrue(excluir.startsWith("boundedElastic"), excluir);
+    }
+
+    @Test
+    public void testContarTodosSemPercorrerCatalogo() {
+        assertEquals(3, service.contarTodos().block());
+    }
+
+    @Test
+    public void testBuscarPorIdExistente() {
+        Produto produto = service.buscarPorId(1L).block();
+        assertNotNull(produto);
+        assertEquals("Notebook", produto.getNome());
+    }
+
+    @Test
+    public void testBuscarPorIdNaoExistente() {
+        assertNull(service.buscarPorId(99999L).block(), "Produto inexistente deveria resultar em Mono vazio");
+    }
+
+    @Test
+    public void testSalvarEExcluir() {
+        Produto novo = new Produto("Monitor", 900.0);
+        assertEquals(ResultadoValidacao.VALIDO, service.salvar(novo).block());
+        assertNotNull(novo.getId());
+        assertTrue(service.excluir(novo.getId()).block());
+        assertFalse(service.excluir(novo.getId()).block());
+    }
+
+    @Test
+    public void testSalvarInvalidoRetornaCodigo() {
+        assertEquals(ResultadoValidacao.NOME_OBRIGATORIO, service.salvar(new Produto("", 10.0)).block());
+    }
+
+    @Test
+    public void testSalvarNaoExecutaAntesDaAssinatura() {
+        int antes = service.listarTodos().collectList().block().size();
+        service.salvar(new Produto("Preguiçoso", 10.0));
+        assertEquals(antes, service.listarTodos().collectList().block().size(),
+            "Mono não assinado não deveria alterar o catálogo");
+    }
+}
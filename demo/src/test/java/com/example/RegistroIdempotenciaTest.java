@@ -0,0 +1,209 @@
+package com.example;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.service.RegistroIdempotencia;
+
+/**
+ * Testes unitários para RegistroIdempotencia.
+ * Verifica repetição, expiração, limite de capacidade e chamadas simultâneas.
+ */
+public class RegistroIdempotenciaTest {
+
+    private final AtomicLong agora = new AtomicLong();
+    private final AtomicInteger execucoes = new AtomicInteger();
+    private RegistroIdempotencia<Integer> registro;
+
+    @BeforeEach
+    public void setUp() {
+        registro = new RegistroIdempotencia<>(3, 60, agora::get);
+    }
+
+    @Test
+    public void testRepeticaoRetornaResultadoOriginal() {
+        assertEquals(1, executar("a"));
+        assertEquals(1, executar("a"));
+        assertEquals(2, executar("b"));
+        assertEquals(2, execucoes.get(), "A repetição não deveria executar a operação de novo");
+    }
+
+    @Test
+    public void testChaveExpiradaExecutaNovamente() {
+        assertEquals(1, executar("a"));
+        agora.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertEquals(2, executar("a"));
+        assertEquals(1, registro.tamanho());
+    }
+
+    @Test
+    public void testCapacidadeDescartaChaveMaisAntiga() {
+        executar("a");
+        executar("b");
+        executar("c");
+        executar("d");
+        assertEquals(3, registro.tamanho());
+        assertEquals(5, executar("a"), "A chave mais antiga deveria ter sido descartada");
+    }
+
+    @Test
+    public void testResultadoNaoRegistradoPermiteNovaTentativa() {
+        assertEquals(1, registro.executar("a", execucoes::incrementAndGet, resultado -> false));
+        assertEquals(2, executar("a"));
+        assertEquals(2, executar("a"));
+    }
+
+    @Test
+    public void testFalhaNaoEMemorizada() {
+        assertThrows(IllegalStateException.class,
+            () -> registro.executar("a", () -> { throw new IllegalStateException("falha"); }, resultado -> true));
+        assertEquals(1, executar("a"));
+    }
+
+    @Test
+    public void testChamadasSimultaneasExecutamUmaVez() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] tarefas = new Future<?>[8];
+            for (int i = 0; i < tarefas.length; i++) {
+                tarefas[i] = executor.submit(() -> registro.executar("a", () -> {
+                    aguardar(liberar);
+                    return execucoes.incrementAndGet();
+                }, resultado -> true));
+            }
+            Thread.sleep(50);
+            liberar.countDown();
+            for (Future<?> tarefa : tarefas) {
+                assertEquals(1, tarefa.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, execucoes.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMesmaChaveComOutraImpressaoERecusada() {
+        assertEquals(1, registro.executar("a", "dados", execucoes::incrementAndGet, resultado -> true));
+        assertEquals(1, registro.executar("a", "dados", execucoes::incrementAndGet, resultado -> true));
+
+        assertThrows(RegistroIdempotencia.ChaveReutilizadaException.class,
+            () -> registro.executar("a", "outros", execucoes::incrementAndGet, resultado -> true));
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    public void testRepeticaoNaoAguardaAlemDaEsperaMaxima() throws Exception {
+        registro = new RegistroIdempotencia<>(3, 60, 100, agora::get);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> primeira = executor.submit(() -> registro.executar("a", () -> {
+                aguardar(liberar);
+                return execucoes.incrementAndGet();
+            }, resultado -> true));
+            Thread.sleep(50);
+
+            long inicio = System.nanoTime();
+            assertThrows(IllegalStateException.class, () -> executar("a"));
+            assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(2), "A repetição deveria desistir após 100 ms");
+
+            liberar.countDown();
+            assertEquals(1, primeira.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testExecucoesEmAndamentoContamNaCapacidade() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch iniciadas = new CountDownLatch(3);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<?>[] tarefas = new Future<?>[3];
+            for (int i = 0; i < tarefas.length; i++) {
+                String chave = "andamento-" + i;
+                tarefas[i] = executor.submit(() -> registro.executar(chave, () -> {
+                    iniciadas.countDown();
+                    aguardar(liberar);
+                    return execucoes.incrementAndGet();
+                }, resultado -> true));
+            }
+            assertTrue(iniciadas.await(5, TimeUnit.SECONDS));
+
+            assertThrows(RegistroIdempotencia.RegistroCheioException.class, () -> executar("d"));
+            assertEquals(3, registro.tamanho());
+
+            liberar.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(4, executar("d"), "Com as execuções concluídas, a mais antiga deveria ceder a vaga");
+            assertEquals(3, registro.tamanho());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRajadaDeChavesNaoPassaDaCapacidade() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        AtomicInteger recusadas = new AtomicInteger();
+        CountDownLatch tentativas = new CountDownLatch(16);
+        try {
+            Future<?>[] tarefas = new Future<?>[16];
+            for (int i = 0; i < tarefas.length; i++) {
+                String chave = "rajada-" + i;
+                tarefas[i] = executor.submit(() -> {
+                    try {
+                        registro.executar(chave, () -> {
+                            tentativas.countDown();
+                            aguardar(liberar);
+                            return execucoes.incrementAndGet();
+                        }, resultado -> true);
+                    } catch (RegistroIdempotencia.RegistroCheioException e) {
+                        recusadas.incrementAndGet();
+                        tentativas.countDown();
+                    }
+                });
+            }
+            assertTrue(tentativas.await(5, TimeUnit.SECONDS));
+            assertEquals(3, registro.tamanho());
+
+            liberar.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(13, recusadas.get());
+            assertEquals(3, registro.tamanho());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int executar(String chave) {
+        return registro.executar(chave, execucoes::incrementAndGet, resultado -> true);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
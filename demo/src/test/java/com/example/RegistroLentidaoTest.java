@@ -0,0 +1,145 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.service.ProdutoService;
+import com.example.service.RegistroLentidao;
+
+/**
+ * Testes unitários para RegistroLentidao.
+ * Verifica a amostragem de estado e pilha, o orçamento, o anel limitado, a operação reaproveitada
+ * por thread e o amostrador parado sem nada em andamento.
+ */
+public class RegistroLentidaoTest {
+
+    private final RegistroLentidao registro = new RegistroLentidao(3, 2);
+
+    @AfterEach
+    public void tearDown() {
+        registro.encerrar();
+    }
+
+    @Test
+    public void testAmostraEstadoEPilhaDaThreadLenta() throws Exception {
+        ProdutoService service = new ProdutoService();
+        service.monitorarLentidao(registro, 1000);
+
+        RegistroLentidao.Medicao medicao = registro.iniciar("requisicao", "GET /produtos/editar/1", 20);
+        medicao.parametro("id", 1L);
+        Thread.sleep(100);
+        assertTrue(medicao.concluir());
+
+        RegistroLentidao.Amostra amostra = registro.amostras().get(0);
+        assertEquals("requisicao", amostra.tipo());
+        assertEquals("GET /produtos/editar/1", amostra.nome());
+        assertTrue(amostra.duracaoMs() >= 100);
+        assertEquals(20.0, amostra.orcamentoMs());
+        assertEquals(1L, amostra.parametros().get("id"));
+        assertEquals(service.contarTodos(), amostra.tamanhoCatalogo());
+        assertEquals(Thread.currentThread().getName(), amostra.thread());
+        // A pilha é a de enquanto a thread estava parada, e não a do fim da medição
+        assertEquals(Thread.State.TIMED_WAITING, amostra.estadoThread());
+        assertTrue(amostra.pilha().stream().anyMatch(linha -> linha.contains("sleep")), amostra.pilha().toString());
+    }
+
+    @Test
+    public void testDentroDoOrcamentoNaoRegistra() {
+        assertFalse(registro.iniciar("servico", "buscarPorId", 1000).concluir());
+        assertFalse(registro.iniciar("servico", "buscarPorId", 0).parametro("id", 1L).concluir());
+        assertEquals(0, registro.getRegistradas());
+        assertTrue(registro.amostras().isEmpty());
+    }
+
+    @Test
+    public void testAnelGuardaApenasAsMaisRecentes() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            RegistroLentidao.Medicao medicao = registro.iniciar("servico", "operacao-" + i, 1);
+            Thread.sleep(3);
+            assertTrue(medicao.concluir());
+        }
+
+        List<RegistroLentidao.Amostra> amostras = registro.amostras();
+        assertEquals(5, registro.getRegistradas());
+        assertEquals(List.of("operacao-4", "operacao-3", "operacao-2"),
+                amostras.stream().map(RegistroLentidao.Amostra::nome).toList());
+
+        registro.limpar();
+        assertTrue(registro.amostras().isEmpty());
+    }
+
+    @Test
+    public void testOperacaoLentaDoServicoComParametrosEPilha() throws Exception {
+        RegistroLentidao.Operacao operacao = registro.iniciarOperacao("buscarPorId", 20);
+        assertFalse(operacao.estourou());
+        Thread.sleep(100);
+        assertTrue(operacao.estourou());
+        operacao.parametro("id", 7L);
+        assertTrue(operacao.concluir());
+
+        RegistroLentidao.Amostra amostra = registro.amostras().get(0);
+        assertEquals("servico", amostra.tipo());
+        assertEquals("buscarPorId", amostra.nome());
+        assertEquals(7L, amostra.parametros().get("id"));
+        assertEquals(Thread.State.TIMED_WAITING, amostra.estadoThread());
+        assertTrue(amostra.pilha().stream().anyMatch(linha -> linha.contains("sleep")), amostra.pilha().toString());
+
+        // A próxima operação rápida da thread não herda a pilha nem os parâmetros
+        RegistroLentidao.Operacao seguinte = registro.iniciarOperacao("buscarPorId", 20);
+        assertSame(operacao, seguinte, "A operação da thread deveria ser reaproveitada");
+        assertFalse(seguinte.concluir());
+        assertEquals(1, registro.getRegistradas());
+    }
+
+    @Test
+    public void testOperacaoAninhadaNaoEMedida() {
+        RegistroLentidao.Operacao externa = registro.iniciarOperacao("salvar", 1000);
+        RegistroLentidao.Operacao interna = registro.iniciarOperacao("buscarPorId", 1000);
+
+        assertSame(RegistroLentidao.Operacao.NENHUMA, interna);
+        assertNotSame(externa, interna);
+        assertFalse(interna.concluir());
+        assertFalse(externa.concluir());
+    }
+
+    @Test
+    public void testAmostradorParaSemNadaEmAndamento() throws Exception {
+        assertFalse(registro.isAmostrando(), "Sem medições, o amostrador não deveria rodar");
+
+        RegistroLentidao.Operacao operacao = registro.iniciarOperacao("listarTodos", 1000);
+        assertTrue(registro.isAmostrando());
+        operacao.concluir();
+
+        long limite = System.currentTimeMillis() + 2000;
+        while (registro.isAmostrando() && System.currentTimeMillis() < limite) {
+            Thread.sleep(5);
+        }
+        assertFalse(registro.isAmostrando(), "O amostrador deveria parar depois da última operação");
+    }
+
+    @Test
+    public void testMedicaoSegueAThreadVinculada() throws Exception {
+        RegistroLentidao.Medicao medicao = registro.iniciar("requisicao", "GET /produtos/listar", 20);
+        Thread outra = new Thread(() -> {
+            medicao.vincularThreadAtual();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "bulkhead-leitura-teste");
+        outra.start();
+        outra.join();
+        medicao.concluir();
+
+        assertEquals("bulkhead-leitura-teste", registro.amostras().get(0).thread());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.controller.RenderizacaoEmLotes;
+
+/**
+ * Testes unitários para RenderizacaoEmLotes.
+ * Verifica que a resposta é descarregada a cada lote sem alterar os elementos.
+ */
+public class RenderizacaoEmLotesTest {
+
+    private int descargas;
+
+    @Test
+    public void testDescarregaACadaLote() {
+        List<Integer> origem = IntStream.rangeClosed(1, 25).boxed().toList();
+        RenderizacaoEmLotes<Integer> lotes = new RenderizacaoEmLotes<>(origem, 10, () -> descargas++);
+
+        List<Integer> consumidos = new ArrayList<>();
+        lotes.forEach(consumidos::add);
+
+        assertEquals(origem, consumidos);
+        assertEquals(2, descargas, "Deveria descarregar após o 10º e o 20º elementos");
+    }
+
+    @Test
+    public void testHasNextRepetidoNaoDescarregaDeNovo() {
+        RenderizacaoEmLotes<Integer> lotes = new RenderizacaoEmLotes<>(List.of(1, 2, 3), 1, () -> descargas++);
+        Iterator<Integer> iterador = lotes.iterator();
+
+        iterador.next();
+        iterador.hasNext();
+        iterador.hasNext();
+
+        assertEquals(1, descargas);
+    }
+
+    @Test
+    public void testListaVaziaNaoDescarrega() {
+        new RenderizacaoEmLotes<Integer>(List.of(), 5, () -> descargas++).forEach(i -> { });
+        assertEquals(0, descargas);
+    }
+
+    @Test
+    public void testFechaIteracaoInterrompida() {
+        List<String> fechados = new ArrayList<>();
+        Iterable<Integer> origem = () -> new IteradorFechavel(List.of(1, 2, 3).iterator(), fechados);
+        RenderizacaoEmLotes<Integer> lotes = new RenderizacaoEmLotes<>(origem, 10, () -> descargas++);
+
+        lotes.iterator().next();
+        lotes.close();
+
+        assertFalse(lotes.isConcluida());
+        assertEquals(List.of("fechado"), fechados);
+    }
+
+    @Test
+    public void testConcluidaAoPercorrerTudo() {
+        RenderizacaoEmLotes<Integer> lotes = new RenderizacaoEmLotes<>(List.of(1, 2), 10, () -> descargas++);
+        lotes.forEach(i -> { });
+        assertTrue(lotes.isConcluida());
+    }
+
+    private record IteradorFechavel(Iterator<Integer> origem, List<String> fechados)
+            implements Iterator<Integer>, AutoCloseable {
+
+        @Override
+        public boolean hasNext() {
+            return origem.hasNext();
+        }
+
+        @Override
+        public Integer next() {
+            return origem.next();
+        }
+
+        @Override
+        public void close() {
+            fechados.add("fechado");
+        }
+    }
+
+    @Test
+    public void testLoteInvalido() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new RenderizacaoEmLotes<>(List.of(1), 0, () -> { }));
+    }
+}
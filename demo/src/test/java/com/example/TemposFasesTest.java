@@ -0,0 +1,206 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.ModelAndView;
+
+import com.example.config.TemposFasesFilter;
+import com.example.config.TemposFasesInterceptor;
+import com.example.service.ProdutoService;
+import com.example.service.TempoServico;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.servlet.FilterChain;
+
+/**
+ * Testes unitários para a medição por fase das requisições (Server-Timing e "produtos.fases").
+ */
+public class TemposFasesTest {
+
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+    private final TemposFasesFilter filtro = new TemposFasesFilter(registro);
+    private final TemposFasesInterceptor interceptor = new TemposFasesInterceptor(true);
+    private final ProdutoService service = new ProdutoService();
+
+    @AfterEach
+    public void tearDown() {
+        registro.close();
+    }
+
+    @Test
+    public void testServerTimingEHistogramasPorFase() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/produtos/editar/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FilterChain chain = (req, res) -> {
+            service.buscarPorId(1L);
+            interceptor.postHandle(request, response, new Object(), new ModelAndView("form"));
+            res.getWriter().write("<form></form>");
+        };
+        filtro.doFilter(request, response, chain);
+
+        String serverTiming = response.getHeader("Server-Timing");
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.matches("servico;dur=\\d+\\.\\d{2}, controlador;dur=\\d+\\.\\d{2}"), serverTiming);
+        assertEquals("<form></form>", response.getContentAsString());
+        assertNull(response.getHeader("Trailer"));
+
+        for (String fase : new String[] { "servico", "controlador", "renderizacao", "escrita" }) {
+            Timer timer = registro.find("produtos.fases").tags("fase", fase, "view", "form").timer();
+            assertNotNull(timer, fase);
+            assertEquals(1, timer.count(), fase);
+        }
+        assertTrue(registro.find("produtos.fases").tags("fase", "servico").timer().totalTime(
+                TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    public void testServicoDuranteRenderizacaoContaComoServico() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/produtos/listar");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(request, response, (req, res) -> {
+            interceptor.postHandle(request, response, new Object(), new ModelAndView("listar"));
+            // Listagem em fluxo: o catálogo é percorrido pelo template
+            service.iterarTodos().forEach(produto -> { });
+        });
+
+        assertEquals("servico;dur=0.00", response.getHeader("Server-Timing").split(",")[0]);
+        assertTrue(registro.find("produtos.fases").tags("fase", "servico", "view", "listar").timer()
+                .totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    public void testTrailerSoQuandoClienteAceita() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/produtos/listar");
+        request.addHeader("TE", "trailers");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(request, response, (req, res) ->
+                interceptor.postHandle(request, response, new Object(), new ModelAndView("listar")));
+
+        assertEquals("Server-Timing", response.getHeader("Trailer"));
+    }
+
+    @Test
+    public void testSemHandlerRegistraApenasEscrita() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/produtos/listar");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Ex.: resposta compartilhada pela coalescência, sem passar pelo controlador
+        filtro.doFilter(request, response, (req, res) -> res.getOutputStream().write(new byte[] { 1, 2, 3 }));
+
+        assertNull(response.getHeader("Server-Timing"));
+        assertNotNull(registro.find("produtos.fases").tags("fase", "escrita", "view", "nenhuma").timer());
+        assertNull(registro.find("produtos.fases").tags("fase", "servico").timer());
+    }
+
+    @Test
+    public void testSemServerTimingQuandoDesabilitado() throws Exception {
+        TemposFasesInterceptor silencioso = new TemposFasesInterceptor(false);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/produtos/listar");
+        request.addHeader("TE", "trailers");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(request, response, (req, res) ->
+                silencioso.postHandle(request, response, new Object(), new ModelAndView("listar")));
+
+        assertNull(response.getHeader("Server-Timing"));
+        assertNull(response.getHeader("Trailer"));
+        assertEquals(1, registro.get("produtos.fases").tags("fase", "servico", "view", "listar").timer().count());
+    }
+
+    @Test
+    public void testExcecaoNaCadeiaAindaRegistraFases() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/produtos/listar");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(IllegalStateException.class, () -> filtro.doFilter(request, response, (req, res) -> {
+            throw new IllegalStateException("falha no handler");
+        }));
+
+        assertEquals(1, registro.get("produtos.fases").tags("fase", "escrita", "view", "nenhuma").timer().count());
+    }
+
+    @Test
+    public void testTimersDaViewRegistradosUmaVez() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/produtos/listar");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            // A primeira sem handler registra só a escrita; as seguintes completam as fases
+            FilterChain chain = i == 0 ? (req, res) -> { }
+                    : (req, res) -> interceptor.postHandle(request, response, new Object(), new ModelAndView("nenhuma"));
+            filtro.doFilter(request, response, chain);
+        }
+
+        assertEquals(4, registro.getMeters().size());
+        assertEquals(3, registro.get("produtos.fases").tags("fase", "escrita", "view", "nenhuma").timer().count());
+        assertEquals(2, registro.get("produtos.fases").tags("fase", "servico", "view", "nenhuma").timer().count());
+    }
+
+    @Test
+    public void testNomesDeViewAgrupados() {
+        assertEquals("redirect", TemposFasesInterceptor.viewParaMetrica(new ModelAndView("redirect:/produtos/listar")));
+        assertEquals("listar::linha", TemposFasesInterceptor.viewParaMetrica(new ModelAndView("listar :: linha")));
+        assertEquals("nenhuma", TemposFasesInterceptor.viewParaMetrica(null));
+    }
+
+    @Test
+    public void testTempoServicoSomaApenasComAcumuladorVinculado() {
+        service.listarTodos();
+
+        TempoServico acumulador = new TempoServico();
+        TempoServico anterior = TempoServico.vincular(acumulador);
+        try {
+            service.listarTodos();
+            service.buscarPorId(2L);
+        } finally {
+            TempoServico.restaurar(anterior);
+        }
+        service.excluir(3L);
+
+        assertEquals(2, acumulador.getChamadas());
+        assertTrue(acumulador.getNanos() > 0);
+    }
+
+    @Test
+    public void testAcumuladorSegueHandlerNaThreadDoBulkhead() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/produtos/linha/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+
+        filtro.doFilter(request, response, (req, res) -> {
+            Callable<Object> handler = () -> service.buscarPorId(1L);
+            // Como o WebAsyncManager faz na thread do executor
+            CompletableFuture.runAsync(() -> {
+                interceptor.preProcess(webRequest, handler);
+                try {
+                    handler.call();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    interceptor.postProcess(webRequest, handler, null);
+                }
+            }).join();
+            interceptor.postHandle(request, response, new Object(), new ModelAndView("listar :: linha"));
+        });
+
+        Timer servico = registro.find("produtos.fases").tags("fase", "servico", "view", "listar::linha").timer();
+        assertTrue(servico.totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+}
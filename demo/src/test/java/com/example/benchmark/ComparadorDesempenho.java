@@ -0,0 +1,402 @@
+package com.example.benchmark;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Barreira de regressão de desempenho: compara o resultado JSON do JMH com uma baseline versionada.
+ * Cada benchmark gera uma medida por métrica (vazão, p99, tempo médio e alocação por operação) e
+ * cada métrica tem sua tolerância percentual, com exceções por benchmark. Uma piora acima da
+ * tolerância, e maior que os intervalos de confiança das duas medidas somados, é regressão e faz o
+ * processo terminar com código 1, falhando o build; uma medida da baseline ausente do resultado
+ * (benchmark renomeado, desempenho.jmh.args alterado) também. Números absolutos só são comparáveis
+ * na mesma JVM e na mesma máquina: com versão principal do JDK, vmName ou executor diferentes da
+ * baseline, a comparação é recusada. O executor identifica a máquina (propriedade desempenho.executor,
+ * ex.: o rótulo do runner de CI; sem ela, modelo e quantidade de CPUs) e é gravado na baseline.
+ *
+ * Uso (perfil desempenho): resultado.json baseline.json tolerancias.properties relatorio.txt [atualizar]
+ */
+public class ComparadorDesempenho {
+
+    /**
+     * Métricas comparadas; {@code maiorMelhor} indica o sentido de melhora
+     */
+    public enum Metrica {
+        VAZAO("vazao", true),
+        P99("p99", false),
+        TEMPO("tempo", false),
+        ALOCACAO("alocacao", false);
+
+        private final String chave;
+        private final boolean maiorMelhor;
+
+        Metrica(String chave, boolean maiorMelhor) {
+            this.chave = chave;
+            this.maiorMelhor = maiorMelhor;
+        }
+
+        public String getChave() {
+            return chave;
+        }
+    }
+
+    /**
+     * Um valor medido de um benchmark (com parâmetros e modo) em uma métrica
+     */
+    public record Medida(String benchmark, String descricao, Metrica metrica, double valor, double erro,
+            String unidade) {
+    }
+
+    public enum Situacao {
+        REGRESSAO("REGRESSÃO"),
+        MELHORA("melhora"),
+        OK("ok"),
+        NOVA("nova"),
+        AUSENTE("ausente");
+
+        private final String rotulo;
+
+        Situacao(String rotulo) {
+            this.rotulo = rotulo;
+        }
+    }
+
+    public record Comparacao(Medida baseline, Medida atual, double variacaoPercentual, double tolerancia,
+            Situacao situacao) {
+    }
+
+    private static final String ALOCACAO_NORMALIZADA = "gc.alloc.rate.norm";
+
+    /**
+     * Campos do JSON do JMH que precisam coincidir para que baseline e resultado sejam comparáveis;
+     * "executor" não é do JMH: o comparador o acrescenta às execuções
+     */
+    private static final List<String> CAMPOS_AMBIENTE = List.of("jdkVersion", "vmName", "executor");
+
+    /**
+     * Campos do JSON do JMH que só descrevem a máquina de quem gravou (caminho do JDK) e não vão para a baseline
+     */
+    private static final List<String> CAMPOS_LOCAIS = List.of("jvm");
+
+    private final Properties tolerancias;
+
+    /**
+     * @param tolerancias "metrica=percentual" e "metrica.Classe.benchmark=percentual" para exceções;
+     *                    "folga.metrica=valor" ignora diferenças absolutas menores que o valor
+     */
+    public ComparadorDesempenho(Properties tolerancias) {
+        this.tolerancias = tolerancias;
+    }
+
+    /**
+     * Extrai as medidas de um resultado JSON do JMH ("-rf json"), indexadas por descrição e métrica
+     */
+    public static Map<String, Medida> ler(JsonNode resultado) {
+        Map<String, Medida> medidas = new LinkedHashMap<>();
+        for (JsonNode execucao : resultado) {
+            String nome = execucao.get("benchmark").asText();
+            String benchmark = nome.substring(nome.lastIndexOf('.', nome.lastIndexOf('.') - 1) + 1);
+            String modo = execucao.get("mode").asText();
+            String descricao = benchmark + parametros(execucao.get("params")) + " (" + modo + ")";
+
+            JsonNode principal = execucao.get("primaryMetric");
+            String unidade = principal.get("scoreUnit").asText();
+            switch (modo) {
+                case "thrpt" -> adicionar(medidas, new Medida(benchmark, descricao, Metrica.VAZAO,
+                        principal.get("score").asDouble(), erro(principal), unidade));
+                case "sample" -> adicionar(medidas, new Medida(benchmark, descricao, Metrica.P99,
+                        principal.get("scorePercentiles").get("99.0").asDouble(), 0.0, unidade));
+                default -> adicionar(medidas, new Medida(benchmark, descricao, Metrica.TEMPO,
+                        principal.get("score").asDouble(), erro(principal), unidade));
+            }
+
+            JsonNode secundarias = execucao.get("secondaryMetrics");
+            if (secundarias != null) {
+                for (Iterator<Map.Entry<String, JsonNode>> it = secundarias.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> metrica = it.next();
+                    // Versões antigas do JMH prefixam as métricas dos profilers com "·"
+                    if (metrica.getKey().replace("·", "").equals(ALOCACAO_NORMALIZADA)) {
+                        JsonNode alocacao = metrica.getValue();
+                        adicionar(medidas, new Medida(benchmark, descricao, Metrica.ALOCACAO,
+                                alocacao.get("score").asDouble(), erro(alocacao), alocacao.get("scoreUnit").asText()));
+                    }
+                }
+            }
+        }
+        return medidas;
+    }
+
+    /**
+     * Compara todas as medidas da baseline e do resultado atual, na ordem da baseline
+     */
+    public List<Comparacao> comparar(Map<String, Medida> baseline, Map<String, Medida> atual) {
+        List<Comparacao> comparacoes = new ArrayList<>();
+        baseline.forEach((chave, base) -> {
+            Medida medida = atual.get(chave);
+            comparacoes.add(medida == null
+                    ? new Comparacao(base, null, 0.0, tolerancia(base), Situacao.AUSENTE)
+                    : comparar(base, medida));
+        });
+        atual.forEach((chave, medida) -> {
+            if (!baseline.containsKey(chave)) {
+                comparacoes.add(new Comparacao(null, medida, 0.0, tolerancia(medida), Situacao.NOVA));
+            }
+        });
+        return comparacoes;
+    }
+
+    private Comparacao comparar(Medida base, Medida atual) {
+        double diferenca = atual.valor() - base.valor();
+        double variacao = base.valor() == 0 ? 0.0 : diferenca / base.valor() * 100;
+        double tolerancia = tolerancia(base);
+        // Piora positiva: para vazão, cair; para tempo, p99 e alocação, subir
+        double piora = base.metrica().maiorMelhor ? -variacao : variacao;
+        // Diferenças dentro da folga ou dos intervalos de confiança somados são ruído, não mudança
+        boolean significativa = Math.abs(diferenca) > Math.max(folga(base.metrica()), base.erro() + atual.erro());
+
+        Situacao situacao;
+        if (piora > tolerancia && significativa) {
+            situacao = Situacao.REGRESSAO;
+        } else if (-piora > tolerancia && significativa) {
+            situacao = Situacao.MELHORA;
+        } else {
+            situacao = Situacao.OK;
+        }
+        return new Comparacao(base, atual, variacao, tolerancia, situacao);
+    }
+
+    double tolerancia(Medida medida) {
+        String especifica = tolerancias.getProperty(medida.metrica().getChave() + "." + medida.benchmark());
+        String geral = tolerancias.getProperty(medida.metrica().getChave());
+        if (especifica == null && geral == null) {
+            throw new IllegalArgumentException("Sem tolerância para a métrica " + medida.metrica().getChave());
+        }
+        return Double.parseDouble(especifica != null ? especifica : geral);
+    }
+
+    private double folga(Metrica metrica) {
+        return Double.parseDouble(tolerancias.getProperty("folga." + metrica.getChave(), "0"));
+    }
+
+    public static boolean temRegressao(List<Comparacao> comparacoes) {
+        return comparacoes.stream().anyMatch(c -> c.situacao() == Situacao.REGRESSAO);
+    }
+
+    /**
+     * Regressão ou medida da baseline que deixou de ser medida: a barreira não pode passar
+     */
+    public static boolean reprovada(List<Comparacao> comparacoes) {
+        return comparacoes.stream()
+                .anyMatch(c -> c.situacao() == Situacao.REGRESSAO || c.situacao() == Situacao.AUSENTE);
+    }
+
+    /**
+     * Diferenças de JVM entre a baseline e o resultado atual, uma por campo; vazia se comparáveis
+     */
+    public static List<String> divergenciasAmbiente(JsonNode baseline, JsonNode atual) {
+        List<String> divergencias = new ArrayList<>();
+        for (String campo : CAMPOS_AMBIENTE) {
+            Set<String> daBaseline = valores(baseline, campo);
+            Set<String> doAtual = valores(atual, campo);
+            if (!daBaseline.equals(doAtual)) {
+                divergencias.add(campo + ": baseline " + daBaseline + ", atual " + doAtual);
+            }
+        }
+        return divergencias;
+    }
+
+    private static Set<String> valores(JsonNode resultado, String campo) {
+        Set<String> valores = new TreeSet<>();
+        for (JsonNode execucao : resultado) {
+            JsonNode valor = execucao.get(campo);
+            valores.add(valor == null ? "?" : normalizar(campo, valor.asText()));
+        }
+        return valores;
+    }
+
+    /**
+     * Atualizações do JDK (21.0.1 para 21.0.2) não invalidam a baseline; só a versão principal conta
+     */
+    private static String normalizar(String campo, String valor) {
+        if (!campo.equals("jdkVersion")) {
+            return valor;
+        }
+        try {
+            return String.valueOf(Runtime.Version.parse(valor).feature());
+        } catch (IllegalArgumentException e) {
+            return valor;
+        }
+    }
+
+    /**
+     * Máquina que executa os benchmarks: a propriedade desempenho.executor, se informada,
+     * ou o modelo e a quantidade de CPUs e a arquitetura
+     */
+    public static String executor() {
+        String informado = System.getProperty("desempenho.executor", "").strip();
+        if (!informado.isEmpty()) {
+            return informado;
+        }
+        return modeloCpu() + " x" + Runtime.getRuntime().availableProcessors() + " " + System.getProperty("os.arch");
+    }
+
+    private static String modeloCpu() {
+        try {
+            for (String linha : Files.readAllLines(Path.of("/proc/cpuinfo"))) {
+                if (linha.startsWith("model name")) {
+                    return linha.substring(linha.indexOf(':') + 1).strip();
+                }
+            }
+        } catch (IOException e) {
+            // Fora do Linux: fica só a quantidade de CPUs e a arquitetura
+        }
+        return "cpu";
+    }
+
+    /**
+     * Acrescenta o executor a cada execução do resultado, para gravá-lo na baseline ou compará-lo com ela
+     */
+    public static JsonNode identificar(JsonNode resultado, String executor) {
+        for (JsonNode execucao : resultado) {
+            ((ObjectNode) execucao).put("executor", executor);
+        }
+        return resultado;
+    }
+
+    /**
+     * Tabela legível com a variação de cada medida e um resumo por situação
+     */
+    public static String relatorio(List<Comparacao> comparacoes, String origemBaseline) {
+        StringBuilder texto = new StringBuilder("Desempenho comparado com a baseline ").append(origemBaseline).append("\n\n");
+        int largura = comparacoes.stream()
+                .mapToInt(c -> (c.baseline() != null ? c.baseline() : c.atual()).descricao().length())
+                .max().orElse(9);
+        String formato = "%-10s %-9s %-" + largura + "s %26s %26s %9s %6s%n";
+        texto.append(String.format(Locale.ROOT, formato,
+                "situação", "métrica", "benchmark", "baseline", "atual", "variação", "tol."));
+        Map<Situacao, Integer> totais = new TreeMap<>();
+        for (Comparacao comparacao : comparacoes) {
+            Medida referencia = comparacao.baseline() != null ? comparacao.baseline() : comparacao.atual();
+            texto.append(String.format(Locale.ROOT, formato,
+                    comparacao.situacao().rotulo, referencia.metrica().getChave(), referencia.descricao(),
+                    valor(comparacao.baseline()), valor(comparacao.atual()),
+                    comparacao.baseline() != null && comparacao.atual() != null
+                            ? String.format(Locale.ROOT, "%+.1f%%", comparacao.variacaoPercentual()) : "-",
+                    String.format(Locale.ROOT, "%.0f%%", comparacao.tolerancia())));
+            totais.merge(comparacao.situacao(), 1, Integer::sum);
+        }
+        texto.append("\nResumo:");
+        for (Situacao situacao : Situacao.values()) {
+            texto.append(' ').append(situacao.rotulo).append('=').append(totais.getOrDefault(situacao, 0));
+        }
+        return texto.append('\n').toString();
+    }
+
+    private static String valor(Medida medida) {
+        if (medida == null) {
+            return "-";
+        }
+        return medida.erro() > 0
+                ? String.format(Locale.ROOT, "%.3f ± %.3f %s", medida.valor(), medida.erro(), medida.unidade())
+                : String.format(Locale.ROOT, "%.3f %s", medida.valor(), medida.unidade());
+    }
+
+    private static void adicionar(Map<String, Medida> medidas, Medida medida) {
+        medidas.put(medida.descricao() + " " + medida.metrica().getChave(), medida);
+    }
+
+    private static String parametros(JsonNode params) {
+        if (params == null || params.isEmpty()) {
+            return "";
+        }
+        Map<String, String> ordenados = new TreeMap<>();
+        params.fields().forEachRemaining(p -> ordenados.put(p.getKey(), p.getValue().asText()));
+        return " " + ordenados.toString().replace('{', '[').replace('}', ']');
+    }
+
+    private static double erro(JsonNode metrica) {
+        JsonNode erro = metrica.get("scoreError");
+        // O JMH grava "NaN" quando há uma única iteração
+        return erro == null || !erro.isNumber() ? 0.0 : erro.asDouble();
+    }
+
+    /**
+     * Remove as amostras brutas de cada métrica e os campos locais de quem gravou:
+     * a baseline versionada guarda só os resumos e o ambiente que precisa coincidir
+     */
+    public static JsonNode semAmostras(JsonNode resultado) {
+        for (JsonNode execucao : resultado) {
+            ((ObjectNode) execucao).remove(CAMPOS_LOCAIS);
+            List<JsonNode> metricas = new ArrayList<>();
+            metricas.add(execucao.get("primaryMetric"));
+            JsonNode secundarias = execucao.get("secondaryMetrics");
+            if (secundarias != null) {
+                secundarias.forEach(metricas::add);
+            }
+            for (JsonNode metrica : metricas) {
+                ((ObjectNode) metrica).remove(List.of("rawData", "rawDataHistogram"));
+            }
+        }
+        return resultado;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Uso: ComparadorDesempenho resultado.json baseline.json tolerancias.properties relatorio.txt [atualizar]");
+            System.exit(2);
+        }
+        Path resultado = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        ObjectMapper json = new ObjectMapper();
+        if (args.length > 4 && Boolean.parseBoolean(args[4])) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            json.writerWithDefaultPrettyPrinter().writeValue(baseline.toFile(),
+                    semAmostras(identificar(json.readTree(resultado.toFile()), executor())));
+            System.out.println("Baseline atualizada: " + baseline);
+            return;
+        }
+
+        JsonNode medidasBaseline = json.readTree(baseline.toFile());
+        JsonNode medidasAtuais = identificar(json.readTree(resultado.toFile()), executor());
+        List<String> divergencias = divergenciasAmbiente(medidasBaseline, medidasAtuais);
+        if (!divergencias.isEmpty()) {
+            System.err.println("Baseline gravada em outra JVM ou máquina; comparação recusada:");
+            divergencias.forEach(divergencia -> System.err.println("  " + divergencia));
+            System.err.println("Rode com o JDK e no executor da baseline ou regrave-a nele com"
+                    + " -Ddesempenho.atualizar-baseline=true");
+            System.exit(1);
+        }
+
+        Properties tolerancias = new Properties();
+        try (Reader leitor = Files.newBufferedReader(Path.of(args[2]))) {
+            tolerancias.load(leitor);
+        }
+        ComparadorDesempenho comparador = new ComparadorDesempenho(tolerancias);
+        List<Comparacao> comparacoes = comparador.comparar(ler(medidasBaseline), ler(medidasAtuais));
+
+        String relatorio = relatorio(comparacoes, baseline.toString());
+        Files.writeString(Path.of(args[3]), relatorio);
+        System.out.println(relatorio);
+        if (reprovada(comparacoes)) {
+            System.err.println("Regressão de desempenho acima da tolerância ou benchmark da baseline sem medida;"
+                    + " relatório em " + args[3]);
+            System.exit(1);
+        }
+    }
+}
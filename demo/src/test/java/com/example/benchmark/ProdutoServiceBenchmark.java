@@ -0,0 +1,138 @@
+package com.example.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.catalogo.CatalogoSintetico;
+import com.example.model.Produto;
+import com.example.service.ProdutoService;
+import com.example.service.ResultadoValidacao;
+
+/**
+ * Benchmarks das operações do ProdutoService com catálogos de 1 mil a 10 milhões de produtos.
+ * Mede vazão e latência (amostrada, com percentis); rode com "-prof gc" para a taxa de alocação.
+ * O grupo "misto" coloca leitores e um escritor disputando o mesmo catálogo.
+ *
+ * mvn -Pbenchmark verify -DskipTests -Djmh.args="ProdutoServiceBenchmark -p tamanho=1000 -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx3g" })
+public class ProdutoServiceBenchmark {
+
+    // Nomes compartilhados: o catálogo de 10 milhões cabe na memória sem uma String por produto
+    private static final int NOMES_DISTINTOS = 10_000;
+    private static final String[] NOMES = { "Notebook", "Mouse sem fio" };
+
+    @Param({ "1000", "100000", "1000000", "10000000" })
+    private int tamanho;
+
+    private ProdutoService service;
+    // IDs do catálogo inicial: 1..maiorId (o construtor do serviço inclui 3 produtos)
+    private long maiorId;
+
+    @Setup(Level.Trial)
+    public void popular() {
+        service = new ProdutoService();
+        maiorId = new CatalogoSintetico(42, NOMES_DISTINTOS).carregar(service, tamanho - service.contarTodos());
+    }
+
+    /**
+     * Estado de cada thread: o produto reaproveitado nas atualizações
+     */
+    @State(Scope.Thread)
+    public static class Atualizacao {
+        final Produto produto = new Produto(null, "Atualizado", 20.0);
+    }
+
+    /**
+     * Estado de cada thread: o produto incluído em salvarInsercao, excluído fora da medição
+     * logo após a invocação para que toda inclusão encontre o catálogo no tamanho do parâmetro.
+     * O helper por invocação custa um par de timestamps, pouco perto de uma inclusão.
+     */
+    @State(Scope.Thread)
+    public static class Insercao {
+        Produto produto;
+
+        @Setup(Level.Invocation)
+        public void novoProduto() {
+            produto = new Produto(NOMES[0], 10.0);
+        }
+
+        @TearDown(Level.Invocation)
+        public void excluir(ProdutoServiceBenchmark benchmark) {
+            benchmark.service.excluir(produto.getId());
+        }
+    }
+
+    @Benchmark
+    public List<Produto> listarTodos() {
+        return service.listarTodos();
+    }
+
+    @Benchmark
+    public Object buscarPorId() {
+        return service.buscarPorId(idExistente());
+    }
+
+    @Benchmark
+    public ResultadoValidacao salvarInsercao(Insercao insercao) {
+        return service.tentarSalvar(insercao.produto);
+    }
+
+    @Benchmark
+    public ResultadoValidacao salvarAtualizacao(Atualizacao atualizacao) {
+        atualizacao.produto.setId(idExistente());
+        return service.tentarSalvar(atualizacao.produto);
+    }
+
+    /**
+     * Exclusão seguida de reinclusão (com novo ID): o catálogo não encolhe entre invocações.
+     * Compare com salvarInsercao para isolar o custo da exclusão.
+     */
+    @Benchmark
+    public boolean excluirAposInsercao() {
+        Produto produto = new Produto(NOMES[1], 10.0);
+        service.tentarSalvar(produto);
+        return service.excluir(produto.getId());
+    }
+
+    @Benchmark
+    @Group("misto")
+    @GroupThreads(3)
+    public Object mistoLeitura() {
+        return service.buscarPorId(idExistente());
+    }
+
+    @Benchmark
+    @Group("misto")
+    @GroupThreads(1)
+    public ResultadoValidacao mistoEscrita(Atualizacao atualizacao) {
+        atualizacao.produto.setId(idExistente());
+        return service.tentarSalvar(atualizacao.produto);
+    }
+
+    private long idExistente() {
+        return ThreadLocalRandom.current().nextLong(1, maiorId + 1);
+    }
+}
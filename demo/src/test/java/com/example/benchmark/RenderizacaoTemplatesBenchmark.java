@@ -0,0 +1,294 @@
+package com.example.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.support.RequestContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.spring6.context.webmvc.SpringWebMvcThymeleafRequestContext;
+import org.thymeleaf.spring6.expression.ThymeleafEvaluationContext;
+import org.thymeleaf.spring6.naming.SpringContextVariableNames;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import com.example.catalogo.CatalogoSintetico;
+import com.example.controller.RenderizacaoEmLotes;
+import com.example.model.Produto;
+
+/**
+ * Benchmarks da renderização dos templates reais (listar.html e form.html) com o mesmo
+ * SpringTemplateEngine do Spring Boot, sem servidor: o custo medido é só o do Thymeleaf.
+ * Parâmetros: tamanho do catálogo, compilador SpEL e estratégia da listagem (lista
+ * materializada ou iteração em lotes com descarga, como no ProdutoController).
+ * Cada parâmetro fica no estado que o usa, para que um benchmark só varie nos parâmetros
+ * que afetam o que ele mede: estrategia só vale para listar, e os form* não dependem do tamanho.
+ * Os benchmarks "precos*" isolam o custo de #numbers.formatDecimal por linha.
+ *
+ * Rodado pelo main desta classe, o resultado também sai normalizado em ns/linha e B/linha:
+ * mvn -Pbenchmark verify -DskipTests -Djmh.main=com.example.benchmark.RenderizacaoTemplatesBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderizacaoTemplatesBenchmark {
+
+    private static final String TEMPLATE_PRECOS_FORMATADOS =
+            "<p th:each=\"produto : ${produtos}\" th:text=\"${#numbers.formatDecimal(produto.preco, 1, 2)}\"></p>";
+    private static final String TEMPLATE_PRECOS_CRUS =
+            "<p th:each=\"produto : ${produtos}\" th:text=\"${produto.preco}\"></p>";
+    private static final Produto PRODUTO_EDITADO = new Produto(1L, "Notebook", 3500.0);
+
+    /**
+     * Motores do Thymeleaf e o contexto web em que renderizam
+     */
+    @State(Scope.Benchmark)
+    public static class Motores {
+
+        @Param({ "false", "true" })
+        private boolean compiladorSpel;
+
+        private SpringTemplateEngine motor;
+        private SpringTemplateEngine motorTexto;
+        private MockServletContext servletContext;
+        private StaticWebApplicationContext aplicacao;
+        private JakartaServletWebApplication web;
+        private final EscritorDescartavel saida = new EscritorDescartavel();
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            servletContext = new MockServletContext();
+            aplicacao = new StaticWebApplicationContext();
+            aplicacao.setServletContext(servletContext);
+            aplicacao.refresh();
+            servletContext.setAttribute(WebApplicationContext.ROOT_WEB_APPLICATION_CONTEXT_ATTRIBUTE, aplicacao);
+            web = JakartaServletWebApplication.buildApplication(servletContext);
+
+            // Mesma configuração de spring.thymeleaf.* em application.properties
+            ClassLoaderTemplateResolver arquivos = new ClassLoaderTemplateResolver();
+            arquivos.setPrefix("templates/");
+            arquivos.setSuffix(".html");
+            arquivos.setTemplateMode(TemplateMode.HTML);
+            arquivos.setCharacterEncoding("UTF-8");
+            arquivos.setCacheable(true);
+            motor = new SpringTemplateEngine();
+            motor.setTemplateResolver(arquivos);
+            motor.setEnableSpringELCompiler(compiladorSpel);
+
+            motorTexto = new SpringTemplateEngine();
+            StringTemplateResolver textos = new StringTemplateResolver();
+            textos.setCacheable(true);
+            motorTexto.setTemplateResolver(textos);
+            motorTexto.setEnableSpringELCompiler(compiladorSpel);
+        }
+
+        /**
+         * Renderiza com o mesmo contexto que o ThymeleafView monta (requisição, RequestContext
+         * e o contexto de requisição do Thymeleaf para th:field, contexto de avaliação SpEL) e retorna os caracteres escritos
+         */
+        long renderizar(SpringTemplateEngine motorUsado, String template, Map<String, Object> modelo) {
+            MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/produtos/listar");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            WebContext contexto = new WebContext(web.buildExchange(request, response), Locale.ROOT, modelo);
+            RequestContext requestContext = new RequestContext(request, response, servletContext, modelo);
+            contexto.setVariable(SpringContextVariableNames.SPRING_REQUEST_CONTEXT, requestContext);
+            contexto.setVariable(SpringContextVariableNames.THYMELEAF_REQUEST_CONTEXT,
+                    new SpringWebMvcThymeleafRequestContext(requestContext, request));
+            contexto.setVariable(ThymeleafEvaluationContext.THYMELEAF_EVALUATION_CONTEXT_CONTEXT_VARIABLE_NAME,
+                    new ThymeleafEvaluationContext(aplicacao, null));
+
+            long antes = saida.escritos;
+            String[] partes = template.split(" :: ");
+            if (partes.length == 2) {
+                motorUsado.process(partes[0], Set.of(partes[1]), contexto, saida);
+            } else {
+                motorUsado.process(template, contexto, saida);
+            }
+            return saida.escritos - antes;
+        }
+    }
+
+    /**
+     * Catálogo renderizado pelos benchmarks de listagem e de preços
+     */
+    @State(Scope.Benchmark)
+    public static class Catalogo {
+
+        @Param({ "10", "100", "1000", "10000" })
+        private int tamanho;
+
+        private List<Produto> produtos;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            produtos = catalogoSintetico(tamanho);
+        }
+    }
+
+    /**
+     * Estratégia da listagem completa
+     */
+    @State(Scope.Benchmark)
+    public static class Estrategia {
+
+        @Param({ "lista", "lotes" })
+        private String estrategia;
+    }
+
+    @Benchmark
+    public long listar(Motores motores, Catalogo catalogo, Estrategia estrategia) {
+        Map<String, Object> modelo = new HashMap<>();
+        modelo.put("produtos", "lotes".equals(estrategia.estrategia)
+                ? new RenderizacaoEmLotes<>(catalogo.produtos, 50, motores.saida)
+                : new ArrayList<>(catalogo.produtos));
+        modelo.put("vazio", catalogo.produtos.isEmpty());
+        return motores.renderizar(motores.motor, "listar", modelo);
+    }
+
+    @Benchmark
+    public long linhas(Motores motores, Catalogo catalogo) {
+        Map<String, Object> modelo = new HashMap<>();
+        modelo.put("produtos", catalogo.produtos);
+        return motores.renderizar(motores.motor, "listar :: linha", modelo);
+    }
+
+    @Benchmark
+    public long formCadastro(Motores motores) {
+        Map<String, Object> modelo = new HashMap<>();
+        modelo.put("produto", new Produto());
+        modelo.put("chaveIdempotencia", "00000000-0000-0000-0000-000000000000");
+        return motores.renderizar(motores.motor, "form", modelo);
+    }
+
+    @Benchmark
+    public long formEdicaoComErro(Motores motores) {
+        Map<String, Object> modelo = new HashMap<>();
+        modelo.put("produto", PRODUTO_EDITADO);
+        modelo.put("chaveIdempotencia", "00000000-0000-0000-0000-000000000000");
+        modelo.put("erro", "O preço deve ser maior que zero.");
+        return motores.renderizar(motores.motor, "form", modelo);
+    }
+
+    @Benchmark
+    public long precosFormatados(Motores motores, Catalogo catalogo) {
+        return motores.renderizar(motores.motorTexto, TEMPLATE_PRECOS_FORMATADOS, Map.of("produtos", catalogo.produtos));
+    }
+
+    @Benchmark
+    public long precosCrus(Motores motores, Catalogo catalogo) {
+        return motores.renderizar(motores.motorTexto, TEMPLATE_PRECOS_CRUS, Map.of("produtos", catalogo.produtos));
+    }
+
+    /**
+     * Catálogo sintético (semente fixa: execuções comparáveis) com IDs 1..tamanho
+     */
+    static List<Produto> catalogoSintetico(int tamanho) {
+        List<Produto> produtos = new CatalogoSintetico(42).produtos(tamanho).toList();
+        for (int i = 0; i < produtos.size(); i++) {
+            produtos.get(i).setId(i + 1L);
+        }
+        return produtos;
+    }
+
+    /**
+     * Destino que só conta caracteres, para que a medição não inclua a cópia para um buffer
+     */
+    static final class EscritorDescartavel extends Writer {
+        long escritos;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            escritos += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            escritos += len;
+        }
+
+        @Override
+        public void write(int c) {
+            escritos++;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+
+    /**
+     * Executa os benchmarks desta classe (aceita as opções de linha de comando do JMH)
+     * e imprime os resultados por linha do catálogo
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions opcoes = new CommandLineOptions(args);
+        OptionsBuilder construtor = new OptionsBuilder();
+        construtor.parent(opcoes);
+        if (opcoes.getIncludes().isEmpty()) {
+            construtor.include(RenderizacaoTemplatesBenchmark.class.getSimpleName());
+        }
+        if (opcoes.getProfilers().isEmpty()) {
+            construtor.addProfiler("gc");
+        }
+        Collection<RunResult> resultados = new Runner(construtor.build()).run();
+
+        System.out.println();
+        System.out.printf("%-22s %8s %8s %6s %12s %12s%n", "Benchmark", "tamanho", "spel", "estrat", "ns/linha", "B/linha");
+        for (RunResult resultado : resultados) {
+            String nome = resultado.getParams().getBenchmark();
+            nome = nome.substring(nome.lastIndexOf('.') + 1);
+            if (nome.startsWith("form")) {
+                continue;
+            }
+            int linhas = Integer.parseInt(resultado.getParams().getParam("tamanho"));
+            Result<?> tempo = resultado.getPrimaryResult();
+            double nanos = tempo.getScore() * TimeUnit.MICROSECONDS.toNanos(1);
+            Result<?> alocacao = resultado.getSecondaryResults().get("gc.alloc.rate.norm");
+            String estrategia = resultado.getParams().getParam("estrategia");
+            System.out.printf(Locale.ROOT, "%-22s %8d %8s %6s %12.1f %12s%n", nome, linhas,
+                    resultado.getParams().getParam("compiladorSpel"), estrategia != null ? estrategia : "-",
+                    nanos / linhas,
+                    alocacao != null ? String.format(Locale.ROOT, "%.1f", alocacao.getScore() / linhas) : "-");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.carga;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.example.catalogo.CatalogoSintetico;
+import com.example.model.Produto;
+import com.example.service.ProdutoService;
+
+/**
+ * Teste de carga HTTP: sobe a aplicação em porta aleatória e aplica carga aberta com
+ * a mistura configurada, gravando o relatório e os histogramas em target/carga.
+ * Só roda quando pedido:
+ *
+ * mvn test -Dtest=CargaHttpTest -Dcarga=true -Dcarga.taxa=200 -Dcarga.duracao-segundos=60
+ *
+ * Propriedades: carga.taxa (req/s), carga.duracao-segundos, carga.aquecimento-segundos,
+ * carga.mistura ("listar:70,editar:20,salvar:5,excluir:5"), carga.catalogo (produtos
+ * incluídos antes da carga), carga.maximo-em-voo e carga.p99-maximo-ms (falha acima dele).
+ * O limite de taxa por cliente fica desligado: todo o tráfego vem de um único endereço.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "produtos.limite-taxa.habilitado=false")
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+class CargaHttpTest {
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Test
+    void testCargaAberta() throws Exception {
+        double taxa = Double.parseDouble(System.getProperty("carga.taxa", "100"));
+        long duracao = Long.getLong("carga.duracao-segundos", 30);
+        long aquecimento = Long.getLong("carga.aquecimento-segundos", 10);
+        Map<OperacaoCarga, Integer> mistura =
+                OperacaoCarga.mistura(System.getProperty("carga.mistura", "listar:70,editar:20,salvar:5,excluir:5"));
+
+        new CatalogoSintetico(42).carregar(produtoService, Integer.getInteger("carga.catalogo", 1000));
+        List<Long> existentes = produtoService.listarTodos().stream().map(Produto::getId).toList();
+
+        // Um produto descartável por exclusão prevista, com folga; esgotados, exclui IDs inexistentes
+        int pesoTotal = mistura.values().stream().mapToInt(Integer::intValue).sum();
+        long exclusoes = (long) Math.ceil(taxa * (duracao + aquecimento)
+                * mistura.getOrDefault(OperacaoCarga.EXCLUIR, 0) / pesoTotal * 1.2);
+        Queue<Long> descartaveis = new ConcurrentLinkedQueue<>();
+        CatalogoSintetico catalogo = new CatalogoSintetico(43);
+        for (long i = 0; i < exclusoes; i++) {
+            Produto produto = catalogo.produto(i);
+            produtoService.salvar(produto);
+            descartaveis.add(produto.getId());
+        }
+
+        GeradorCarga.Configuracao configuracao = new GeradorCarga.Configuracao(
+                URI.create("http://localhost:" + porta), taxa,
+                Duration.ofSeconds(aquecimento), Duration.ofSeconds(duracao), mistura,
+                Integer.getInteger("carga.maximo-em-voo", 1000));
+        GeradorCarga gerador = new GeradorCarga(configuracao,
+                () -> existentes.get(ThreadLocalRandom.current().nextInt(existentes.size())),
+                () -> {
+                    Long id = descartaveis.poll();
+                    return id != null ? id : Long.MAX_VALUE;
+                });
+
+        ResultadoCarga resultado = gerador.executar();
+        System.out.println(resultado.relatorio());
+        resultado.gravar(Path.of("target", "carga"));
+
+        assertTrue(resultado.getConcluidas() > 0, "Nenhuma requisição foi concluída");
+        String p99Maximo = System.getProperty("carga.p99-maximo-ms");
+        if (p99Maximo != null) {
+            double p99 = resultado.latenciasTotais().getValueAtPercentile(99) / 1000.0;
+            assertTrue(p99 <= Double.parseDouble(p99Maximo),
+                    "p99 de " + p99 + " ms acima do máximo de " + p99Maximo + " ms");
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.carga;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Gerador de carga HTTP em modelo aberto: as requisições partem a uma taxa constante,
+ * independentemente de as anteriores já terem respondido. Com o servidor lento a fila
+ * cresce (como com usuários reais), em vez de o gerador desacelerar junto com ele.
+ * Cada envio sorteia a operação pela mistura de pesos.
+ */
+public class GeradorCarga {
+
+    /**
+     * @param taxaPorSegundo requisições iniciadas por segundo
+     * @param aquecimento período inicial enviado mas não medido
+     * @param maximoEmVoo limite de requisições sem resposta; acima dele o envio é descartado e contado
+     */
+    public record Configuracao(URI base, double taxaPorSegundo, Duration aquecimento, Duration duracao,
+            Map<OperacaoCarga, Integer> mistura, int maximoEmVoo) {
+
+        public Configuracao {
+            if (taxaPorSegundo <= 0 || maximoEmVoo < 1 || duracao.isZero() || duracao.isNegative()) {
+                throw new IllegalArgumentException("Taxa, duração e limite em voo da carga devem ser positivos");
+            }
+        }
+
+        String descricao() {
+            return String.format(Locale.ROOT, "Carga aberta: %.1f req/s por %d s após %d s de aquecimento (%s) em %s",
+                    taxaPorSegundo, duracao.toSeconds(), aquecimento.toSeconds(),
+                    mistura.entrySet().stream().map(e -> e.getKey().nome() + ":" + e.getValue())
+                            .collect(Collectors.joining(",")),
+                    base);
+        }
+    }
+
+    private static final long ESPERA_FINAL_SEGUNDOS = 60;
+
+    private final Configuracao configuracao;
+    private final LongSupplier idsEdicao;
+    private final LongSupplier idsExclusao;
+    private final HttpClient cliente;
+    private final OperacaoCarga[] operacoes;
+    private final int[] pesosAcumulados;
+
+    /**
+     * @param idsEdicao fornece IDs existentes para editar
+     * @param idsExclusao fornece IDs descartáveis para excluir (cada um usado uma vez)
+     */
+    public GeradorCarga(Configuracao configuracao, LongSupplier idsEdicao, LongSupplier idsExclusao) {
+        this.configuracao = configuracao;
+        this.idsEdicao = idsEdicao;
+        this.idsExclusao = idsExclusao;
+        // HTTP/1.1 como o navegador; redirecionamentos não são seguidos: mede-se a requisição em si
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        this.operacoes = configuracao.mistura().keySet().toArray(new OperacaoCarga[0]);
+        this.pesosAcumulados = new int[operacoes.length];
+        int soma = 0;
+        for (int i = 0; i < operacoes.length; i++) {
+            soma += configuracao.mistura().get(operacoes[i]);
+            pesosAcumulados[i] = soma;
+        }
+    }
+
+    /**
+     * Aquece e então mede; apenas o período medido entra no resultado
+     */
+    public ResultadoCarga executar() throws InterruptedException, TimeoutException {
+        if (!configuracao.aquecimento().isZero()) {
+            fase(configuracao.aquecimento());
+        }
+        return fase(configuracao.duracao());
+    }
+
+    private ResultadoCarga fase(Duration duracao) throws InterruptedException, TimeoutException {
+        ResultadoCarga resultado = new ResultadoCarga(configuracao.mistura().keySet(), configuracao.descricao());
+        Semaphore emVoo = new Semaphore(configuracao.maximoEmVoo());
+        Phaser pendentes = new Phaser(1);
+        long intervalo = (long) (TimeUnit.SECONDS.toNanos(1) / configuracao.taxaPorSegundo());
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+
+        for (long i = 0; ; i++) {
+            // Instante previsto fixo: um atraso do gerador não empurra os envios seguintes
+            long previsto = inicio + i * intervalo;
+            if (previsto >= fim) {
+                break;
+            }
+            esperarAte(previsto);
+
+            OperacaoCarga operacao = sortear();
+            if (!emVoo.tryAcquire()) {
+                resultado.descartar(operacao);
+                continue;
+            }
+            pendentes.register();
+            long id = switch (operacao) {
+                case EDITAR -> idsEdicao.getAsLong();
+                case EXCLUIR -> idsExclusao.getAsLong();
+                default -> 0;
+            };
+            cliente.sendAsync(operacao.requisicao(configuracao.base(), id), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> {
+                        resultado.registrar(operacao, System.nanoTime() - previsto,
+                                resposta != null ? resposta.statusCode() : -1);
+                        emVoo.release();
+                        pendentes.arriveAndDeregister();
+                    });
+        }
+
+        pendentes.awaitAdvanceInterruptibly(pendentes.arrive(), ESPERA_FINAL_SEGUNDOS, TimeUnit.SECONDS);
+        resultado.encerrar(System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    private OperacaoCarga sortear() {
+        int sorteio = ThreadLocalRandom.current().nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (sorteio < pesosAcumulados[i]) {
+                return operacoes[i];
+            }
+        }
+        return operacoes[operacoes.length - 1];
+    }
+
+    private static void esperarAte(long instante) {
+        long falta;
+        while ((falta = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(falta);
+        }
+    }
+}
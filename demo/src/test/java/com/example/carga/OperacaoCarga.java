@@ -0,0 +1,73 @@
+package com.example.carga;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Operações que o gerador de carga sabe enviar, com o mesmo formato de requisição do navegador
+ */
+public enum OperacaoCarga {
+
+    LISTAR,
+    EDITAR,
+    SALVAR,
+    EXCLUIR;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Monta a requisição; {@code id} é ignorado por listar e salvar
+     */
+    HttpRequest requisicao(URI base, long id) {
+        HttpRequest.Builder construtor = HttpRequest.newBuilder().timeout(TIMEOUT);
+        switch (this) {
+            case LISTAR -> construtor.uri(base.resolve("/produtos/listar")).GET();
+            case EDITAR -> construtor.uri(base.resolve("/produtos/editar/" + id)).GET();
+            case EXCLUIR -> construtor.uri(base.resolve("/produtos/excluir/" + id)).GET();
+            case SALVAR -> {
+                double preco = ThreadLocalRandom.current().nextInt(100, 1_000_000) / 100.0;
+                String formulario = String.format(Locale.ROOT, "nome=Produto+carga+%d&preco=%.2f",
+                        ThreadLocalRandom.current().nextInt(1_000_000), preco);
+                construtor.uri(base.resolve("/produtos/salvar"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .header("Idempotency-Key", UUID.randomUUID().toString())
+                        .POST(HttpRequest.BodyPublishers.ofString(formulario));
+            }
+        }
+        return construtor.build();
+    }
+
+    public String nome() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Lê uma mistura no formato "listar:70,editar:20,salvar:5,excluir:5" (pesos relativos)
+     */
+    public static Map<OperacaoCarga, Integer> mistura(String texto) {
+        Map<OperacaoCarga, Integer> pesos = new EnumMap<>(OperacaoCarga.class);
+        for (String parte : texto.split(",")) {
+            String[] chaveValor = parte.trim().split(":");
+            if (chaveValor.length != 2) {
+                throw new IllegalArgumentException("Item de mistura inválido: " + parte);
+            }
+            int peso = Integer.parseInt(chaveValor[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("Peso negativo na mistura: " + parte);
+            }
+            if (peso > 0) {
+                pesos.put(valueOf(chaveValor[0].trim().toUpperCase(Locale.ROOT)), peso);
+            }
+        }
+        if (pesos.isEmpty()) {
+            throw new IllegalArgumentException("Mistura sem operações: " + texto);
+        }
+        return pesos;
+    }
+}
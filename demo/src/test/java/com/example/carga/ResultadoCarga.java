@@ -0,0 +1,166 @@
+package com.example.carga;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latências (histogramas HDR, em microssegundos) e contagem de respostas por operação.
+ * A latência é medida a partir do instante previsto de envio, não do envio efetivo:
+ * se o gerador atrasa, o atraso entra na medida (sem omissão coordenada).
+ */
+public class ResultadoCarga {
+
+    private static final long LATENCIA_MAXIMA_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    /**
+     * Histograma e contadores de uma operação
+     */
+    static final class Medidas {
+        final Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_MICROS, 3);
+        final LongAdder sucesso = new LongAdder();
+        final LongAdder limitadas = new LongAdder();
+        final LongAdder indisponiveis = new LongAdder();
+        final LongAdder outras = new LongAdder();
+        final LongAdder falhas = new LongAdder();
+        final LongAdder descartadas = new LongAdder();
+
+        long concluidas() {
+            return sucesso.sum() + limitadas.sum() + indisponiveis.sum() + outras.sum() + falhas.sum();
+        }
+    }
+
+    private final Map<OperacaoCarga, Medidas> medidas = new EnumMap<>(OperacaoCarga.class);
+    private final String descricao;
+    private long duracaoNanos;
+
+    ResultadoCarga(Iterable<OperacaoCarga> operacoes, String descricao) {
+        for (OperacaoCarga operacao : operacoes) {
+            medidas.put(operacao, new Medidas());
+        }
+        this.descricao = descricao;
+    }
+
+    /**
+     * Registra uma resposta; status -1 indica falha de transporte (conexão, timeout)
+     */
+    void registrar(OperacaoCarga operacao, long latenciaNanos, int status) {
+        Medidas m = medidas.get(operacao);
+        m.latencias.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latenciaNanos), LATENCIA_MAXIMA_MICROS));
+        if (status < 0) {
+            m.falhas.increment();
+        } else if (status < 400) {
+            m.sucesso.increment();
+        } else if (status == 429) {
+            m.limitadas.increment();
+        } else if (status == 503) {
+            m.indisponiveis.increment();
+        } else {
+            m.outras.increment();
+        }
+    }
+
+    /**
+     * Requisição não enviada porque o limite de requisições em voo foi atingido
+     */
+    void descartar(OperacaoCarga operacao) {
+        medidas.get(operacao).descartadas.increment();
+    }
+
+    void encerrar(long duracaoNanos) {
+        this.duracaoNanos = duracaoNanos;
+    }
+
+    public Histogram latencias(OperacaoCarga operacao) {
+        return medidas.get(operacao).latencias;
+    }
+
+    /**
+     * Latências de todas as operações juntas
+     */
+    public Histogram latenciasTotais() {
+        Histogram total = new Histogram(LATENCIA_MAXIMA_MICROS, 3);
+        medidas.values().forEach(m -> total.add(m.latencias));
+        return total;
+    }
+
+    public long getConcluidas() {
+        return medidas.values().stream().mapToLong(Medidas::concluidas).sum();
+    }
+
+    public long getFalhas() {
+        return medidas.values().stream().mapToLong(m -> m.falhas.sum()).sum();
+    }
+
+    public long getDescartadas() {
+        return medidas.values().stream().mapToLong(m -> m.descartadas.sum()).sum();
+    }
+
+    public double getVazaoPorSegundo() {
+        return duracaoNanos == 0 ? 0.0 : getConcluidas() * 1e9 / duracaoNanos;
+    }
+
+    /**
+     * Tabela com vazão, respostas por classe e percentis de latência (ms) por operação
+     */
+    public String relatorio() {
+        StringBuilder texto = new StringBuilder(descricao).append('\n');
+        texto.append(String.format(Locale.ROOT, "%-8s %9s %9s %8s %6s %6s %6s %6s %7s %9s %9s %9s %9s %9s%n",
+                "operação", "concluída", "req/s", "2xx/3xx", "429", "503", "outros", "falhas", "descart",
+                "p50 ms", "p90 ms", "p99 ms", "p99,9 ms", "máx ms"));
+        medidas.forEach((operacao, m) -> linha(texto, operacao.nome(), m.concluidas(), m.sucesso.sum(),
+                m.limitadas.sum(), m.indisponiveis.sum(), m.outras.sum(), m.falhas.sum(), m.descartadas.sum(),
+                m.latencias));
+        linha(texto, "total", getConcluidas(),
+                somar(m -> m.sucesso.sum()), somar(m -> m.limitadas.sum()), somar(m -> m.indisponiveis.sum()),
+                somar(m -> m.outras.sum()), getFalhas(), getDescartadas(), latenciasTotais());
+        return texto.toString();
+    }
+
+    private long somar(ToLongFunction<Medidas> contador) {
+        return medidas.values().stream().mapToLong(contador).sum();
+    }
+
+    private void linha(StringBuilder texto, String nome, long concluidas, long sucesso, long limitadas,
+            long indisponiveis, long outras, long falhas, long descartadas, Histogram latencias) {
+        double vazao = duracaoNanos == 0 ? 0.0 : concluidas * 1e9 / duracaoNanos;
+        texto.append(String.format(Locale.ROOT, "%-8s %9d %9.1f %8d %6d %6d %6d %6d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                nome, concluidas, vazao, sucesso, limitadas, indisponiveis, outras, falhas, descartadas,
+                ms(latencias.getValueAtPercentile(50)), ms(latencias.getValueAtPercentile(90)),
+                ms(latencias.getValueAtPercentile(99)), ms(latencias.getValueAtPercentile(99.9)),
+                ms(latencias.getMaxValue())));
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Grava o relatório e a distribuição completa de cada operação (.hgrm, em ms),
+     * no formato aceito pelo plotter do HdrHistogram
+     */
+    public void gravar(Path diretorio) throws IOException {
+        Files.createDirectories(diretorio);
+        Files.writeString(diretorio.resolve("relatorio.txt"), relatorio());
+        for (Map.Entry<OperacaoCarga, Medidas> entrada : medidas.entrySet()) {
+            gravarDistribuicao(diretorio.resolve(entrada.getKey().nome() + ".hgrm"), entrada.getValue().latencias);
+        }
+        gravarDistribuicao(diretorio.resolve("total.hgrm"), latenciasTotais());
+    }
+
+    private static void gravarDistribuicao(Path arquivo, Histogram latencias) throws IOException {
+        try (PrintStream saida = new PrintStream(Files.newOutputStream(arquivo), false, "UTF-8")) {
+            latencias.outputPercentileDistribution(saida, 1000.0);
+        }
+    }
+}
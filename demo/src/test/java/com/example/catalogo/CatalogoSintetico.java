@@ -0,0 +1,195 @@
+package com.example.catalogo;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import com.example.model.Produto;
+import com.example.service.ProdutoService;
+import com.example.service.ResultadoValidacao;
+
+/**
+ * Gerador determinístico de catálogos sintéticos para benchmarks, testes de carga e de longa duração.
+ * O produto de cada posição depende só da semente e da posição: a mesma semente gera o mesmo
+ * catálogo, em qualquer ordem ou em paralelo. Os nomes são em português, com acentos e tamanhos
+ * variados (até o limite de {@value ResultadoValidacao#TAMANHO_MAXIMO_NOME} caracteres); os preços
+ * seguem uma distribuição log-normal, com muitos produtos baratos e uma cauda longa de caros.
+ */
+public class CatalogoSintetico {
+
+    private static final String[] TIPOS = { "Notebook", "Mouse", "Teclado", "Monitor", "Cadeira", "Câmera",
+            "Fone de ouvido", "Impressora", "Roteador", "Caixa de som", "Relógio", "Mochila", "Luminária",
+            "Ventilador", "Cafeteira", "Liquidificador", "Ração", "Pão de queijo", "Açúcar mascavo", "Maçã",
+            "Óculos de sol", "Tênis", "Camiseta", "Escrivaninha", "Colchão", "Travesseiro", "Panela", "Violão" };
+    private static final String[] QUALIFICADORES = { "sem fio", "ergonômico", "portátil", "mecânico",
+            "orgânico", "de alumínio", "econômico", "à prova d'água", "com iluminação", "elétrico",
+            "profissional", "infantil", "térmico", "dobrável", "clássico", "básico" };
+    private static final String[] MARCAS = { "Atlântico", "Boa Vista", "Cerrado", "Ipê", "Jabuticaba",
+            "Maracujá", "Pantanal", "São Jorge", "Tucunaré", "Vitória-régia" };
+    private static final String[] COMPLEMENTOS = { "edição especial", "tamanho único", "cor azul-marinho",
+            "garantia estendida", "versão 2", "kit com 3 unidades", "importação", "acabamento fosco",
+            "pronta entrega", "embalagem econômica", "voltagem 220 V", "coleção outono/inverno" };
+
+    // Log-normal: mediana de R$ 80, com 1% dos produtos acima de ~R$ 1.500
+    private static final double MEDIANA_PRECO = 80.0;
+    private static final double DISPERSAO_PRECO = 1.25;
+    private static final double PRECO_MAXIMO = 99_999.99;
+
+    private final long semente;
+    private final String[] vocabulario;
+
+    /**
+     * Catálogo em que cada produto tem o próprio nome
+     */
+    public CatalogoSintetico(long semente) {
+        this(semente, 0);
+    }
+
+    /**
+     * Com {@code nomesDistintos > 0}, os nomes são sorteados de um conjunto fixo desse tamanho e
+     * compartilhados entre produtos: catálogos de dezenas de milhões cabem na memória
+     */
+    public CatalogoSintetico(long semente, int nomesDistintos) {
+        this.semente = semente;
+        if (nomesDistintos > 0) {
+            vocabulario = new String[nomesDistintos];
+            for (int i = 0; i < nomesDistintos; i++) {
+                vocabulario[i] = gerarNome(aleatorio(-1 - i));
+            }
+        } else {
+            vocabulario = null;
+        }
+    }
+
+    /**
+     * Produto da posição informada, ainda sem ID
+     */
+    public Produto produto(long posicao) {
+        SplittableRandom aleatorio = aleatorio(posicao);
+        String nome = vocabulario != null
+                ? vocabulario[aleatorio.nextInt(vocabulario.length)]
+                : gerarNome(aleatorio);
+        return new Produto(nome, gerarPreco(aleatorio));
+    }
+
+    /**
+     * Os produtos das posições 0 a quantidade - 1, em ordem; paralelizável com {@code parallel()}
+     */
+    public Stream<Produto> produtos(long quantidade) {
+        return LongStream.range(0, quantidade).mapToObj(this::produto);
+    }
+
+    /**
+     * Inclui os produtos no serviço, que atribui os IDs; retorna o maior ID incluído
+     */
+    public long carregar(ProdutoService service, long quantidade) {
+        long maiorId = 0;
+        for (long i = 0; i < quantidade; i++) {
+            maiorId = incluir(service, produto(i));
+        }
+        return maiorId;
+    }
+
+    /**
+     * Grava o catálogo em CSV (UTF-8, "nome;preco", nome entre aspas quando preciso)
+     */
+    public void gravar(Path arquivo, long quantidade) throws IOException {
+        try (BufferedWriter saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            saida.write("nome;preco\n");
+            StringBuilder linha = new StringBuilder(320);
+            for (long i = 0; i < quantidade; i++) {
+                Produto produto = produto(i);
+                linha.setLength(0);
+                linha.append('"').append(produto.getNome().replace("\"", "\"\"")).append("\";");
+                linha.append(String.format(Locale.ROOT, "%.2f", produto.getPreco())).append('\n');
+                saida.append(linha);
+            }
+        }
+    }
+
+    /**
+     * Inclui no serviço os produtos de um CSV gravado por {@link #gravar}; retorna quantos foram incluídos
+     */
+    public static long carregar(ProdutoService service, Path arquivo) throws IOException {
+        long incluidos = 0;
+        try (BufferedReader entrada = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            entrada.readLine();
+            String linha;
+            while ((linha = entrada.readLine()) != null) {
+                int separador = linha.lastIndexOf(';');
+                String nome = linha.substring(1, separador - 1).replace("\"\"", "\"");
+                incluir(service, new Produto(nome, Double.parseDouble(linha.substring(separador + 1))));
+                incluidos++;
+            }
+        }
+        return incluidos;
+    }
+
+    private static long incluir(ProdutoService service, Produto produto) {
+        ResultadoValidacao resultado = service.tentarSalvar(produto);
+        if (resultado != ResultadoValidacao.VALIDO) {
+            throw new IllegalStateException("Produto sintético inválido (" + resultado + "): " + produto);
+        }
+        return produto.getId();
+    }
+
+    /**
+     * Gerador próprio de cada posição (semente misturada à posição)
+     */
+    private SplittableRandom aleatorio(long posicao) {
+        return new SplittableRandom(semente * 0x9E3779B97F4A7C15L + posicao);
+    }
+
+    /**
+     * Nomes curtos são a maioria; uns poucos ficam longos e 1% chega ao limite de caracteres
+     */
+    private static String gerarNome(SplittableRandom aleatorio) {
+        StringBuilder nome = new StringBuilder(64)
+                .append(TIPOS[aleatorio.nextInt(TIPOS.length)]);
+        if (aleatorio.nextInt(10) < 7) {
+            nome.append(' ').append(QUALIFICADORES[aleatorio.nextInt(QUALIFICADORES.length)]);
+        }
+        nome.append(' ').append(MARCAS[aleatorio.nextInt(MARCAS.length)]);
+
+        int faixa = aleatorio.nextInt(100);
+        int complementos = faixa < 60 ? 0 : faixa < 90 ? 1 : faixa < 99 ? 2 + aleatorio.nextInt(4) : Integer.MAX_VALUE;
+        for (int i = 0; i < complementos && nome.length() < ResultadoValidacao.TAMANHO_MAXIMO_NOME; i++) {
+            nome.append(" - ").append(COMPLEMENTOS[aleatorio.nextInt(COMPLEMENTOS.length)]);
+        }
+        if (nome.length() > ResultadoValidacao.TAMANHO_MAXIMO_NOME) {
+            nome.setLength(ResultadoValidacao.TAMANHO_MAXIMO_NOME);
+        }
+        return nome.toString();
+    }
+
+    /**
+     * Log-normal arredondada em centavos; 30% dos preços terminam em ,90 ou ,99
+     */
+    private static double gerarPreco(SplittableRandom aleatorio) {
+        double normal = normal(aleatorio);
+        double preco = Math.min(PRECO_MAXIMO, Math.max(0.5, MEDIANA_PRECO * Math.exp(DISPERSAO_PRECO * normal)));
+        int centavos = aleatorio.nextInt(10);
+        if (centavos < 2) {
+            return Math.floor(preco) + 0.90;
+        }
+        if (centavos < 3) {
+            return Math.floor(preco) + 0.99;
+        }
+        return Math.round(preco * 100) / 100.0;
+    }
+
+    /**
+     * Normal padrão (Box-Muller)
+     */
+    private static double normal(SplittableRandom aleatorio) {
+        double u = 1.0 - aleatorio.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2 * Math.PI * aleatorio.nextDouble());
+    }
+}
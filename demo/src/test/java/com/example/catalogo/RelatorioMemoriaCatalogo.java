@@ -0,0 +1,25 @@
+package com.example.catalogo;
+
+import com.example.service.PegadaMemoria;
+import com.example.service.ProdutoService;
+
+/**
+ * Ferramenta de linha de comando: carrega um catálogo sintético e imprime a pegada de memória
+ * exata, com projeções. Argumentos: quantidade (padrão 100000), exato (padrão true), semente.
+ *
+ * mvn -Pbenchmark verify -DskipTests -Djmh.main=com.example.catalogo.RelatorioMemoriaCatalogo -Djmh.args="1000000"
+ */
+public class RelatorioMemoriaCatalogo {
+
+    public static void main(String[] args) {
+        long quantidade = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        boolean exato = args.length <= 1 || Boolean.parseBoolean(args[1]);
+        long semente = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        ProdutoService service = new ProdutoService();
+        new CatalogoSintetico(semente).carregar(service, quantidade);
+        PegadaMemoria.Relatorio relatorio = new PegadaMemoria(service, 10_000)
+                .medir(exato, 1_000, 100_000, 1_000_000, 10_000_000, 50_000_000);
+        System.out.println(relatorio.formatar());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.funcional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.example.test.pages.CadastroPage;
+import com.example.test.pages.ListarPage;
+
+/**
+ * Testes funcionais em processo do cadastro de produtos (equivalentes a CadastroTest).
+ */
+public class CadastroFuncionalTest extends FuncionalBase {
+
+    @Test
+    public void testCamposFormularioVisiveis() {
+        driver.get(baseUrl + "/produtos/cadastrar");
+        CadastroPage page = new CadastroPage(driver, wait);
+        assertTrue(page.isCampoNomeVisivel(), "Campo de nome não está visível");
+        assertTrue(page.isCampoPrecoVisivel(), "Campo de preço não está visível");
+    }
+
+    @Test
+    public void testRegistroProdutoSucesso() {
+        new ListarPage(driver, wait).clicarCadastrarNovo();
+        String nome = nomeUnico("Cadastro");
+        new CadastroPage(driver, wait).preencherFormulario(nome, "99.99");
+
+        assertTrue(driver.getCurrentUrl().contains("/listar"), "Deveria redirecionar para página de listagem");
+        ListarPage listarPage = new ListarPage(driver, wait);
+        assertTrue(listarPage.isMensagemSucessoVisivel(), "Mensagem de sucesso deveria ser exibida");
+        Long id = buscarIdPorNome(nome);
+        assertNotNull(id, "Produto não foi incluído no catálogo");
+        assertEquals(nome, listarPage.obterNomeProduto(id));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "'', 10.50",
+        "Inválido, 0"
+    })
+    public void testRegistroInvalidoExibeErro(String prefixo, String preco) {
+        String nome = prefixo.isEmpty() ? "" : nomeUnico(prefixo);
+        driver.get(baseUrl + "/produtos/cadastrar");
+        CadastroPage page = new CadastroPage(driver, wait);
+        page.preencherFormulario(nome, preco);
+
+        assertTrue(driver.getCurrentUrl().contains("/cadastrar"), "Deveria voltar para o formulário");
+        assertTrue(page.isMensagemErroVisivel(), "Dados inválidos deveriam exibir erro");
+        if (!nome.isEmpty()) {
+            assertNull(buscarIdPorNome(nome), "Produto inválido não deveria ser incluído");
+        }
+    }
+
+    /**
+     * Preço negativo ou não numérico (campo vazio, no HtmlUnit) é recusado já na ligação dos
+     * dados; no navegador, a validação em JavaScript impede o envio antes disso
+     */
+    @ParameterizedTest
+    @CsvSource({
+        "-5.00",
+        "abc"
+    })
+    public void testRegistroComPrecoInvalidoNaoSalva(String preco) {
+        String nome = nomeUnico("Inválido");
+        driver.get(baseUrl + "/produtos/cadastrar");
+        new CadastroPage(driver, wait).preencherFormulario(nome, preco);
+
+        assertFalse(driver.getCurrentUrl().contains("/listar"), "Não deveria redirecionar para a listagem");
+        assertNull(buscarIdPorNome(nome), "Produto inválido não deveria ser incluído");
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.funcional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.Produto;
+import com.example.test.pages.CadastroPage;
+import com.example.test.pages.ListarPage;
+
+/**
+ * Testes funcionais em processo da edição de produtos (equivalentes a EditarTest).
+ */
+public class EditarFuncionalTest extends FuncionalBase {
+
+    @Test
+    public void testFormularioEdicaoPreenchido() {
+        Produto produto = cadastrarProduto("Edição", 75.0);
+        driver.navigate().refresh();
+        new ListarPage(driver, wait).clicarEditar(produto.getId());
+
+        CadastroPage page = new CadastroPage(driver, wait);
+        assertTrue(driver.getCurrentUrl().contains("/editar/" + produto.getId()), driver.getCurrentUrl());
+        assertTrue(page.estaEmModoEdicao(), "Formulário deveria estar em modo de edição");
+        assertEquals(produto.getNome(), page.obterValorNome());
+        assertEquals(75.0, Double.parseDouble(page.obterValorPreco()));
+    }
+
+    @Test
+    public void testAtualizacaoProdutoSucesso() {
+        Produto produto = cadastrarProduto("Edição", 75.0);
+        driver.get(baseUrl + "/produtos/editar/" + produto.getId());
+        String novoNome = nomeUnico("Editado");
+
+        CadastroPage page = new CadastroPage(driver, wait);
+        page.limparFormulario();
+        page.preencherFormulario(novoNome, "80.00");
+
+        ListarPage listarPage = new ListarPage(driver, wait);
+        assertTrue(driver.getCurrentUrl().contains("/listar"), "Deveria redirecionar para página de listagem");
+        assertTrue(listarPage.isMensagemSucessoVisivel(), "Mensagem de sucesso deveria ser exibida");
+        assertEquals(novoNome, listarPage.obterNomeProduto(produto.getId()));
+        assertEquals(80.0, produtoService.buscarPorId(produto.getId()).orElseThrow().getPreco());
+    }
+
+    @Test
+    public void testAtualizacaoSemNomeMantemProduto() {
+        Produto produto = cadastrarProduto("Edição", 75.0);
+        driver.get(baseUrl + "/produtos/editar/" + produto.getId());
+
+        CadastroPage page = new CadastroPage(driver, wait);
+        page.limparFormulario();
+        page.preencherFormulario("", "50.00");
+
+        assertTrue(page.isMensagemErroVisivel(), "Atualização sem nome deveria exibir erro");
+        assertEquals(produto.getNome(), produtoService.buscarPorId(produto.getId()).orElseThrow().getNome());
+    }
+
+    @Test
+    public void testCancelarEdicao() {
+        Produto produto = cadastrarProduto("Edição", 75.0);
+        driver.get(baseUrl + "/produtos/editar/" + produto.getId());
+
+        new CadastroPage(driver, wait).clicarCancelar();
+
+        assertTrue(driver.getCurrentUrl().contains("/listar"), "Cancelar deveria retornar para a listagem");
+    }
+
+    @Test
+    public void testEditarProdutoInexistente() {
+        driver.get(baseUrl + "/produtos/editar/" + Long.MAX_VALUE);
+
+        assertTrue(driver.getCurrentUrl().contains("/listar"), "Deveria redirecionar para a listagem");
+        assertTrue(new ListarPage(driver, wait).isMensagemErroVisivel(), "Mensagem de erro deveria ser exibida");
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.funcional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.Produto;
+import com.example.test.pages.ListarPage;
+
+/**
+ * Testes funcionais em processo da exclusão de produtos (equivalentes a ExcluirTest).
+ * Sem JavaScript não há diálogo de confirmação: o link segue direto para a exclusão.
+ */
+public class ExcluirFuncionalTest extends FuncionalBase {
+
+    @Test
+    public void testExclusaoProdutoSucesso() {
+        Produto produto = cadastrarProduto("Exclusão", 50.0);
+        Produto vizinho = cadastrarProduto("Exclusão", 60.0);
+        driver.navigate().refresh();
+
+        ListarPage page = new ListarPage(driver, wait);
+        page.clicarExcluir(produto.getId());
+
+        assertTrue(driver.getCurrentUrl().contains("/listar"), driver.getCurrentUrl());
+        assertTrue(page.isMensagemSucessoVisivel(), "Mensagem de sucesso deveria ser exibida");
+        assertFalse(page.produtoExisteNaTabela(produto.getId()), "Produto excluído ainda aparece na tabela");
+        assertTrue(page.produtoExisteNaTabela(vizinho.getId()), "Outro produto não deveria ser removido");
+        assertTrue(produtoService.buscarPorId(produto.getId()).isEmpty());
+    }
+
+    @Test
+    public void testExclusaoProdutoInexistente() {
+        driver.get(baseUrl + "/produtos/excluir/" + Long.MAX_VALUE);
+
+        assertTrue(driver.getCurrentUrl().contains("/listar"), "Deveria redirecionar para a listagem");
+        assertTrue(new ListarPage(driver, wait).isMensagemErroVisivel(), "Mensagem de erro deveria ser exibida");
+    }
+}
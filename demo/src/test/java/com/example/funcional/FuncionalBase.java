@@ -0,0 +1,124 @@
+package com.example.funcional;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.example.model.Produto;
+import com.example.service.ProdutoService;
+import com.gargoylesoftware.htmlunit.BrowserVersion;
+import com.gargoylesoftware.htmlunit.WebClient;
+
+/**
+ * Base da camada funcional em processo: os mesmos Page Objects dos testes Selenium
+ * (CadastroPage, ListarPage) conduzidos por um HtmlUnitDriver contra a aplicação embutida
+ * em porta aleatória. Não abre navegador nem acessa a rede, e o contexto Spring é
+ * compartilhado entre as classes.
+ *
+ * Cada teste tem o seu driver e cria os próprios produtos, com nomes únicos; por isso os métodos
+ * de cada classe rodam em paralelo (MetodosEmParalelo). As classes seguem uma de cada vez
+ * (junit-platform.properties): com classes em paralelo no mesmo processo, o Surefire arquiva os
+ * resultados sob a classe errada.
+ * O JavaScript fica desligado: os fluxos seguem a navegação tradicional (POST do formulário,
+ * link de exclusão), que é o contrato do servidor. O limite de taxa por cliente também fica
+ * desligado, pois todo o tráfego vem do mesmo endereço.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "produtos.limite-taxa.habilitado=false")
+@TestMethodOrder(FuncionalBase.MetodosEmParalelo.class)
+public abstract class FuncionalBase {
+
+    /**
+     * Mantém a ordem padrão dos métodos e os executa em paralelo; a classe em si continua no modo
+     * padrão (sequencial), o que um @Execution(CONCURRENT) na classe não permitiria
+     */
+    static class MetodosEmParalelo implements MethodOrderer {
+
+        @Override
+        public void orderMethods(MethodOrdererContext context) {
+            // Ordem padrão do JUnit
+        }
+
+        @Override
+        public Optional<ExecutionMode> getDefaultExecutionMode() {
+            return Optional.of(ExecutionMode.CONCURRENT);
+        }
+    }
+
+    protected static final int TIMEOUT_SECONDS = 10;
+
+    private static final AtomicLong SEQUENCIA = new AtomicLong();
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    protected ProdutoService produtoService;
+
+    protected WebDriver driver;
+    protected WebDriverWait wait;
+    protected String baseUrl;
+
+    /**
+     * Cria o driver sem JavaScript nem CSS (a folha de ícones externa não é baixada)
+     */
+    @BeforeEach
+    public void setup() {
+        driver = new HtmlUnitDriver(BrowserVersion.BEST_SUPPORTED, false) {
+            @Override
+            protected WebClient modifyWebClient(WebClient client) {
+                client.getOptions().setCssEnabled(false);
+                return client;
+            }
+        };
+        wait = new WebDriverWait(driver, Duration.ofSeconds(TIMEOUT_SECONDS));
+        baseUrl = "http://localhost:" + porta;
+        driver.get(baseUrl + "/produtos/listar");
+    }
+
+    @AfterEach
+    public void teardown() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+
+    /**
+     * Nome que nenhum outro teste usa, para buscar o produto sem depender da ordem de execução
+     */
+    protected static String nomeUnico(String prefixo) {
+        return prefixo + " " + SEQUENCIA.incrementAndGet();
+    }
+
+    /**
+     * Inclui um produto direto no serviço, como dado de partida do teste
+     */
+    protected Produto cadastrarProduto(String prefixo, double preco) {
+        return produtoService.salvar(new Produto(null, nomeUnico(prefixo), preco));
+    }
+
+    /**
+     * ID do produto com o nome informado, depois de cadastrado pela interface
+     */
+    protected Long buscarIdPorNome(String nome) {
+        for (Produto produto : produtoService.iterarTodos()) {
+            if (nome.equals(produto.getNome())) {
+                return produto.getId();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.funcional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.model.Produto;
+import com.example.test.pages.ListarPage;
+
+/**
+ * Testes funcionais em processo da listagem de produtos (equivalentes a ListarTest).
+ */
+public class ListarFuncionalTest extends FuncionalBase {
+
+    @Test
+    public void testTabelaProdutosVisivel() {
+        ListarPage page = new ListarPage(driver, wait);
+        assertTrue(page.isTabelaVisivel(), "Tabela de produtos não está visível");
+        assertTrue(page.obterQuantidadeProdutos() > 0, "Lista de produtos está vazia");
+    }
+
+    @Test
+    public void testCadastrarNovoNavegacao() {
+        new ListarPage(driver, wait).clicarCadastrarNovo();
+        assertTrue(driver.getCurrentUrl().contains("/cadastrar"), "Navegação para página de cadastro falhou");
+    }
+
+    @Test
+    public void testMensagemSucessoNaoVisivel() {
+        assertFalse(new ListarPage(driver, wait).isMensagemSucessoVisivel(),
+                "Mensagem de sucesso não deveria estar visível ao carregar página");
+    }
+
+    @Test
+    public void testDadosProdutoExibidos() {
+        Produto produto = cadastrarProduto("Listagem", 1234.5);
+        driver.navigate().refresh();
+
+        ListarPage page = new ListarPage(driver, wait);
+        assertTrue(page.produtoExisteNaTabela(produto.getId()));
+        assertEquals(produto.getNome(), page.obterNomeProduto(produto.getId()));
+        assertTrue(page.obterPrecoProduto(produto.getId()).contains("R$"),
+                "Preço deveria estar no formato com símbolo R$");
+        assertTrue(page.obterPrecoProduto(produto.getId()).contains("1234.50"), page.obterPrecoProduto(produto.getId()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.fuzzing;
+
+import com.example.model.Produto;
+
+/**
+ * Dados de um caso de fuzzing: ID, nome e preço como chegariam do formulário ou da API,
+ * inclusive nulos e valores que o setter de preço recusaria.
+ */
+public record EntradaProduto(Long id, String nome, Double preco) {
+
+    /**
+     * Novo Produto com os dados da entrada; o construtor não passa pelas validações do setter
+     */
+    public Produto produto() {
+        return new Produto(id, nome, preco);
+    }
+
+    /**
+     * Descrição legível e sem ambiguidade: fora do ASCII imprimível, os caracteres do nome
+     * aparecem como escapes \\uXXXX
+     */
+    public String descrever() {
+        StringBuilder texto = new StringBuilder("id=").append(id).append(", nome=");
+        if (nome == null) {
+            texto.append("null");
+        } else {
+            texto.append('"');
+            for (int i = 0; i < nome.length(); i++) {
+                char c = nome.charAt(i);
+                if (c >= 0x20 && c < 0x7F && c != '"' && c != '\\') {
+                    texto.append(c);
+                } else {
+                    texto.append("\\u").append(String.format("%04X", (int) c));
+                }
+            }
+            texto.append("\" (").append(nome.length()).append(" caracteres)");
+        }
+        return texto.append(", preco=").append(preco).toString();
+    }
+}
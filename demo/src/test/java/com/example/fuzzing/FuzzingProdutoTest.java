@@ -0,0 +1,61 @@
+package com.example.fuzzing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Fuzzing das propriedades do catálogo em todos os processadores, gravando o relatório
+ * (execuções por segundo e casos mínimos) em target/fuzzing. No mvn test roda uma amostra
+ * curta; no CI, com milhões de casos:
+ *
+ * mvn test -Dtest=FuzzingProdutoTest -Dfuzzing.casos=5000000
+ *
+ * Propriedades: fuzzing.casos (por propriedade), fuzzing.duracao-segundos, fuzzing.threads,
+ * fuzzing.semente (reproduz uma execução do relatório) e fuzzing.maximo-falhas.
+ */
+class FuzzingProdutoTest {
+
+    private static final long CASOS_PADRAO = 20_000;
+
+    @Test
+    void testPropriedadesDoServico() throws IOException {
+        verificar("servico", PropriedadesProduto.servico());
+    }
+
+    /**
+     * Sem a auditoria: com um evento por endpoint chamado, mediria a escrita do log e não a API
+     */
+    @Test
+    void testPropriedadesDoControlador() throws IOException {
+        Logger auditoria = (Logger) LoggerFactory.getLogger("com.example.auditoria");
+        Level nivel = auditoria.getLevel();
+        auditoria.setLevel(Level.WARN);
+        try {
+            verificar("controlador", PropriedadesProduto.controlador());
+        } finally {
+            auditoria.setLevel(nivel);
+        }
+    }
+
+    private static void verificar(String nome, Supplier<Propriedade> propriedade) throws IOException {
+        MotorFuzzing motor = new MotorFuzzing(MotorFuzzing.Configuracao.doSistema(CASOS_PADRAO));
+        ResultadoFuzzing resultado = motor.executar(nome, propriedade);
+
+        String relatorio = resultado.formatar();
+        System.out.print(relatorio);
+        Path diretorio = Path.of("target", "fuzzing");
+        Files.createDirectories(diretorio);
+        Files.writeString(diretorio.resolve(nome + ".txt"), relatorio);
+
+        assertTrue(resultado.isAprovada(), relatorio);
+    }
+}
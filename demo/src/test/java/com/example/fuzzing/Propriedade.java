@@ -0,0 +1,12 @@
+package com.example.fuzzing;
+
+/**
+ * Propriedade que deve valer para qualquer entrada: falha lançando AssertionError ou qualquer exceção.
+ * Cada thread do motor usa a própria instância, então a implementação pode guardar estado
+ * (serviço, controlador), desde que o devolva ao estado inicial ao fim de cada caso.
+ */
+@FunctionalInterface
+public interface Propriedade {
+
+    void verificar(EntradaProduto entrada) throws Exception;
+}
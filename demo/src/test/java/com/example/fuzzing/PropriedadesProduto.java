@@ -0,0 +1,203 @@
+package com.example.fuzzing;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.support.RedirectAttributesModelMap;
+
+import com.example.controller.ProdutoController;
+import com.example.model.Produto;
+import com.example.service.ProdutoService;
+import com.example.service.ResultadoValidacao;
+
+/**
+ * Propriedades do catálogo verificadas pelo fuzzing, contra ProdutoService e ProdutoController.
+ * Cada instância tem o próprio serviço, com os três produtos iniciais (IDs 1 a 3), e o devolve
+ * a esse estado ao fim de cada caso: produtos incluídos são excluídos e os alterados, restaurados.
+ */
+public final class PropriedadesProduto {
+
+    private static final int PRODUTOS_INICIAIS = 3;
+
+    private PropriedadesProduto() {
+    }
+
+    /**
+     * validar nunca lança exceção e concorda com tentarSalvar e salvar; uma entrada válida sem ID
+     * é incluída com os mesmos dados, com ID só atualiza produto existente e nunca cria outro;
+     * uma entrada inválida não altera o catálogo
+     */
+    public static Supplier<Propriedade> servico() {
+        return () -> {
+            ProdutoService service = new ProdutoService();
+            return entrada -> verificarServico(service, entrada);
+        };
+    }
+
+    /**
+     * O formulário passa pela vinculação do Spring (como no @ModelAttribute) e o resultado pelos
+     * endpoints: só preço negativo é recusado na vinculação (400), e nenhum endpoint responde
+     * 5xx ou a mensagem genérica de erro inesperado
+     */
+    public static Supplier<Propriedade> controlador() {
+        return () -> {
+            ProdutoService service = new ProdutoService();
+            ProdutoController controller = new ProdutoController();
+            ReflectionTestUtils.setField(controller, "produtoService", service);
+            return entrada -> verificarControlador(service, controller, entrada);
+        };
+    }
+
+    private static void verificarServico(ProdutoService service, EntradaProduto entrada) {
+        Supplier<String> caso = entrada::descrever;
+        ResultadoValidacao esperado = service.validar(entrada.produto());
+        assertNotNull(esperado, caso);
+        long versao = service.versaoCatalogo();
+        Optional<Produto> anterior = service.buscarPorId(entrada.id());
+
+        Produto produto = entrada.produto();
+        assertEquals(esperado, service.tentarSalvar(produto), caso);
+
+        if (!esperado.isValido()) {
+            assertEquals(versao, service.versaoCatalogo(),
+                    () -> "Entrada inválida alterou o catálogo: " + entrada.descrever());
+            anterior.ifPresent(p -> assertSame(p, service.buscarPorId(entrada.id()).orElseThrow(), caso));
+            IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                    () -> service.salvar(entrada.produto()), caso);
+            assertEquals(esperado.getDescricao(), erro.getMessage(), caso);
+        } else if (entrada.id() == null) {
+            assertNotNull(produto.getId(), caso);
+            Produto salvo = service.buscarPorId(produto.getId()).orElseThrow(
+                    () -> new AssertionError("Produto válido não foi incluído: " + entrada.descrever()));
+            assertEquals(entrada.nome(), salvo.getNome(), caso);
+            assertEquals(entrada.preco(), salvo.getPreco(), caso);
+            assertTrue(service.excluir(produto.getId()), caso);
+        } else if (anterior.isPresent()) {
+            Produto salvo = service.buscarPorId(entrada.id()).orElseThrow();
+            assertEquals(entrada.nome(), salvo.getNome(), caso);
+            assertEquals(entrada.preco(), salvo.getPreco(), caso);
+            restaurar(service, anterior.get());
+        } else {
+            assertTrue(service.buscarPorId(entrada.id()).isEmpty(),
+                    () -> "Atualização criou produto: " + entrada.descrever());
+        }
+        assertEquals(PRODUTOS_INICIAIS, service.contarTodos(), caso);
+    }
+
+    private static void verificarControlador(ProdutoService service, ProdutoController controller,
+            EntradaProduto entrada) {
+        Supplier<String> caso = entrada::descrever;
+        Optional<Produto> anterior = service.buscarPorId(entrada.id());
+
+        // Vinculação do formulário: o setter recusa preço negativo e o Spring responde 400
+        Produto produto = vincular(entrada);
+        if (produto == null) {
+            return;
+        }
+        ResultadoValidacao esperado = service.validar(produto);
+        Produto copia = new Produto(produto.getId(), produto.getNome(), produto.getPreco());
+
+        ExtendedModelMap model = new ExtendedModelMap();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Object parcial = executar(controller.salvarParcial(produto, null, null, model, response));
+        if (esperado.isValido()) {
+            ResponseEntity<?> resposta = assertInstanceOf(ResponseEntity.class, parcial, caso);
+            assertEquals(204, resposta.getStatusCode().value(), caso);
+            assertEquals(String.valueOf(produto.getId()), resposta.getHeaders().getFirst("X-Produto-Id"), caso);
+        } else {
+            assertEquals(422, response.getStatus(), caso);
+            assertEquals("form :: alertas", parcial, caso);
+            assertEquals(esperado.getMensagem(), model.get("erro"), caso);
+        }
+
+        RedirectAttributesModelMap redirect = new RedirectAttributesModelMap();
+        String view = executar(controller.salvar(copia, null, null, redirect));
+        assertEquals(esperado.isValido() ? "redirect:/produtos/listar" : "redirect:/produtos/cadastrar", view, caso);
+        if (!esperado.isValido()) {
+            assertEquals(esperado.getMensagem(), redirect.getFlashAttributes().get("erro"), caso);
+        }
+
+        redirect = new RedirectAttributesModelMap();
+        view = executar(controller.editarForm(entrada.id(), new ExtendedModelMap(), redirect));
+        boolean existe = service.buscarPorId(entrada.id()).isPresent();
+        if (entrada.id() == null || entrada.id() <= 0) {
+            assertEquals("ID do produto inválido.", redirect.getFlashAttributes().get("erro"), caso);
+        } else {
+            assertEquals(existe ? "form" : "redirect:/produtos/listar", view, caso);
+        }
+
+        // Os produtos iniciais não são excluídos: a exclusão usa IDs ausentes e os produtos incluídos no caso
+        if (!existe) {
+            response = new MockHttpServletResponse();
+            executar(controller.excluirParcial(entrada.id(), new ExtendedModelMap(), response));
+            assertEquals(entrada.id() == null || entrada.id() <= 0 ? 400 : 404, response.getStatus(), caso);
+        }
+        if (esperado.isValido() && entrada.id() == null) {
+            for (Long incluido : new Long[] { produto.getId(), copia.getId() }) {
+                response = new MockHttpServletResponse();
+                executar(controller.excluirParcial(incluido, new ExtendedModelMap(), response));
+                assertEquals(200, response.getStatus(), caso);
+            }
+        }
+        anterior.ifPresent(p -> restaurar(service, p));
+        assertEquals(PRODUTOS_INICIAIS, service.contarTodos(), caso);
+    }
+
+    /**
+     * Vincula a entrada como campos de formulário; nulo quando a vinculação registra erro
+     */
+    private static Produto vincular(EntradaProduto entrada) {
+        Produto produto = new Produto();
+        WebDataBinder binder = new WebDataBinder(produto, "produto");
+        MutablePropertyValues campos = new MutablePropertyValues();
+        if (entrada.id() != null) {
+            campos.add("id", Long.toString(entrada.id()));
+        }
+        if (entrada.nome() != null) {
+            campos.add("nome", entrada.nome());
+        }
+        if (entrada.preco() != null) {
+            campos.add("preco", Double.toString(entrada.preco()));
+        }
+        binder.bind(campos);
+
+        Supplier<String> caso = entrada::descrever;
+        boolean negativo = entrada.preco() != null && entrada.preco() < 0;
+        assertEquals(negativo, binder.getBindingResult().hasErrors(), caso);
+        if (negativo) {
+            return null;
+        }
+        assertEquals(entrada.id(), produto.getId(), caso);
+        assertEquals(entrada.nome(), produto.getNome(), caso);
+        assertEquals(entrada.preco(), produto.getPreco(), caso);
+        return produto;
+    }
+
+    private static void restaurar(ProdutoService service, Produto original) {
+        service.tentarSalvar(new Produto(original.getId(), original.getNome(), original.getPreco()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T executar(WebAsyncTask<T> tarefa) {
+        try {
+            return (T) tarefa.getCallable().call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.fuzzing;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Execuções, vazão e casos falhos (já reduzidos) de uma propriedade
+ */
+public record ResultadoFuzzing(String propriedade, long semente, int threads, long execucoes, long duracaoNanos,
+        List<Falha> falhas) {
+
+    /**
+     * Caso falho: a entrada sorteada e a menor entrada encontrada que ainda falha da mesma forma
+     *
+     * @param caso posição do caso; com a mesma semente, gera sempre a mesma entrada
+     * @param reducoes passos de redução aceitos entre a original e a mínima
+     */
+    public record Falha(long caso, EntradaProduto original, EntradaProduto minima, int reducoes, String erro) {
+    }
+
+    public boolean isAprovada() {
+        return falhas.isEmpty();
+    }
+
+    public double getExecucoesPorSegundo() {
+        return duracaoNanos == 0 ? 0.0 : execucoes * 1e9 / duracaoNanos;
+    }
+
+    /**
+     * Relatório em texto, para console e arquivos
+     */
+    public String formatar() {
+        StringBuilder texto = new StringBuilder(String.format(Locale.ROOT,
+                "%s: %,d execuções em %.2f s com %d threads (%,.0f exec/s), semente %d, %s%n",
+                propriedade, execucoes, duracaoNanos / 1e9, threads, getExecucoesPorSegundo(), semente,
+                isAprovada() ? "sem falhas" : falhas.size() + " falha(s)"));
+        for (Falha falha : falhas) {
+            texto.append(String.format(Locale.ROOT, "  caso %d: %s%n", falha.caso(), falha.erro()));
+            texto.append("    mínima:   ").append(falha.minima().descrever()).append('\n');
+            texto.append(String.format(Locale.ROOT, "    original: %s (%d reduções)%n",
+                    falha.original().descrever(), falha.reducoes()));
+        }
+        return texto.toString();
+    }
+}
@@ -121,7 +121,7 @@ public class CadastroTest extends BaseTest {
      * Data provider para testes parametrizados
      * Inclui cenários válidos e inválidos
      */
-    @DataProvider(name = "dadosRegistroProduto")
+    @DataProvider(name = "dadosRegistroProduto", parallel = true)
     public Object[][] dadosRegistroProduto() {
         return new Object[][] {
             // {nome, preco, esperado_sucesso}
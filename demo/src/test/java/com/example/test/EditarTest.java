@@ -3,6 +3,7 @@ package com.example.test;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import com.example.model.Produto;
 import com.example.test.base.BaseTest;
 import com.example.test.pages.CadastroPage;
 import com.example.test.pages.ListarPage;
@@ -18,9 +19,10 @@ public class EditarTest extends BaseTest {
      */
     @Test(description = "Verifica a navegação para a página de edição de produto")
     public void testNavegacaoEdicao() {
+        Produto produto = cadastrarProdutoTeste("Edição", 75.0);
+        driver.navigate().refresh();
         ListarPage page = new ListarPage(driver, wait);
-        // Edita o primeiro produto (ID 1)
-        page.clicarEditar(1L);
+        page.clicarEditar(produto.getId());
         Assert.assertTrue(driver.getCurrentUrl().contains("/editar"), 
             "URL deveria conter /editar");
     }
@@ -30,7 +32,8 @@ public class EditarTest extends BaseTest {
      */
     @Test(description = "Verifica se o formulário de edição é pré-preenchido com dados do produto")
     public void testFormularioPreaPreenchido() {
-        driver.get(BASE_URL + "/produtos/editar/1");
+        Produto produto = cadastrarProdutoTeste("Edição", 75.0);
+        driver.get(BASE_URL + "/produtos/editar/" + produto.getId());
         CadastroPage page = new CadastroPage(driver, wait);
         
         // Verifica se o formulário está em modo de edição
@@ -41,7 +44,7 @@ public class EditarTest extends BaseTest {
         String nome = page.obterValorNome();
         String preco = page.obterValorPreco();
         
-        Assert.assertFalse(nome.isEmpty(), "Campo de nome deveria estar preenchido");
+        Assert.assertEquals(nome, produto.getNome(), "Campo de nome deveria trazer o nome atual");
         Assert.assertFalse(preco.isEmpty(), "Campo de preço deveria estar preenchido");
     }
 
@@ -50,10 +53,11 @@ public class EditarTest extends BaseTest {
      */
     @Test(description = "Testa atualização do produto com dados modificados")
     public void testAtualizacaoProdutoSucesso() {
-        driver.get(BASE_URL + "/produtos/editar/1");
+        Produto produto = cadastrarProdutoTeste("Edição", 75.0);
+        driver.get(BASE_URL + "/produtos/editar/" + produto.getId());
         CadastroPage page = new CadastroPage(driver, wait);
         
-        String novoNome = "Produto Atualizado " + System.currentTimeMillis();
+        String novoNome = nomeUnico("Produto Atualizado");
         String novoPreco = "199.99";
         
         page.limparFormulario();
@@ -74,7 +78,8 @@ public class EditarTest extends BaseTest {
      */
     @Test(description = "Testa atualização com nome de produto vazio (teste negativo)")
     public void testAtualizacaoSemNome() {
-        driver.get(BASE_URL + "/produtos/editar/1");
+        Produto produto = cadastrarProdutoTeste("Edição", 75.0);
+        driver.get(BASE_URL + "/produtos/editar/" + produto.getId());
         CadastroPage page = new CadastroPage(driver, wait);
         
         page.limparFormulario();
@@ -94,7 +99,8 @@ public class EditarTest extends BaseTest {
      */
     @Test(description = "Testa atualização com preço negativo (teste negativo)")
     public void testAtualizacaoComPrecoNegativo() {
-        driver.get(BASE_URL + "/produtos/editar/1");
+        Produto produto = cadastrarProdutoTeste("Edição", 75.0);
+        driver.get(BASE_URL + "/produtos/editar/" + produto.getId());
         CadastroPage page = new CadastroPage(driver, wait);
         
         page.limparFormulario();
@@ -112,7 +118,8 @@ public class EditarTest extends BaseTest {
      */
     @Test(description = "Testa se o botão cancelar retorna para a listagem sem salvar alterações")
     public void testCancelarEdicao() {
-        driver.get(BASE_URL + "/produtos/editar/1");
+        Produto produto = cadastrarProdutoTeste("Edição", 75.0);
+        driver.get(BASE_URL + "/produtos/editar/" + produto.getId());
         CadastroPage page = new CadastroPage(driver, wait);
         
         page.clicarCancelar();
@@ -126,7 +133,7 @@ public class EditarTest extends BaseTest {
      */
     @Test(description = "Testa acesso à página de edição de produto inexistente")
     public void testEdicaoProdutoNaoExistente() {
-        driver.get(BASE_URL + "/produtos/editar/99999");
+        driver.get(BASE_URL + "/produtos/editar/" + Long.MAX_VALUE);
         
         // Deve redirecionar para a listagem com erro
         Assert.assertTrue(driver.getCurrentUrl().contains("/listar"), 
@@ -22,12 +22,16 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.ui.Model;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.example.controller.ProdutoController;
 import com.example.model.Produto;
 import com.example.service.ProdutoService;
+import com.example.service.ResultadoValidacao;
 
 @DisplayName("Testes de Simulação de Falhas")
 public class FailureHandlingTest {
@@ -36,12 +40,14 @@ public class FailureHandlingTest {
     private ProdutoService serviceMock;
     private Model model;
     private RedirectAttributes redirectAttributes;
+    private MockHttpServletResponse response;
 
     @BeforeEach
     void setUp() {
         serviceMock = mock(ProdutoService.class);
         model = mock(Model.class);
         redirectAttributes = mock(RedirectAttributes.class);
+        response = new MockHttpServletResponse();
         controller = new ProdutoController();
         
         // Injetar mock via reflexão
@@ -60,10 +66,9 @@ public class FailureHandlingTest {
     @DisplayName("Deve rejeitar nome de produto vazio")
     void testRejeitar_NomeVazio() {
         Produto produto = new Produto("", 100.0);
-        doThrow(new IllegalArgumentException("Nome do produto não pode estar vazio"))
-            .when(serviceMock).salvar(produto);
+        when(serviceMock.tentarSalvar(produto, null)).thenReturn(ResultadoValidacao.NOME_OBRIGATORIO);
 
-        String resultado = controller.salvar(produto, redirectAttributes);
+        String resultado = executar(controller.salvar(produto, null, null, redirectAttributes));
 
         assertEquals("redirect:/produtos/cadastrar", resultado);
         verify(redirectAttributes).addFlashAttribute(eq("erro"), anyString());
@@ -73,10 +78,9 @@ public class FailureHandlingTest {
     @DisplayName("Deve rejeitar preço negativo")
     void testRejeitar_PrecoNegativo() {
         Produto produto = new Produto("Teste", -50.0);
-        doThrow(new IllegalArgumentException("Preço não pode ser negativo"))
-            .when(serviceMock).salvar(produto);
+        when(serviceMock.tentarSalvar(produto, null)).thenReturn(ResultadoValidacao.PRECO_NEGATIVO);
 
-        String resultado = controller.salvar(produto, redirectAttributes);
+        String resultado = executar(controller.salvar(produto, null, null, redirectAttributes));
 
         assertEquals("redirect:/produtos/cadastrar", resultado);
         verify(redirectAttributes).addFlashAttribute(eq("erro"), anyString());
@@ -86,10 +90,9 @@ public class FailureHandlingTest {
     @DisplayName("Deve rejeitar preço nulo")
     void testRejeitar_PrecoNulo() {
         Produto produto = new Produto("Teste", null);
-        doThrow(new IllegalArgumentException("Preço não pode ser nulo"))
-            .when(serviceMock).salvar(produto);
+        when(serviceMock.tentarSalvar(produto, null)).thenReturn(ResultadoValidacao.PRECO_OBRIGATORIO);
 
-        String resultado = controller.salvar(produto, redirectAttributes);
+        String resultado = executar(controller.salvar(produto, null, null, redirectAttributes));
 
         assertEquals("redirect:/produtos/cadastrar", resultado);
     }
@@ -98,10 +101,9 @@ public class FailureHandlingTest {
     @DisplayName("Deve rejeitar nome nulo")
     void testRejeitar_NomeNulo() {
         Produto produto = new Produto(null, 100.0);
-        doThrow(new IllegalArgumentException("Nome não pode ser nulo"))
-            .when(serviceMock).salvar(produto);
+        when(serviceMock.tentarSalvar(produto, null)).thenReturn(ResultadoValidacao.NOME_OBRIGATORIO);
 
-        String resultado = controller.salvar(produto, redirectAttributes);
+        String resultado = executar(controller.salvar(produto, null, null, redirectAttributes));
 
         assertEquals("redirect:/produtos/cadastrar", resultado);
     }
@@ -114,10 +116,9 @@ public class FailureHandlingTest {
         String nomeComXSS = "<script>alert('XSS')</script>";
         Produto produto = new Produto(nomeComXSS, 100.0);
         
-        doThrow(new IllegalArgumentException("Entrada contém caracteres inválidos"))
-            .when(serviceMock).salvar(produto);
+        when(serviceMock.tentarSalvar(produto, null)).thenReturn(ResultadoValidacao.NOME_INVALIDO);
 
-        String resultado = controller.salvar(produto, redirectAttributes);
+        String resultado = executar(controller.salvar(produto, null, null, redirectAttributes));
 
         assertEquals("redirect:/produtos/cadastrar", resultado);
         verify(redirectAttributes).addFlashAttribute(eq("erro"), anyString());
@@ -129,10 +130,9 @@ public class FailureHandlingTest {
         String sqlInjection = "'; DROP TABLE produtos; --";
         Produto produto = new Produto(sqlInjection, 100.0);
         
-        doThrow(new IllegalArgumentException("Entrada contém caracteres inválidos"))
-            .when(serviceMock).salvar(produto);
+        when(serviceMock.tentarSalvar(produto, null)).thenReturn(ResultadoValidacao.NOME_INVALIDO);
 
-        String resultado = controller.salvar(produto, redirectAttributes);
+        String resultado = executar(controller.salvar(produto, null, null, redirectAttributes));
 
         assertEquals("redirect:/produtos/cadastrar", resultado);
     }
@@ -143,10 +143,9 @@ public class FailureHandlingTest {
         String pathTraversal = "../../etc/passwd";
         Produto produto = new Produto(pathTraversal, 100.0);
         
-        doThrow(new IllegalArgumentException("Nome contém caracteres inválidos"))
-            .when(serviceMock).salvar(produto);
+        when(serviceMock.tentarSalvar(produto, null)).thenReturn(ResultadoValidacao.NOME_INVALIDO);
 
-        String resultado = controller.salvar(produto, redirectAttributes);
+        String resultado = executar(controller.salvar(produto, null, null, redirectAttributes));
 
         assertEquals("redirect:/produtos/cadastrar", resultado);
     }
@@ -157,10 +156,9 @@ public class FailureHandlingTest {
         String comControle = "Produto\u0000Teste";  // Null byte
         Produto produto = new Produto(comControle, 100.0);
         
-        doThrow(new IllegalArgumentException("Entrada contém caracteres inválidos"))
-            .when(serviceMock).salvar(produto);
+        when(serviceMock.tentarSalvar(produto, null)).thenReturn(ResultadoValidacao.NOME_INVALIDO);
 
-        String resultado = controller.salvar(produto, redirectAttributes);
+        String resultado = executar(controller.salvar(produto, null, null, redirectAttributes));
 
         assertEquals("redirect:/produtos/cadastrar", resultado);
     }
@@ -179,14 +177,20 @@ public class FailureHandlingTest {
             muitosProdutos.add(p);
         }
         
-        when(serviceMock.listarTodos()).thenReturn(muitosProdutos);
+        when(serviceMock.iterarTodos()).thenReturn(muitosProdutos);
+        when(serviceMock.contarTodos()).thenReturn(muitosProdutos.size());
         
         long inicio = System.currentTimeMillis();
-        String resultado = controller.listar(model);
+        String resultado = controller.listar(model, response);
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(model).addAttribute(eq("produtos"), captor.capture());
+        List<Produto> renderizados = new ArrayList<>();
+        ((Iterable<?>) captor.getValue()).forEach(p -> renderizados.add((Produto) p));
         long tempo = System.currentTimeMillis() - inicio;
         
         assertEquals("listar", resultado);
-        verify(model).addAttribute("produtos", muitosProdutos);
+        assertEquals(muitosProdutos, renderizados);
+        assertTrue(response.isCommitted(), "Lotes da listagem deveriam ter sido descarregados");
         assertTrue(tempo < 3000, "Deve processar 1000 produtos em menos de 3 segundos");
         System.out.println("Tempo para processar 1000 produtos: " + tempo + "ms");
     }
@@ -197,10 +201,9 @@ public class FailureHandlingTest {
         String nomeLongo = "A".repeat(10000);  // 10k caracteres
         Produto produto = new Produto(nomeLongo, 100.0);
         
-        doThrow(new IllegalArgumentException("Nome muito longo"))
-            .when(serviceMock).salvar(produto);
+        when(serviceMock.tentarSalvar(produto, null)).thenReturn(ResultadoValidacao.NOME_MUITO_LONGO);
 
-        String resultado = controller.salvar(produto, redirectAttributes);
+        String resultado = executar(controller.salvar(produto, null, null, redirectAttributes));
 
         assertEquals("redirect:/produtos/cadastrar", resultado);
     }
@@ -210,10 +213,9 @@ public class FailureHandlingTest {
     void testSobrecarga_PrecoExtremo() {
         Produto produto = new Produto("Teste", Double.MAX_VALUE);
         
-        doThrow(new IllegalArgumentException("Preço fora do intervalo válido"))
-            .when(serviceMock).salvar(produto);
+        when(serviceMock.tentarSalvar(produto, null)).thenReturn(ResultadoValidacao.PRECO_INVALIDO);
 
-        String resultado = controller.salvar(produto, redirectAttributes);
+        String resultado = executar(controller.salvar(produto, null, null, redirectAttributes));
 
         assertEquals("redirect:/produtos/cadastrar", resultado);
     }
@@ -226,7 +228,7 @@ public class FailureHandlingTest {
         Long idInexistente = 99999L;
         when(serviceMock.buscarPorId(idInexistente)).thenReturn(Optional.empty());
 
-        String resultado = controller.editarForm(idInexistente, model, redirectAttributes);
+        String resultado = executar(controller.editarForm(idInexistente, model, redirectAttributes));
 
         assertEquals("redirect:/produtos/listar", resultado);
         verify(redirectAttributes).addFlashAttribute(eq("erro"), anyString());
@@ -238,7 +240,7 @@ public class FailureHandlingTest {
         Long idInexistente = 99999L;
         when(serviceMock.excluir(idInexistente)).thenReturn(false);
 
-        String resultado = controller.excluir(idInexistente, redirectAttributes);
+        String resultado = executar(controller.excluir(idInexistente, redirectAttributes));
 
         assertEquals("redirect:/produtos/listar", resultado);
         verify(redirectAttributes).addFlashAttribute("erro", "Produto não encontrado");
@@ -249,19 +251,19 @@ public class FailureHandlingTest {
     @Test
     @DisplayName("Deve tratar NullPointerException ao listar")
     void testErro_NullPointerException() {
-        when(serviceMock.listarTodos()).thenThrow(new NullPointerException("Erro interno"));
+        when(serviceMock.iterarTodos()).thenThrow(new NullPointerException("Erro interno"));
 
-        assertThrows(NullPointerException.class, () -> controller.listar(model));
+        assertThrows(NullPointerException.class, () -> controller.listar(model, response));
     }
 
     @Test
     @DisplayName("Deve tratar exceção genérica ao salvar")
     void testErro_ExcecaoGenerica() {
         Produto produto = new Produto("Teste", 100.0);
-        when(serviceMock.salvar(produto))
+        when(serviceMock.tentarSalvar(produto, null))
             .thenThrow(new RuntimeException("Erro inesperado no banco de dados"));
 
-        assertThrows(RuntimeException.class, () -> controller.salvar(produto, redirectAttributes));
+        assertThrows(RuntimeException.class, () -> executar(controller.salvar(produto, null, null, redirectAttributes)));
     }
 
     // ===== TESTES DE CONCORRÊNCIA SIMULADA =====
@@ -271,14 +273,14 @@ public class FailureHandlingTest {
     void testConcorrencia_MultiplasOperacoes() throws InterruptedException {
         Thread thread1 = new Thread(() -> {
             Produto p1 = new Produto("Produto 1", 100.0);
-            when(serviceMock.salvar(p1)).thenReturn(p1);
-            controller.salvar(p1, redirectAttributes);
+            when(serviceMock.tentarSalvar(p1, null)).thenReturn(ResultadoValidacao.VALIDO);
+            executar(controller.salvar(p1, null, null, redirectAttributes));
         });
 
         Thread thread2 = new Thread(() -> {
             Produto p2 = new Produto("Produto 2", 200.0);
-            when(serviceMock.salvar(p2)).thenReturn(p2);
-            controller.salvar(p2, redirectAttributes);
+            when(serviceMock.tentarSalvar(p2, null)).thenReturn(ResultadoValidacao.VALIDO);
+            executar(controller.salvar(p2, null, null, redirectAttributes));
         });
 
         thread1.start();
@@ -309,4 +311,17 @@ public class FailureHandlingTest {
             assertFalse(e.getMessage().isEmpty());
         }
     }
+
+    /**
+     * Os handlers devolvem a tarefa do bulkhead; aqui ela é executada na própria thread
+     */
+    private static String executar(WebAsyncTask<String> tarefa) {
+        try {
+            return (String) tarefa.getCallable().call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
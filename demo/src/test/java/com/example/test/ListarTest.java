@@ -3,6 +3,7 @@ package com.example.test;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import com.example.model.Produto;
 import com.example.test.base.BaseTest;
 import com.example.test.pages.ListarPage;
 
@@ -37,6 +38,8 @@ public class ListarTest extends BaseTest {
      */
     @Test(description = "Verifica se pelo menos um produto é exibido na listagem")
     public void testListaProdutosNaoVazia() {
+        cadastrarProdutoTeste("Listagem", 10.0);
+        driver.navigate().refresh();
         ListarPage page = new ListarPage(driver, wait);
         int quantidadeProdutos = page.obterQuantidadeProdutos();
         Assert.assertTrue(quantidadeProdutos > 0, 
@@ -58,10 +61,11 @@ public class ListarTest extends BaseTest {
      */
     @Test(description = "Verifica se o nome do produto é exibido corretamente na listagem")
     public void testDadosProdutoExibidos() {
+        Produto produto = cadastrarProdutoTeste("Listagem", 10.0);
+        driver.navigate().refresh();
         ListarPage page = new ListarPage(driver, wait);
-        String nomeProduto = page.obterNomeProduto(1L);
-        Assert.assertNotNull(nomeProduto, "Nome do produto não deveria ser nulo");
-        Assert.assertFalse(nomeProduto.isEmpty(), "Nome do produto não deveria estar vazio");
+        String nomeProduto = page.obterNomeProduto(produto.getId());
+        Assert.assertEquals(nomeProduto, produto.getNome(), "Nome do produto exibido incorretamente");
     }
 
     /**
@@ -69,8 +73,10 @@ public class ListarTest extends BaseTest {
      */
     @Test(description = "Verifica se o preço do produto é exibido com formato de moeda")
     public void testPrecoProdutoExibido() {
+        Produto produto = cadastrarProdutoTeste("Listagem", 10.0);
+        driver.navigate().refresh();
         ListarPage page = new ListarPage(driver, wait);
-        String precoProduto = page.obterPrecoProduto(1L);
+        String precoProduto = page.obterPrecoProduto(produto.getId());
         Assert.assertNotNull(precoProduto, "Preço do produto não deveria ser nulo");
         Assert.assertTrue(precoProduto.contains("R$"), 
             "Preço deveria estar no formato com símbolo R$");
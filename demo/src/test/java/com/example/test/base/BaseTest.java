@@ -1,46 +1,149 @@
 package com.example.test.base;
 
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.example.model.Produto;
 
 /**
  * Classe base de testes para Selenium WebDriver.
- * Fornece configuração e encerramento do WebDriver para todas as classes de teste.
+ * Empresta um navegador do pool antes de cada teste e o devolve limpo depois.
+ *
+ * O TestNG usa uma única instância da classe para todos os métodos, mesmo em paralelo:
+ * {@code driver} encaminha cada chamada ao navegador emprestado à thread atual.
+ * Os testes que alteram o catálogo criam os próprios produtos (cadastrarProdutoTeste),
+ * para não disputar os produtos de exemplo com outros testes em execução.
  */
 public class BaseTest {
 
-    protected WebDriver driver;
-    protected WebDriverWait wait;
-    protected static final String BASE_URL = "http://localhost:9090";
+    protected static final String BASE_URL = System.getProperty("selenium.base-url", "http://localhost:9090");
     protected static final int TIMEOUT_SECONDS = 10;
 
+    // Sessões de navegador: uma por thread do TestNG (thread-count do testng.xml)
+    private static final PoolDrivers POOL =
+            new PoolDrivers(Integer.getInteger("selenium.pool", 4), PoolDrivers::chromeHeadless);
+    private static final ThreadLocal<WebDriver> DRIVER_DA_THREAD = new ThreadLocal<>();
+
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+    // Distingue os produtos desta execução dos de execuções anteriores contra a mesma aplicação
+    private static final String EXECUCAO = UUID.randomUUID().toString().substring(0, 8);
+    private static final AtomicLong SEQUENCIA = new AtomicLong();
+
+    protected final WebDriver driver = driverDaThread();
+    protected final WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(TIMEOUT_SECONDS));
+
     /**
-     * Configura o WebDriver antes de cada teste
+     * Empresta o WebDriver antes de cada teste
      */
     @BeforeMethod
     public void setup() {
-        WebDriverManager.chromedriver().browserVersion("143").setup();
-        driver = new ChromeDriver();
-        driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(TIMEOUT_SECONDS));
-        wait = new WebDriverWait(driver, Duration.ofSeconds(TIMEOUT_SECONDS));
+        WebDriver emprestado = POOL.emprestar();
+        DRIVER_DA_THREAD.set(emprestado);
+        emprestado.manage().timeouts().implicitlyWait(Duration.ofSeconds(TIMEOUT_SECONDS));
         driver.get(BASE_URL + "/produtos/listar");
     }
 
     /**
-     * Encerra o WebDriver após cada teste
+     * Devolve o WebDriver ao pool após cada teste
      */
-    @AfterMethod
+    @AfterMethod(alwaysRun = true)
     public void teardown() {
-        if (driver != null) {
-            driver.quit();
+        WebDriver emprestado = DRIVER_DA_THREAD.get();
+        DRIVER_DA_THREAD.remove();
+        if (emprestado != null) {
+            POOL.devolver(emprestado);
+        }
+    }
+
+    /**
+     * Encerra os navegadores do pool ao fim da suíte
+     */
+    @AfterSuite(alwaysRun = true)
+    public void encerrarPool() {
+        POOL.close();
+    }
+
+    /**
+     * Nome que nenhum outro teste usa, nesta ou em outras execuções
+     */
+    protected static String nomeUnico(String prefixo) {
+        return prefixo + " " + EXECUCAO + "-" + SEQUENCIA.incrementAndGet();
+    }
+
+    /**
+     * Cria um produto exclusivo do teste pela rota de salvamento parcial (sem navegador).
+     * Respostas 429 e 503 (limite de taxa, controle de admissão) são repetidas após o Retry-After.
+     */
+    protected static Produto cadastrarProdutoTeste(String prefixo, double preco) {
+        String nome = nomeUnico(prefixo);
+        String formulario = "nome=" + URLEncoder.encode(nome, StandardCharsets.UTF_8)
+                + "&preco=" + String.format(Locale.ROOT, "%.2f", preco);
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(BASE_URL + "/produtos/salvar"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("X-Requested-With", "fetch")
+                .POST(HttpRequest.BodyPublishers.ofString(formulario))
+                .build();
+        try {
+            for (int tentativa = 1; ; tentativa++) {
+                HttpResponse<Void> resposta = HTTP.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                if (resposta.statusCode() == 204) {
+                    Long id = Long.valueOf(resposta.headers().firstValue("X-Produto-Id").orElseThrow());
+                    return new Produto(id, nome, preco);
+                }
+                boolean repetir = resposta.statusCode() == 429 || resposta.statusCode() == 503;
+                if (!repetir || tentativa == 5) {
+                    throw new IllegalStateException("Falha ao criar produto de teste: HTTP " + resposta.statusCode());
+                }
+                long espera = resposta.headers().firstValue("Retry-After").map(Long::parseLong).orElse(1L);
+                Thread.sleep(Duration.ofSeconds(espera).toMillis());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Aplicação indisponível em " + BASE_URL, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido criando produto de teste", e);
         }
     }
+
+    private static WebDriver driverDaThread() {
+        return (WebDriver) Proxy.newProxyInstance(BaseTest.class.getClassLoader(),
+                new Class<?>[] {WebDriver.class, JavascriptExecutor.class, TakesScreenshot.class},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getDeclaringClass() == Object.class) {
+                        return switch (metodo.getName()) {
+                            case "equals" -> proxy == argumentos[0];
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            default -> "WebDriver da thread atual";
+                        };
+                    }
+                    WebDriver atual = DRIVER_DA_THREAD.get();
+                    if (atual == null) {
+                        throw new IllegalStateException("Nenhum driver emprestado para a thread " + Thread.currentThread().getName());
+                    }
+                    try {
+                        return metodo.invoke(atual, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
 }
@@ -0,0 +1,176 @@
+package com.example.test.base;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+/**
+ * Pool de sessões de navegador reaproveitadas entre testes.
+ * Abrir um Chrome custa segundos; com o pool, cada sessão é criada uma vez e, ao ser devolvida,
+ * perde cookies, localStorage, sessionStorage, alertas e janelas extras, voltando a about:blank.
+ * Uma sessão que falha na limpeza, por qualquer exceção, é descartada e a vaga volta a ficar disponível.
+ */
+public class PoolDrivers implements AutoCloseable {
+
+    private static final Duration ESPERA_MAXIMA = Duration.ofMinutes(5);
+
+    private static boolean chromeDriverConfigurado;
+
+    private final Supplier<WebDriver> fabrica;
+    private final BlockingQueue<WebDriver> livres = new LinkedBlockingQueue<>();
+    private final Set<WebDriver> criados = ConcurrentHashMap.newKeySet();
+    // Vagas para criar sessões; a criação é preguiçosa, até o tamanho do pool
+    private final Semaphore vagas;
+
+    public PoolDrivers(int tamanho, Supplier<WebDriver> fabrica) {
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("O pool de drivers deve ter ao menos uma sessão");
+        }
+        this.fabrica = fabrica;
+        this.vagas = new Semaphore(tamanho);
+    }
+
+    /**
+     * Empresta uma sessão livre, cria uma nova se houver vaga ou aguarda a devolução de outra
+     */
+    public WebDriver emprestar() {
+        long limite = System.nanoTime() + ESPERA_MAXIMA.toNanos();
+        try {
+            while (true) {
+                WebDriver driver = livres.poll();
+                if (driver != null) {
+                    return driver;
+                }
+                if (vagas.tryAcquire()) {
+                    return criar();
+                }
+                // Espera curta: uma sessão descartada libera vaga sem passar pela fila de livres
+                driver = livres.poll(200, TimeUnit.MILLISECONDS);
+                if (driver != null) {
+                    return driver;
+                }
+                if (System.nanoTime() > limite) {
+                    throw new IllegalStateException("Nenhum driver livre após " + ESPERA_MAXIMA.toMinutes() + " minutos");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando um driver do pool", e);
+        }
+    }
+
+    /**
+     * Limpa o estado deixado pelo teste e devolve a sessão ao pool
+     */
+    public void devolver(WebDriver driver) {
+        if (!criados.contains(driver)) {
+            throw new IllegalArgumentException("Driver não pertence a este pool");
+        }
+        try {
+            limpar(driver);
+            livres.add(driver);
+        } catch (RuntimeException e) {
+            // Não só WebDriverException: sem janelas, por exemplo, a limpeza lança NoSuchElementException
+            descartar(driver);
+        }
+    }
+
+    /**
+     * Sessões abertas (livres ou emprestadas)
+     */
+    public int getCriados() {
+        return criados.size();
+    }
+
+    /**
+     * Encerra todas as sessões abertas
+     */
+    @Override
+    public void close() {
+        for (WebDriver driver : criados) {
+            descartar(driver);
+        }
+        livres.clear();
+    }
+
+    private WebDriver criar() {
+        try {
+            WebDriver driver = fabrica.get();
+            criados.add(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            vagas.release();
+            throw e;
+        }
+    }
+
+    private void descartar(WebDriver driver) {
+        if (criados.remove(driver)) {
+            vagas.release();
+            try {
+                driver.quit();
+            } catch (WebDriverException e) {
+                // A sessão já estava perdida
+            }
+        }
+    }
+
+    private static void limpar(WebDriver driver) {
+        try {
+            driver.switchTo().alert().dismiss();
+        } catch (NoAlertPresentException e) {
+            // Nenhum confirm() pendente
+        }
+        String principal = driver.getWindowHandles().iterator().next();
+        for (String janela : driver.getWindowHandles()) {
+            if (!janela.equals(principal)) {
+                driver.switchTo().window(janela).close();
+            }
+        }
+        driver.switchTo().window(principal);
+
+        // O armazenamento é por origem: só dá para limpá-lo ainda na página da aplicação
+        String url = driver.getCurrentUrl();
+        if (url != null && url.startsWith("http") && driver instanceof JavascriptExecutor javascript) {
+            javascript.executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        }
+        driver.manage().deleteAllCookies();
+        driver.get("about:blank");
+    }
+
+    /**
+     * Chrome sem interface, com janela de tamanho fixo no lugar de maximize() (sem efeito em headless).
+     * -Dselenium.headless=false mostra o navegador.
+     */
+    public static WebDriver chromeHeadless() {
+        configurarChromeDriver();
+        ChromeOptions opcoes = new ChromeOptions();
+        if (Boolean.parseBoolean(System.getProperty("selenium.headless", "true"))) {
+            opcoes.addArguments("--headless=new");
+        }
+        opcoes.addArguments("--window-size=1920,1080", "--disable-gpu", "--disable-dev-shm-usage",
+                "--disable-extensions");
+        return new ChromeDriver(opcoes);
+    }
+
+    private static synchronized void configurarChromeDriver() {
+        if (!chromeDriverConfigurado) {
+            WebDriverManager.chromedriver().browserVersion("143").setup();
+            chromeDriverConfigurado = true;
+        }
+    }
+}